@@ -0,0 +1,34 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+final class BenchmarkInputs {
+    private BenchmarkInputs() {
+    }
+
+    // inputs are loaded once per trial, so that the parse benchmarks only measure
+    // the parsing itself and not the disk access. Generated inputs can be used instead
+    // of the bundled ones with -jvmArgs -Daoc.inputs=<dir>
+    static String puzzleInput(int day) {
+        var name = "2022/day/" + day + "/input";
+        var inputs = System.getProperty("aoc.inputs");
+        try {
+            if (inputs != null) {
+                return Files.readString(Path.of(inputs).resolve(name));
+            }
+            var resource = ClassLoader.getSystemResource(name);
+            if (resource == null) {
+                throw new IllegalStateException("puzzle input for day " + day + " not found");
+            }
+            return Files.readString(Path.of(resource.toURI()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// the clock circuit pulls its instructions while ticking, so there's no separate
+// parse phase
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day10Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(10);
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        try (var clockCircuit = new Day10.ClockCircuit(new StringReader(input))) {
+            var sum = new int[1];
+            clockCircuit.setListener(cycle -> {
+                if ((cycle - 20) % 40 == 0) {
+                    sum[0] += clockCircuit.signalStrength();
+                }
+            });
+            clockCircuit.ready();
+            return sum[0];
+        }
+    }
+
+    @Benchmark
+    public String solvePart2() throws IOException {
+        try (var clockCircuit = new Day10.ClockCircuit(new StringReader(input))) {
+            var w = new StringWriter();
+            clockCircuit.ready();
+            clockCircuit.print(w);
+            return w.toString();
+        }
+    }
+}
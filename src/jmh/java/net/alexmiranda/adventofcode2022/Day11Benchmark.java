@@ -0,0 +1,60 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day11Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(11);
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+        Day11.KeepAway part1;
+        Day11.KeepAway part2;
+
+        // playing mutates the monkeys' items, so the game is parsed again every time
+        @Setup(Level.Invocation)
+        public void setup(Day11Benchmark benchmark) throws IOException {
+            part1 = new Day11.KeepAway(new StringReader(benchmark.input), 3);
+            part2 = new Day11.KeepAway(new StringReader(benchmark.input), 1);
+        }
+    }
+
+    @Benchmark
+    public Day11.KeepAway parse() throws IOException {
+        return new Day11.KeepAway(new StringReader(input), 3);
+    }
+
+    @Benchmark
+    public BigInteger solvePart1(Parsed parsed) {
+        parsed.part1.play(20);
+        return parsed.part1.monkeyBusiness();
+    }
+
+    @Benchmark
+    public BigInteger solvePart2(Parsed parsed) {
+        parsed.part2.play(10_000);
+        return parsed.part2.monkeyBusiness();
+    }
+}
@@ -0,0 +1,56 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.alexmiranda.adventofcode2022.grid.IntGrid;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day12Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(12);
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+        IntGrid heightmap;
+
+        // the search consumes the edges of the heightmap, so it's parsed again every time
+        @Setup(Level.Invocation)
+        public void setup(Day12Benchmark benchmark) {
+            heightmap = Day12.fromString(benchmark.input);
+        }
+    }
+
+    @Benchmark
+    public IntGrid parse() {
+        return Day12.fromString(input);
+    }
+
+    @Benchmark
+    public int solvePart1(Parsed parsed) {
+        return Day12.shortestDistance(parsed.heightmap);
+    }
+
+    @Benchmark
+    public OptionalInt solvePart2(Parsed parsed) {
+        return Day12.shortestDistance(parsed.heightmap, 'a');
+    }
+}
@@ -0,0 +1,55 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// packets are compared as they're read, so the solve benchmarks include parsing;
+// the parse benchmark isolates the cost of building the packets
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day13Benchmark {
+    private String input;
+    private Day13.Packet[] decoderKeys;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(13);
+        decoderKeys = new Day13.Packet[] { Day13.Packet.fromString("[[2]]"), Day13.Packet.fromString("[[6]]") };
+    }
+
+    @Benchmark
+    public List<Day13.Packet> parse() {
+        var packets = new ArrayList<Day13.Packet>();
+        for (var line : input.split("\n")) {
+            if (!line.isEmpty()) {
+                packets.add(Day13.Packet.fromString(line));
+            }
+        }
+        return packets;
+    }
+
+    @Benchmark
+    public int solvePart1() throws IOException {
+        return Day13.countPairsInRightOrder(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart2() throws IOException {
+        return Day13.decoderKeyOfDistressSignal(new StringReader(input), decoderKeys);
+    }
+}
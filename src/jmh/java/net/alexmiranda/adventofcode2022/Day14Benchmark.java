@@ -0,0 +1,57 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day14Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(14);
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+        Day14.RegolithReservoir reservoir;
+        Day14.RegolithReservoir revised;
+
+        // pouring sand fills up the reservoir, so it's scanned again every time
+        @Setup(Level.Invocation)
+        public void setup(Day14Benchmark benchmark) throws IOException {
+            reservoir = Day14.initialize(new Day14.RegolithReservoir(), new StringReader(benchmark.input));
+            revised = Day14.initialize(new Day14.RegolithReservoirRevised(), new StringReader(benchmark.input));
+        }
+    }
+
+    @Benchmark
+    public Day14.RegolithReservoir parse() throws IOException {
+        return Day14.initialize(new Day14.RegolithReservoir(), new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart1(Parsed parsed) throws IOException {
+        return parsed.reservoir.simulate(Day14.Point.SOURCE_OF_SAND);
+    }
+
+    @Benchmark
+    public int solvePart2(Parsed parsed) throws IOException {
+        return parsed.revised.simulate(Day14.Point.SOURCE_OF_SAND) + 1;
+    }
+}
@@ -0,0 +1,47 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Day15Benchmark {
+    private String input;
+    private Day15.TunnelNetwork network;
+
+    @Setup
+    public void setup() throws IOException {
+        input = BenchmarkInputs.puzzleInput(15);
+        network = parse();
+    }
+
+    @Benchmark
+    public Day15.TunnelNetwork parse() throws IOException {
+        var network = new Day15.TunnelNetwork();
+        network.parseInput(new StringReader(input));
+        return network;
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        return network.tryDeployBeacon(2_000_000);
+    }
+
+    @Benchmark
+    public long solvePart2() {
+        return network.findTunningFreq();
+    }
+}
@@ -0,0 +1,45 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Day16Benchmark {
+    private String input;
+    private Day16.Network network;
+
+    @Setup
+    public void setup() throws IOException {
+        input = BenchmarkInputs.puzzleInput(16);
+        network = Day16.parseInput(new StringReader(input));
+    }
+
+    @Benchmark
+    public Day16.Network parse() throws IOException {
+        return Day16.parseInput(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        return network.findMostPressurePossibleToRelease("AA", 30);
+    }
+
+    @Benchmark
+    public int solvePart2() {
+        return network.quickReleaseMostPressureWithAnElephant("AA", 26);
+    }
+}
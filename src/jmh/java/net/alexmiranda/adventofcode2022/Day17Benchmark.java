@@ -0,0 +1,53 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day17Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(17).strip();
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+        Day17.Chamber chamber;
+
+        // the chamber keeps the rock pile of the previous simulation around
+        @Setup(Level.Invocation)
+        public void setup(Day17Benchmark benchmark) {
+            chamber = new Day17.Chamber(benchmark.input);
+        }
+    }
+
+    @Benchmark
+    public Day17.Chamber parse() {
+        return new Day17.Chamber(input);
+    }
+
+    @Benchmark
+    public long solvePart1(Parsed parsed) {
+        return parsed.chamber.simulate(2022);
+    }
+
+    @Benchmark
+    public long solvePart2(Parsed parsed) {
+        return parsed.chamber.simulate(1_000_000_000_000L);
+    }
+}
@@ -0,0 +1,46 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// both parts parse the droplet themselves, so the solve benchmarks include the
+// parse phase measured on its own by parse()
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day18Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(18);
+    }
+
+    @Benchmark
+    public Set<Day18.Coord> parse() throws IOException {
+        return Day18.parseInput(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart1() throws IOException {
+        return Day18.part1(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart2() throws IOException {
+        return Day18.part2(new StringReader(input));
+    }
+}
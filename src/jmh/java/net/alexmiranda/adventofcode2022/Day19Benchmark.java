@@ -0,0 +1,50 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Day19Benchmark {
+    private String input;
+    private Day19.Factory factory;
+    private Day19.Factory firstThree;
+
+    @Setup
+    public void setup() throws IOException {
+        input = BenchmarkInputs.puzzleInput(19);
+        factory = parse();
+        firstThree = new Day19.Factory();
+        firstThree.readBlueprints(new StringReader(input), 3);
+    }
+
+    @Benchmark
+    public Day19.Factory parse() throws IOException {
+        var factory = new Day19.Factory();
+        factory.readBlueprints(new StringReader(input));
+        return factory;
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        return factory.determineQualityLevel(24);
+    }
+
+    @Benchmark
+    public int solvePart2() {
+        return firstThree.multiplyMaximumOpenGeodes(32);
+    }
+}
@@ -0,0 +1,65 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Day 1 reads the input file and sums it up in the same pass, so there's no
+// separate parse phase to measure
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day1Benchmark {
+    // the top k benchmark maps a file, so the input is written to one; point it at a
+    // generated input of a few hundred megabytes to see it scale with the threads
+    @State(Scope.Benchmark)
+    public static class TopK {
+        @Param({ "1", "2", "4", "8" })
+        public int threads;
+
+        @Param({ "3", "100" })
+        public int k;
+
+        private Path file;
+
+        @Setup
+        public void setup() throws IOException {
+            file = Files.createTempFile("day1", ".txt");
+            Files.writeString(file, BenchmarkInputs.puzzleInput(1));
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public int solvePart1() throws URISyntaxException, IOException {
+        return Day1.calorieCounting();
+    }
+
+    @Benchmark
+    public int solvePart2() throws URISyntaxException, IOException {
+        return Day1.calorieCountingTopThree();
+    }
+
+    @Benchmark
+    public long[] topCalories(TopK state) throws IOException {
+        return Day1.topCalories(state.file, state.k, state.threads);
+    }
+}
@@ -0,0 +1,48 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Day20Benchmark {
+    private String input;
+    private List<Long> file;
+    private List<Long> decrypted;
+
+    @Setup
+    public void setup() throws IOException {
+        input = BenchmarkInputs.puzzleInput(20);
+        file = Day20.parse(new StringReader(input), Integer.MAX_VALUE, 1);
+        decrypted = Day20.parse(new StringReader(input), Integer.MAX_VALUE, Day20.DECRYPTION_KEY);
+    }
+
+    @Benchmark
+    public List<Long> parse() throws IOException {
+        return Day20.parse(new StringReader(input), Integer.MAX_VALUE, 1);
+    }
+
+    @Benchmark
+    public long solvePart1() {
+        return Day20.sumOfGroveCoordinates(Day20.mix(file, 1));
+    }
+
+    @Benchmark
+    public long solvePart2() {
+        return Day20.sumOfGroveCoordinates(Day20.mix(decrypted, 10));
+    }
+}
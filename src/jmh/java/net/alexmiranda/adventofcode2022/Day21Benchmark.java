@@ -0,0 +1,75 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day21Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(21);
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+        Day21.Context part1;
+        Day21.Context part2;
+        Day21.Monkeys monkeys;
+
+        // math jobs remember their answers, so the context is parsed again every time
+        @Setup(Level.Invocation)
+        public void setup(Day21Benchmark benchmark) throws IOException {
+            part1 = new Day21.Context(new StringReader(benchmark.input), false);
+            part2 = new Day21.Context(new StringReader(benchmark.input), true);
+            monkeys = new Day21.Monkeys(new StringReader(benchmark.input));
+        }
+    }
+
+    @Benchmark
+    public Day21.Context parse() throws IOException {
+        return new Day21.Context(new StringReader(input), false);
+    }
+
+    @Benchmark
+    public BigDecimal solvePart1(Parsed parsed) {
+        return parsed.part1.solve("root");
+    }
+
+    @Benchmark
+    public BigDecimal solvePart2(Parsed parsed) {
+        return parsed.part2.solvePart2("humn");
+    }
+
+    @Benchmark
+    public Day21.Monkeys parseOptimized() throws IOException {
+        return new Day21.Monkeys(new StringReader(input));
+    }
+
+    @Benchmark
+    public long solvePart1Optimized(Parsed parsed) {
+        return parsed.monkeys.solve("root");
+    }
+
+    @Benchmark
+    public long solvePart2Optimized(Parsed parsed) {
+        return parsed.monkeys.solvePart2("humn");
+    }
+}
@@ -0,0 +1,40 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// only the first part of day 22 is solved
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day22Benchmark {
+    private String input;
+    private Day22.MonkeyMap map;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(22);
+        map = parse();
+    }
+
+    @Benchmark
+    public Day22.MonkeyMap parse() {
+        return new Day22.MonkeyMap(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        return map.crackPassword();
+    }
+}
@@ -0,0 +1,55 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Day23Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(23);
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+        Day23.Grove grove;
+
+        // elves move around during the simulation, so the grove is parsed again every
+        // time
+        @Setup(Level.Invocation)
+        public void setup(Day23Benchmark benchmark) {
+            grove = new Day23.Grove(new StringReader(benchmark.input));
+        }
+    }
+
+    @Benchmark
+    public Day23.Grove parse() {
+        return new Day23.Grove(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart1(Parsed parsed) {
+        return parsed.grove.countEmptyTiles(10);
+    }
+
+    @Benchmark
+    public int solvePart2(Parsed parsed) {
+        return parsed.grove.roundsUntilNoElfMoves();
+    }
+}
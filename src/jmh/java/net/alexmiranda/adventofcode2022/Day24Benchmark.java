@@ -0,0 +1,55 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Day24Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(24);
+    }
+
+    @State(Scope.Thread)
+    public static class Parsed {
+        Day24.Valley valley;
+
+        // the valley memoizes the blizzards of every minute it has seen, so it's
+        // parsed again every time to measure a cold search
+        @Setup(Level.Invocation)
+        public void setup(Day24Benchmark benchmark) {
+            valley = new Day24.Valley(new StringReader(benchmark.input));
+        }
+    }
+
+    @Benchmark
+    public Day24.Valley parse() {
+        return new Day24.Valley(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart1(Parsed parsed) {
+        return parsed.valley.shortestTime();
+    }
+
+    @Benchmark
+    public int solvePart2(Parsed parsed) {
+        return parsed.valley.shortestTimeRounds(3);
+    }
+}
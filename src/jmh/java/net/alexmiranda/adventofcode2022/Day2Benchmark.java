@@ -0,0 +1,57 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+
+// Day 2 scores every line as it's read, so there's no separate parse phase
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day2Benchmark {
+    private ByteCursor input;
+
+    @Setup
+    public void setup() {
+        input = ByteCursor.of(BenchmarkInputs.puzzleInput(2));
+    }
+
+    @Benchmark
+    public int solvePart1() throws URISyntaxException, IOException {
+        return Day2.totalScore();
+    }
+
+    @Benchmark
+    public int solvePart2() throws URISyntaxException, IOException {
+        return Day2.totalScoreOutcomes();
+    }
+
+    @Benchmark
+    public long solvePart1Optimized() {
+        return Day2.totalScore(input, Day2.Scores.SHAPES);
+    }
+
+    @Benchmark
+    public long solvePart2Optimized() {
+        return Day2.totalScore(input, Day2.Scores.OUTCOMES);
+    }
+
+    // both parts, and any other rules, score off the same counts
+    @Benchmark
+    public Day2.Histogram histogram() {
+        return Day2.histogram(input);
+    }
+}
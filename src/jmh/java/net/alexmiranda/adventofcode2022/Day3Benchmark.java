@@ -0,0 +1,67 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day3Benchmark {
+    private String input;
+    private String[] lines;
+    private ByteCursor bytes;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(3);
+        lines = input.split("\n");
+        bytes = ByteCursor.of(input);
+    }
+
+    @Benchmark
+    public String[] parse() {
+        return input.split("\n");
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        int sum = 0;
+        for (var line : lines) {
+            sum += Day3.commonItemsPriority(line);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int solvePart2() {
+        int sum = 0;
+        var group = new String[3];
+        for (int i = 0; i + 2 < lines.length; i += 3) {
+            System.arraycopy(lines, i, group, 0, 3);
+            sum += Day3.commonGroupPriority(group);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long solvePart1Optimized() {
+        return Day3.sumOfPriorities(bytes);
+    }
+
+    @Benchmark
+    public long solvePart2Optimized() {
+        return Day3.sumOfGroupPriorities(bytes);
+    }
+}
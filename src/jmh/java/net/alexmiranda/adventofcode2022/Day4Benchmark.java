@@ -0,0 +1,67 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+
+// the assignment pairs are parsed line by line as part of each check, so the
+// solve benchmarks include the parsing of every pair
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day4Benchmark {
+    private String input;
+    private String[] lines;
+    private ByteCursor bytes;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(4);
+        lines = input.split("\n");
+        bytes = ByteCursor.of(input);
+    }
+
+    @Benchmark
+    public String[] parse() {
+        return input.split("\n");
+    }
+
+    @Benchmark
+    public long solvePart1() {
+        long count = 0;
+        for (var line : lines) {
+            if (Day4.fullyContained(line)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long solvePart2() {
+        long count = 0;
+        for (var line : lines) {
+            if (Day4.overlap(line)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // both parts at once, straight from the bytes
+    @Benchmark
+    public Day4.Counts solveOptimized() {
+        return Day4.count(bytes);
+    }
+}
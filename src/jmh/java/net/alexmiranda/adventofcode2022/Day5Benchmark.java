@@ -0,0 +1,85 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+
+// the rearrangement procedure is parsed as the crates are moved, so the solve
+// benchmarks include reading the instructions
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day5Benchmark {
+    private String input;
+    private ByteCursor bytes;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(5);
+        bytes = ByteCursor.of(input);
+    }
+
+    @State(Scope.Thread)
+    public static class Loaded {
+        Day5.CrateMover9000 crateMover9000;
+        Day5.CrateMover9001 crateMover9001;
+        BufferedReader instructions9000;
+        BufferedReader instructions9001;
+
+        // moving crates around mutates the stacks, so they're reloaded every time
+        @Setup(Level.Invocation)
+        public void setup(Day5Benchmark benchmark) throws IOException {
+            crateMover9000 = new Day5.CrateMover9000();
+            instructions9000 = new BufferedReader(new StringReader(benchmark.input));
+            crateMover9000.load(instructions9000);
+            crateMover9001 = new Day5.CrateMover9001();
+            instructions9001 = new BufferedReader(new StringReader(benchmark.input));
+            crateMover9001.load(instructions9001);
+        }
+    }
+
+    @Benchmark
+    public Day5.CrateMover9000 parse() throws IOException {
+        var crateMover = new Day5.CrateMover9000();
+        crateMover.load(new StringReader(input));
+        return crateMover;
+    }
+
+    @Benchmark
+    public CharSequence solvePart1(Loaded loaded) throws IOException {
+        loaded.crateMover9000.readInstructions(loaded.instructions9000);
+        return loaded.crateMover9000.cratesOnTop();
+    }
+
+    @Benchmark
+    public CharSequence solvePart2(Loaded loaded) throws IOException {
+        loaded.crateMover9001.readInstructions(loaded.instructions9001);
+        return loaded.crateMover9001.cratesOnTop();
+    }
+
+    // loads the stacks again every time, as they're cheap to load
+    @Benchmark
+    public String solvePart1Optimized() {
+        return Day5.rearrange(bytes, Day5.CharArrayCrateMover.crateMover9000());
+    }
+
+    @Benchmark
+    public String solvePart2Optimized() {
+        return Day5.rearrange(bytes, Day5.CharArrayCrateMover.crateMover9001());
+    }
+}
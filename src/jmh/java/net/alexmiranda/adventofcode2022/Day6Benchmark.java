@@ -0,0 +1,38 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// the datastream buffer is consumed as a plain string, so there's nothing to
+// parse upfront
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day6Benchmark {
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(6);
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        return Day6.charactersBeforeStartOfNewPacket(input);
+    }
+
+    @Benchmark
+    public int solvePart2() {
+        return Day6.charactersBeforeStartOfNewMessage(input);
+    }
+}
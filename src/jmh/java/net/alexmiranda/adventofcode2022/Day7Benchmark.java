@@ -0,0 +1,46 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day7Benchmark {
+    private String input;
+    private Day7.Directory tree;
+
+    @Setup
+    public void setup() throws IOException {
+        input = BenchmarkInputs.puzzleInput(7);
+        tree = Day7.parseTree(new StringReader(input));
+    }
+
+    @Benchmark
+    public Day7.Directory parse() throws IOException {
+        return Day7.parseTree(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        return Day7.sumDirectoriesSmallerThan(tree, 100000);
+    }
+
+    @Benchmark
+    public int solvePart2() {
+        var availableDiskSpace = 70000000 - tree.size();
+        return Day7.findBestCandidateForDeletion(tree, Math.abs(30000000 - availableDiskSpace));
+    }
+}
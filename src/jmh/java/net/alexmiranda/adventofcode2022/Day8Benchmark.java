@@ -0,0 +1,47 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.alexmiranda.adventofcode2022.grid.ByteGrid;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day8Benchmark {
+    private String input;
+    private ByteGrid grid;
+
+    @Setup
+    public void setup() throws IOException {
+        input = BenchmarkInputs.puzzleInput(8);
+        grid = Day8.read(new StringReader(input));
+    }
+
+    @Benchmark
+    public ByteGrid parse() throws IOException {
+        return Day8.read(new StringReader(input));
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        return Day8.countVisibleTrees(grid);
+    }
+
+    @Benchmark
+    public int solvePart2() {
+        return Day8.highestScenicScore(grid);
+    }
+}
@@ -0,0 +1,44 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.alexmiranda.adventofcode2022.engine.Engine;
+
+// the rope is moved as the motions are read, so there's no separate parse phase
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Day9Benchmark {
+    @Param({ "REFERENCE", "OPTIMIZED" })
+    public Engine engine;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = BenchmarkInputs.puzzleInput(9);
+    }
+
+    @Benchmark
+    public int solvePart1() {
+        return Day9.countVisited(new StringReader(input), 2, engine);
+    }
+
+    @Benchmark
+    public int solvePart2() {
+        return Day9.countVisited(new StringReader(input), 10, engine);
+    }
+}
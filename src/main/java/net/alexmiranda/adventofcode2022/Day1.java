@@ -1,62 +1,263 @@
 package net.alexmiranda.adventofcode2022;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import net.alexmiranda.adventofcode2022.checkpoint.Resumable;
+import net.alexmiranda.adventofcode2022.collections.LongTopK;
+import net.alexmiranda.adventofcode2022.flow.Fold;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.MappedInput;
+import net.alexmiranda.adventofcode2022.io.Pieces;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
 public class Day1 {
-    private static final String INPUT = "2022/day/1/input";
+    // keeps the running total of the elf whose items are being counted, and the k highest
+    // totals of the elves counted before
+    static class Elves implements Consumer<String> {
+        private final LongTopK top;
+        private long sum = 0;
 
-    public static int calorieCounting() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
-        try (var reader = Files.newBufferedReader(path)) {
-            String line = null;
-            int max = 0, sum = 0;
-            while ((line = reader.readLine()) != null) {
-                if (line.equals("")) {
-                    max = Math.max(max, sum);
-                    sum = 0;
-                    continue;
-                }
+        Elves(int k) {
+            top = new LongTopK(k);
+        }
 
-                var i = Integer.parseInt(line);
-                sum += i;
+        @Override
+        public void accept(String line) {
+            if (line.isEmpty()) {
+                next();
+            } else {
+                sum += Integer.parseInt(line);
             }
+        }
+
+        private void next() {
+            top.offer(sum);
+            sum = 0;
+        }
 
-            int answer = Math.max(max, sum);
-            return answer;
+        LongTopK top() {
+            next();
+            return top;
         }
     }
 
+    public static int calorieCounting() throws URISyntaxException, IOException {
+        return calorieCounting(PuzzleInput.cursor(1));
+    }
+
+    static int calorieCounting(ByteCursor input) {
+        return Math.toIntExact(topCalories(input, 1).sum());
+    }
+
+    static long calorieCounting(Flow.Publisher<String> lines) {
+        var elves = new Elves(1);
+        return Fold.fold(lines, elves, elves::top).sum();
+    }
+
     public static int calorieCountingTopThree() throws URISyntaxException, IOException {
-        int[] topThree = new int[3];
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
-        try (var reader = Files.newBufferedReader(path)) {
-            String line = null;
-            int sum = 0;
-            while ((line = reader.readLine()) != null) {
-                if (line.equals("")) {
-                    if (sum >= topThree[2]) {
-                        topThree[0] = topThree[1];
-                        topThree[1] = topThree[2];
-                        topThree[2] = sum;
-                    } else if (sum >= topThree[1]) {
-                        topThree[0] = topThree[1];
-                        topThree[1] = sum;
-                    } else if (sum > topThree[0]) {
-                        topThree[0] = sum;
+        return calorieCountingTopThree(PuzzleInput.cursor(1));
+    }
+
+    static int calorieCountingTopThree(ByteCursor input) {
+        return Math.toIntExact(topCalories(input, 3).sum());
+    }
+
+    static long calorieCountingTopThree(Flow.Publisher<String> lines) {
+        var elves = new Elves(3);
+        return Fold.fold(lines, elves, elves::top).sum();
+    }
+
+    // the k highest totals of the elves whose items are in the file, highest first. Every
+    // piece of the file (see io.Pieces) is counted into a top k of its own, all of them at the
+    // same time, and merged at the end
+    public static long[] topCalories(Path path, int k, int threads) throws IOException {
+        return topCalories(MappedInput.mapRecords(path), k, threads);
+    }
+
+    static long[] topCalories(List<ByteCursor> segments, int k, int threads) {
+        var pieces = Pieces.splitRecords(segments, threads);
+        return Pieces.mapReduce(pieces, threads, (piece, i) -> topCalories(piece, k), new LongTopK(k),
+                (top, partial) -> {
+                    top.addAll(partial);
+                    return top;
+                }).toArray();
+    }
+
+    // the k highest totals of the elves in the input, parsing the calories straight from
+    // the bytes without moving the cursor
+    static LongTopK topCalories(ByteCursor input, int k) {
+        var board = new Leaderboard(k);
+        board.append(input);
+        return board.standings();
+    }
+
+    // the highest totals of an ever growing calorie log, kept up to date as the bytes
+    // appended to it arrive, in whatever pieces they do: a number or a line split between
+    // two appends carries over from one to the next. Every elf that's done costs a single
+    // offer to a top k, and the leaders can be asked for at any time, the elf still being
+    // counted included
+    static class Leaderboard {
+        private LongTopK top;
+        private long elves, sum, calories, consumed;
+        private boolean elf, digits;
+
+        Leaderboard(int k) {
+            top = new LongTopK(k);
+        }
+
+        void append(String text) {
+            append(ByteCursor.of(text));
+        }
+
+        void append(ByteCursor input) {
+            // the state is kept in locals while parsing, and put back once done
+            long sum = this.sum, calories = this.calories, elves = this.elves;
+            boolean elf = this.elf, digits = this.digits;
+            int from = input.position(), limit = input.limit();
+            for (int i = from; i < limit; i++) {
+                byte b = input.get(i);
+                if (b >= '0' && b <= '9') {
+                    calories = Math.addExact(Math.multiplyExact(calories, 10), b - '0');
+                    digits = true;
+                } else if (b == '\n') {
+                    if (digits) {
+                        sum = Math.addExact(sum, calories);
+                        calories = 0;
+                        digits = false;
+                        elf = true;
+                    } else if (elf) {
+                        top.offer(sum);
+                        elves++;
+                        sum = 0;
+                        elf = false;
+                    }
+                } else if (b != '\r') {
+                    throw new NumberFormatException("unexpected character '" + (char) b + "' at "
+                            + (consumed + i - from));
+                }
+            }
+            this.sum = sum;
+            this.calories = calories;
+            this.elves = elves;
+            this.elf = elf;
+            this.digits = digits;
+            consumed += limit - from;
+        }
+
+        // the elves done so far, plus the one being counted if any
+        LongTopK standings() {
+            var standings = new LongTopK(top.k());
+            standings.addAll(top);
+            if (elf || digits) {
+                standings.offer(Math.addExact(sum, calories));
+            }
+            return standings;
+        }
+
+        long[] leaders() {
+            return standings().toArray();
+        }
+
+        long max() {
+            var leaders = leaders();
+            return leaders.length == 0 ? 0 : leaders[0];
+        }
+
+        long elves() {
+            return elves + (elf || digits ? 1 : 0);
+        }
+
+        // how many bytes have been appended so far
+        long consumed() {
+            return consumed;
+        }
+
+        // follows a file being appended to, reading at most the given number of bytes more
+        // of it on every advance, for as long as there are any. Saving it saves the
+        // leaderboard and how far into the file it got
+        Resumable tail(Path file) {
+            return new Resumable() {
+                @Override
+                public int day() {
+                    return 1;
+                }
+
+                @Override
+                public boolean advance(long steps) {
+                    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                        long size = channel.size();
+                        if (size < consumed) {
+                            throw new IOException(file + " got shorter than what was already read from it");
+                        }
+                        long end = consumed + Math.min(steps, size - consumed);
+                        var buffer = ByteBuffer.allocate((int) Math.min(end - consumed, 1 << 20));
+                        while (consumed < end) {
+                            buffer.clear().limit((int) Math.min(buffer.capacity(), end - consumed));
+                            int n = channel.read(buffer, consumed);
+                            if (n < 0) {
+                                break;
+                            }
+                            append(new ByteCursor(buffer, 0, n));
+                        }
+                        return consumed < channel.size();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
                     }
-                    sum = 0;
-                    continue;
                 }
 
-                var i = Integer.parseInt(line);
-                sum += i;
+                @Override
+                public void save(DataOutput out) throws IOException {
+                    Leaderboard.this.save(out);
+                }
+
+                @Override
+                public void restore(DataInput in) throws IOException {
+                    Leaderboard.this.restore(in);
+                }
+            };
+        }
+
+        void save(DataOutput out) throws IOException {
+            out.writeInt(top.k());
+            out.writeLong(consumed);
+            out.writeLong(elves);
+            out.writeLong(sum);
+            out.writeLong(calories);
+            out.writeBoolean(elf);
+            out.writeBoolean(digits);
+            var values = top.toArray();
+            out.writeInt(values.length);
+            for (var value : values) {
+                out.writeLong(value);
             }
         }
-        ;
 
-        return topThree[0] + topThree[1] + topThree[2];
+        void restore(DataInput in) throws IOException {
+            int k = in.readInt();
+            if (k != top.k()) {
+                throw new IOException("checkpoint of a leaderboard of the top " + k);
+            }
+            consumed = in.readLong();
+            elves = in.readLong();
+            sum = in.readLong();
+            calories = in.readLong();
+            elf = in.readBoolean();
+            digits = in.readBoolean();
+            top = new LongTopK(k);
+            for (int i = in.readInt(); i > 0; i--) {
+                top.offer(in.readLong());
+            }
+        }
     }
 }
@@ -4,9 +4,66 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.Scanner;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 
+import net.alexmiranda.adventofcode2022.flow.Fold;
+
 public class Day10 {
+    // runs the instructions one line at a time, unlike the clock circuit which keeps asking
+    // for the next one from within the last cycle of the previous one. The screen is drawn
+    // over and over again if there are more cycles than pixels
+    static class Cpu implements Consumer<String> {
+        private final char[][] screen = new char[6][40];
+        private long cycle = 0, signalStrengths = 0;
+        private int x = 1;
+
+        @Override
+        public void accept(String instruction) {
+            if (instruction.equals("noop")) {
+                tick();
+            } else if (instruction.startsWith("addx ")) {
+                tick();
+                tick();
+                x += Integer.parseInt(instruction.substring(5));
+            } else if (!instruction.isEmpty()) {
+                throw new IllegalArgumentException("invalid instruction: " + instruction);
+            }
+        }
+
+        private void tick() {
+            var pixel = (int) (cycle % 240);
+            var pos = pixel % 40;
+            screen[pixel / 40][pos] = Math.abs(x - pos) <= 1 ? '#' : '.';
+            if ((++cycle - 20) % 40 == 0) {
+                signalStrengths += cycle * x;
+            }
+        }
+
+        long signalStrengths() {
+            return signalStrengths;
+        }
+
+        String screen() {
+            var sb = new StringBuilder(41 * 6);
+            for (var row : screen) {
+                sb.append(row).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    static long signalStrengths(Flow.Publisher<String> instructions) {
+        var cpu = new Cpu();
+        return Fold.fold(instructions, cpu, cpu::signalStrengths);
+    }
+
+    static String render(Flow.Publisher<String> instructions) {
+        var cpu = new Cpu();
+        return Fold.fold(instructions, cpu, cpu::screen);
+    }
+
 
     static class ClockCircuit implements AutoCloseable {
         private Scanner scanner;
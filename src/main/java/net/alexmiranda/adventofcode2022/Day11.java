@@ -1,6 +1,8 @@
 package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Reader;
 import java.math.BigInteger;
@@ -12,11 +14,15 @@ import java.util.Stack;
 import java.util.function.IntUnaryOperator;
 import java.util.stream.Stream;
 
+import net.alexmiranda.adventofcode2022.checkpoint.Resumable;
+import net.alexmiranda.adventofcode2022.events.MilestoneEvent;
+
 public class Day11 {
 
     static class KeepAway {
         private final Monkey[] troop;
         private final int reliefFactor, productOfDivisors;
+        private int round = 0;
 
         KeepAway(Reader reader, int reliefFactor) throws IOException {
             var monkeys = new ArrayList<Monkey>(7);
@@ -83,13 +89,87 @@ public class Day11 {
 
         void play(int n) {
             while (n > 0) {
+                var event = new MilestoneEvent(11, "round");
+                event.begin();
+                long inspected = event.isEnabled() ? inspectedItems() : 0;
                 for (var monkey : troop) {
                     monkey.inspect(troop, reliefFactor, productOfDivisors);
                 }
+                round++;
+                if (event.shouldCommit()) {
+                    event.iteration = round;
+                    event.value = inspectedItems() - inspected;
+                    event.commit();
+                }
                 n--;
             }
         }
 
+        // a game of the given number of rounds that runs a number of them at a time, and whose
+        // state can be saved in between; once it's done, the monkey business is the answer
+        Resumable rounds(int total) {
+            return new Resumable() {
+                @Override
+                public int day() {
+                    return 11;
+                }
+
+                @Override
+                public boolean advance(long steps) {
+                    play((int) Math.min(steps, total - round));
+                    return round < total;
+                }
+
+                @Override
+                public void save(DataOutput out) throws IOException {
+                    KeepAway.this.save(out);
+                }
+
+                @Override
+                public void restore(DataInput in) throws IOException {
+                    KeepAway.this.restore(in);
+                }
+            };
+        }
+
+        // the monkeys are rebuilt from the input, so only the items they hold and how many
+        // they've inspected are saved, after enough of the rules to tell other inputs apart
+        private void save(DataOutput out) throws IOException {
+            out.writeInt(troop.length);
+            out.writeInt(reliefFactor);
+            out.writeInt(productOfDivisors);
+            out.writeInt(round);
+            for (var monkey : troop) {
+                out.writeInt(monkey.inspectedItems);
+                out.writeInt(monkey.items.size());
+                for (int item : monkey.items) {
+                    out.writeInt(item);
+                }
+            }
+        }
+
+        private void restore(DataInput in) throws IOException {
+            if (in.readInt() != troop.length || in.readInt() != reliefFactor || in.readInt() != productOfDivisors) {
+                throw new IOException("checkpoint of another game");
+            }
+            round = in.readInt();
+            for (var monkey : troop) {
+                monkey.inspectedItems = in.readInt();
+                monkey.items.clear();
+                for (int i = in.readInt(); i > 0; i--) {
+                    monkey.take(in.readInt());
+                }
+            }
+        }
+
+        private long inspectedItems() {
+            long inspected = 0;
+            for (var monkey : troop) {
+                inspected += monkey.inspectedItems;
+            }
+            return inspected;
+        }
+
         BigInteger monkeyBusiness() {
             int top1 = 0, top2 = 0;
             for (var monkey : troop) {
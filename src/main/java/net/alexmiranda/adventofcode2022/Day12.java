@@ -3,16 +3,15 @@ package net.alexmiranda.adventofcode2022;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.OptionalInt;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class Day12 {
-    private static final String INPUT = "2022/Day/12/input";
+import net.alexmiranda.adventofcode2022.collections.IntArrayDeque;
+import net.alexmiranda.adventofcode2022.grid.IntGrid;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day12 {
     // the first 4 bits are used to represent active edges
     // and the last 7 bits will contain the char itself
     private static final int flag = 1 << 7; // 128
@@ -23,64 +22,58 @@ public class Day12 {
     private static final int dmask = rmask >> 1;
     private static final int allmask = lmask + umask + rmask + dmask;
 
-    static int[][] readInputFile() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
-        return toGraph(Files.lines(path));
+    static IntGrid readInputFile() throws URISyntaxException, IOException {
+        var path = PuzzleInput.path(12);
+        try (var lines = Files.lines(path)) {
+            return toGraph(lines);
+        }
     }
 
-    static int[][] fromString(String s) {
+    static IntGrid fromString(String s) {
         return toGraph(Stream.of(s.split("\n")));
     }
 
-    private static int[][] toGraph(Stream<String> lines) {
-        return lines.map(line -> line.chars().map(i -> i + allmask).toArray())
-                .toArray(size -> new int[size][]);
+    // the heightmap is surrounded by cells without any active edges nor height, which are
+    // never an edge of any other cell, so that the search doesn't need any bounds checks
+    private static IntGrid toGraph(Stream<String> lines) {
+        return IntGrid.parse(lines.toList(), 1, 0, c -> c + allmask);
     }
 
-    static IntStream findPosition(int[][] heightmap, int width, int length, char position) {
-        return IntStream.range(0, width * length)
-            .filter(i -> heightmap[i / length][i % length] % flag == position);
+    static IntStream findPosition(IntGrid heightmap, char position) {
+        var cells = heightmap.cells();
+        return IntStream.range(0, heightmap.size())
+                .filter(i -> cells[i] % flag == position);
     }
 
-    static int shortestDistance(int[][] heightmap) {
-        var width = heightmap.length;
-        var length = heightmap[0].length;
-        var distances = calculateDistancesToEnd(heightmap, width, length);
-        var start = findPosition(heightmap, width, length, 'S').findAny().getAsInt();
-        var row = start / length;
-        var col = start % length;
-        assert distances[row][col] >= 26;
-        return distances[row][col];
+    static int shortestDistance(IntGrid heightmap) {
+        var distances = calculateDistancesToEnd(heightmap);
+        var start = findPosition(heightmap, 'S').findAny().getAsInt();
+        assert distances[start] >= 26;
+        return distances[start];
     }
 
-    static OptionalInt shortestDistance(int[][] heightmap, char elevation) {
-        var width = heightmap.length;
-        var length = heightmap[0].length;
-        var distances = calculateDistancesToEnd(heightmap, width, length);
-        return findPosition(heightmap, width, length, elevation).map(i -> {
-            var row = i / length;
-            var col = i % length;
-            return distances[row][col];
-        }).filter(distance -> distance > 0).min();
+    static OptionalInt shortestDistance(IntGrid heightmap, char elevation) {
+        var distances = calculateDistancesToEnd(heightmap);
+        return findPosition(heightmap, elevation)
+                .map(i -> distances[i])
+                .filter(distance -> distance > 0).min();
     }
 
-    private static int[][] calculateDistancesToEnd(int[][] heightmap, int width, int length) {
-        var end = findPosition(heightmap, width, length, 'E').findAny().getAsInt();
-        var distances = new int[width][length];
-        var queue = new LinkedList<Integer>();
-        queue.add(end);
+    private static int[] calculateDistancesToEnd(IntGrid heightmap) {
+        var end = findPosition(heightmap, 'E').findAny().getAsInt();
+        var distances = new int[heightmap.size()];
+        var queue = new IntArrayDeque(Math.max(heightmap.rows(), heightmap.cols()) * 4);
+        var edges = new int[4];
+        queue.addLast(end);
 
         while (!queue.isEmpty()) {
-            var from = queue.poll();
-            var fromRow = from / length;
-            var fromCol = from % length;
-
-            for (int to : edges(heightmap, width, length, from)) {
-                queue.add(to);
-                var toRow = to / length;
-                var toCol = to % length;
-                if (distances[toRow][toCol] == 0 || distances[fromRow][fromCol] + 1 < distances[toRow][toCol]) {
-                    distances[toRow][toCol] = distances[fromRow][fromCol] + 1;
+            var from = queue.pollFirst();
+            int n = edges(heightmap, from, edges);
+            for (int i = 0; i < n; i++) {
+                int to = edges[i];
+                queue.addLast(to);
+                if (distances[to] == 0 || distances[from] + 1 < distances[to]) {
+                    distances[to] = distances[from] + 1;
                 }
             }
         }
@@ -104,53 +97,43 @@ public class Day12 {
         return height(from) >= h - 1;
     }
 
-    private static int[] edges(int[][] heightmap, int width, int length, int index) {
-        var result = new ArrayList<Integer>(4);
-        int row = index / length;
-        int col = index % length;
-        int v = heightmap[row][col];
+    // fills the given array with the cells reachable from the one at index, returning how many
+    private static int edges(IntGrid heightmap, int index, int[] result) {
+        var cells = heightmap.cells();
+        int n = 0;
+        int v = cells[index];
         int h = height(v);
 
         // left
-        if (col > 0 && (v & lmask) != 0) {
-            var lval = heightmap[row][col - 1];
-            if (isEdge(lval, h, v)) {
-                heightmap[row][col] &= ~lmask;
-                heightmap[row][col - 1] &= ~rmask;
-                result.add(index - 1);
-            }
+        if ((v & lmask) != 0 && isEdge(cells[index - 1], h, v)) {
+            cells[index] &= ~lmask;
+            cells[index - 1] &= ~rmask;
+            result[n++] = index - 1;
         }
 
         // up
-        if (row > 0 && (v & umask) != 0) {
-            var uval = heightmap[row - 1][col];
-            if (isEdge(uval, h, v)) {
-                heightmap[row][col] &= ~umask;
-                heightmap[row - 1][col] &= ~dmask;
-                result.add(index - length);
-            }
+        int up = index - heightmap.stride();
+        if ((v & umask) != 0 && isEdge(cells[up], h, v)) {
+            cells[index] &= ~umask;
+            cells[up] &= ~dmask;
+            result[n++] = up;
         }
 
         // right
-        if (col < length - 1 && (v & rmask) != 0) {
-            var rval = heightmap[row][col + 1];
-            if (isEdge(rval, h, v)) {
-                heightmap[row][col] &= ~rmask;
-                heightmap[row][col + 1] &= ~lmask;
-                result.add(index + 1);
-            }
+        if ((v & rmask) != 0 && isEdge(cells[index + 1], h, v)) {
+            cells[index] &= ~rmask;
+            cells[index + 1] &= ~lmask;
+            result[n++] = index + 1;
         }
 
         // down
-        if (row < width - 1 && (v & dmask) != 0) {
-            var dval = heightmap[row + 1][col];
-            if (isEdge(dval, h, v)) {
-                heightmap[row][col] &= ~dmask;
-                heightmap[row + 1][col] &= ~umask;
-                result.add(index + length);
-            }
+        int down = index + heightmap.stride();
+        if ((v & dmask) != 0 && isEdge(cells[down], h, v)) {
+            cells[index] &= ~dmask;
+            cells[down] &= ~umask;
+            result[n++] = down;
         }
 
-        return result.stream().mapToInt(Integer::valueOf).toArray();
+        return n;
     }
 }
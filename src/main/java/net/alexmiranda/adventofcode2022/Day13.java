@@ -2,16 +2,22 @@ package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.Flow;
 import java.util.stream.IntStream;
 
+import net.alexmiranda.adventofcode2022.flow.Fold;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+import net.alexmiranda.adventofcode2022.metrics.Gauge;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+
 public class Day13 {
-    private static final String INPUT = "/2022/Day/13/input";
+    private static final Gauge BUFFER_PEAK = Metrics.gauge("day13.buffer.peak");
 
     sealed interface Packet extends Comparable<Packet> permits Single, Multi, Empty {
         static final Empty Empty = new Empty();
@@ -202,6 +208,17 @@ public class Day13 {
         }
     }
 
+    // the pairs are compared as soon as they're received, so none of them is kept around
+    static long countPairsInRightOrder(Flow.Publisher<List<String>> pairs) {
+        var counter = new long[2];
+        return Fold.fold(pairs, pair -> {
+            var pairNum = ++counter[0];
+            if (Packet.fromString(pair.get(0)).compareTo(Packet.fromString(pair.get(1))) <= 0) {
+                counter[1] += pairNum;
+            }
+        }, () -> counter[1]);
+    }
+
     static int decoderKeyOfDistressSignal(Packet... decoderKeys) throws IOException {
         try (var reader = readInput()) {
             return decoderKeyOfDistressSignal(reader, decoderKeys);
@@ -227,7 +244,24 @@ public class Day13 {
         }
     }
 
-    static InputStreamReader readInput() {
-        return new InputStreamReader(Day13.class.getResourceAsStream(INPUT));
+    // every packet has to be seen before the decoder keys can be placed among them, so
+    // they're all buffered, and how many of them were is recorded
+    static int decoderKeyOfDistressSignal(Flow.Publisher<String> lines, Packet... decoderKeys) {
+        var list = new ArrayList<Packet>(152);
+        Collections.addAll(list, decoderKeys);
+        Fold.fold(lines, line -> {
+            if (!line.isEmpty()) {
+                list.add(Packet.fromString(line));
+                BUFFER_PEAK.record(list.size());
+            }
+        }, () -> list);
+        Collections.sort(list);
+        return IntStream.range(1, list.size())
+                .filter(i -> Arrays.binarySearch(decoderKeys, list.get(i - 1)) >= 0)
+                .reduce(1, (a, b) -> a * b);
+    }
+
+    static Reader readInput() throws IOException {
+        return PuzzleInput.reader(13);
     }
 }
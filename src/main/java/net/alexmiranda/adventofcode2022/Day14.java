@@ -2,18 +2,18 @@ package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.TreeSet;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import net.alexmiranda.adventofcode2022.collections.IntArray;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
 public class Day14 {
-    private static final String INPUT = "/2022/Day/14/input";
     static final String EXAMPLE = """
             498,4 -> 498,6 -> 496,6
             503,4 -> 502,4 -> 502,9 -> 494,9
@@ -29,7 +29,10 @@ public class Day14 {
     }
 
     static class RegolithReservoir {
-        protected final HashMap<Integer, TreeSet<Integer>> scan = new HashMap<>();
+        // no rock below a position, as far as IntArray.ceiling goes
+        protected static final int NONE = Integer.MAX_VALUE;
+
+        protected final HashMap<Integer, IntArray> scan = new HashMap<>();
         protected int bottom = Integer.MIN_VALUE;
         private boolean simulationStarted = false;
         private final HashSet<Point> rocks = new HashSet<>();
@@ -67,12 +70,12 @@ public class Day14 {
                 return false;
             }
 
-            var rock = col.ceiling(y);
-            if (rock == null || rock.equals(y)) {
+            var rock = col.ceiling(y, NONE);
+            if (rock == NONE || rock == y) {
                 return false;
             }
 
-            y = rock.intValue() - 1;
+            y = rock - 1;
             var leftCol = scan.get(x - 1);
             if (leftCol == null) {
                 return false;
@@ -107,7 +110,8 @@ public class Day14 {
                 if (col == null) {
                     continue;
                 }
-                for (var i : col) {
+                for (int k = 0; k < col.size(); k++) {
+                    var i = col.get(k);
                     if (rocks.contains(new Point(j + offset, i))) {
                         grid[i][j] = '#';
                     } else {
@@ -128,7 +132,7 @@ public class Day14 {
         private void fillColumn(int col, int begin, int end) {
             scan.compute(col, (pos, set) -> {
                 if (set == null) {
-                    set = new TreeSet<>();
+                    set = new IntArray();
                 }
                 var iter = range(begin, end).iterator();
                 while (iter.hasNext()) {
@@ -145,7 +149,7 @@ public class Day14 {
         protected void addObject(int x, int y) {
             scan.compute(x, (pos, set) -> {
                 if (set == null) {
-                    set = new TreeSet<>();
+                    set = new IntArray();
                 }
                 if (!simulationStarted) {
                     rocks.add(new Point(x, y));
@@ -177,13 +181,13 @@ public class Day14 {
                 return true;
             }
 
-            var rock = col.ceiling(y);
-            if (rock == null && y < bottom) {
+            var rock = col.ceiling(y, NONE);
+            if (rock == NONE && y < bottom) {
                 addObject(x, bottom - 1);
                 return true;
             }
 
-            if (rock.equals(y)) {
+            if (rock == y) {
                 if (y == Point.SOURCE_OF_SAND.y + 1) {
                     if (scan.get(x - 1).contains(y) && scan.get(x + 1).contains(y)) {
                         return false;
@@ -191,7 +195,7 @@ public class Day14 {
                 }
             }
 
-            y = rock.intValue() - 1;
+            y = rock - 1;
             var leftCol = scan.get(x - 1);
             if (leftCol == null) {
                 addObject(x - 1, bottom - 1);
@@ -243,13 +247,13 @@ public class Day14 {
     }
 
     static int countSettledSandCapacity() throws IOException {
-        try (var reader = new InputStreamReader(Day14.class.getResourceAsStream(INPUT))) {
+        try (var reader = PuzzleInput.reader(14)) {
             return countSettledSandCapacity(reader);
         }
     }
 
     static int countSettledSandCapacityRevised() throws IOException {
-        try (var reader = new InputStreamReader(Day14.class.getResourceAsStream(INPUT))) {
+        try (var reader = PuzzleInput.reader(14)) {
             return countSettledSandCapacityRevised(reader);
         }
     }
@@ -2,21 +2,20 @@ package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.HashSet;
 
-public class Day15 {
-    private static final String INPUT = "/2022/Day/15/input";
-
-    record Location(int x, int y) {
-    };
+import net.alexmiranda.adventofcode2022.collections.IntHashSet;
+import net.alexmiranda.adventofcode2022.collections.LongHashSet;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day15 {
     record Sensor(int x, int y, int distClosestBeacon) {
     }
 
     static class TunnelNetwork {
-        private final HashSet<Location> occupiedLocations = new HashSet<Location>(35);
+        // locations are packed into longs, x in the high half and y in the low one
+        private final LongHashSet occupiedLocations = new LongHashSet(70);
         private final HashSet<Sensor> sensors = new HashSet<>(35);
 
         void parseInput(Reader reader) throws IOException {
@@ -31,8 +30,8 @@ public class Day15 {
                     var bx = Integer.parseInt(parts[1].substring(2, parts[1].indexOf(",")));
                     var by = Integer.parseInt(parts[1].substring(parts[1].lastIndexOf("=") + 1));
                     var sensor = new Sensor(sx, sy, distance(sx, sy, bx, by));
-                    occupiedLocations.add(new Location(sx, sy));
-                    occupiedLocations.add(new Location(bx, by));
+                    occupiedLocations.add(location(sx, sy));
+                    occupiedLocations.add(location(bx, by));
                     sensors.add(sensor);
                 }
             }
@@ -43,8 +42,8 @@ public class Day15 {
             return unfeasible.size();
         }
 
-        private HashSet<Integer> unfeasibleLocations(int row) {
-            var unfeasible = new HashSet<Integer>();
+        private IntHashSet unfeasibleLocations(int row) {
+            var unfeasible = new IntHashSet(1 << 16);
             for (var sensor : sensors) {
                 var ydist = Math.abs(sensor.y - row);
                 if (ydist > sensor.distClosestBeacon) {
@@ -54,7 +53,7 @@ public class Day15 {
                 var start = sensor.x - (sensor.distClosestBeacon - ydist);
                 var end = sensor.x + (sensor.distClosestBeacon - ydist);
                 for (int i = start; i <= end; i++) {
-                    if (unfeasible.contains(i) || occupiedLocations.contains(new Location(i, row))) {
+                    if (unfeasible.contains(i) || occupiedLocations.contains(location(i, row))) {
                         continue;
                     }
                     if (distance(sensor.x, sensor.y, i, row) <= sensor.distClosestBeacon) {
@@ -66,33 +65,35 @@ public class Day15 {
         }
 
         long findTunningFreq() {
+            // checked for every point around every sensor, so without an iterator each time
+            var all = sensors.toArray(Sensor[]::new);
             int foundX = -1, foundY = -1;
-            sensorsLoop: for (var sensor : sensors) {
+            sensorsLoop: for (var sensor : all) {
                 for (int y = 0; y <= sensor.distClosestBeacon; y++) {
                     var upperLeftX = sensor.x - sensor.distClosestBeacon - y - 1;
                     var upperLeftY = sensor.y - y;
-                    if (checkBeaconLocation(upperLeftX, upperLeftY)) {
+                    if (checkBeaconLocation(all, upperLeftX, upperLeftY)) {
                         foundX = upperLeftX;
                         foundY = upperLeftY;
                         break sensorsLoop;
                     }
                     var upperRightX = sensor.x + sensor.distClosestBeacon - y + 1;
                     var upperRightY = sensor.y - y;
-                    if (checkBeaconLocation(upperRightX, upperRightY)) {
+                    if (checkBeaconLocation(all, upperRightX, upperRightY)) {
                         foundX = upperRightX;
                         foundY = upperRightY;
                         break sensorsLoop;
                     }
                     var bottomRightX = sensor.x + sensor.distClosestBeacon - y + 1;
                     var bottomRightY = sensor.y + y;
-                    if (checkBeaconLocation(bottomRightX, bottomRightY)) {
+                    if (checkBeaconLocation(all, bottomRightX, bottomRightY)) {
                         foundX = bottomRightX;
                         foundY = bottomRightY;
                         break sensorsLoop;
                     }
                     var bottomLeftX = sensor.x - sensor.distClosestBeacon - y - 1;
                     var bottomLeftY = sensor.y + y;
-                    if (checkBeaconLocation(bottomLeftX, bottomLeftY)) {
+                    if (checkBeaconLocation(all, bottomLeftX, bottomLeftY)) {
                         foundX = bottomLeftX;
                         foundY = bottomLeftY;
                         break sensorsLoop;
@@ -102,7 +103,7 @@ public class Day15 {
             return (long) foundX * 4_000_000 + foundY;
         }
 
-        boolean checkBeaconLocation(int x, int y) {
+        boolean checkBeaconLocation(Sensor[] sensors, int x, int y) {
             if (x < 0 || y < 0 || x > 4_000_000 || y > 4_000_000) {
                 return false;
             }
@@ -114,6 +115,10 @@ public class Day15 {
             return true;
         }
 
+        private static long location(int x, int y) {
+            return (long) x << 32 | (y & 0xffffffffL);
+        }
+
         int distance(int x1, int y1, int x2, int y2) {
             return Math.abs(x2 - x1) + Math.abs(y2 - y1);
         }
@@ -126,7 +131,7 @@ public class Day15 {
     }
 
     static int countLocationsUnsuitableForBeacons(int row) throws IOException {
-        try (var reader = new InputStreamReader(Day15.class.getResourceAsStream(INPUT))) {
+        try (var reader = PuzzleInput.reader(15)) {
             var network = new TunnelNetwork();
             network.parseInput(reader);
             return network.tryDeployBeacon(row);
@@ -140,7 +145,7 @@ public class Day15 {
     }
 
     static long getTunningFrequency() throws IOException {
-        try (var reader = new InputStreamReader(Day15.class.getResourceAsStream(INPUT))) {
+        try (var reader = PuzzleInput.reader(15)) {
             var network = new TunnelNetwork();
             network.parseInput(reader);
             return network.findTunningFreq();
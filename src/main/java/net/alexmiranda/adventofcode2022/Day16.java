@@ -2,7 +2,6 @@ package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayDeque;
 import java.util.HashMap;
@@ -14,9 +13,15 @@ import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.regex.Pattern;
 
-public class Day16 {
-    static final String INPUT = "/2022/Day/16/input";
+import net.alexmiranda.adventofcode2022.collections.LongIntHashMap;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+import net.alexmiranda.adventofcode2022.metrics.Counter;
+import net.alexmiranda.adventofcode2022.metrics.Gauge;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+import net.alexmiranda.adventofcode2022.search.Anytime;
+import net.alexmiranda.adventofcode2022.search.Budget;
 
+public class Day16 {
     record Valve(long id, String name, int flowRate, String[] leadsTo) {
     }
 
@@ -24,6 +29,12 @@ public class Day16 {
     }
 
     static class Network {
+        private static final Counter CACHE_HITS = Metrics.counter("day16.cache.hits");
+        private static final Counter CACHE_MISSES = Metrics.counter("day16.cache.misses");
+        private static final Gauge CACHE_SIZE = Metrics.gauge("day16.cache.size");
+        private static final Counter STATES = Metrics.counter("day16.states");
+        private static final Gauge QUEUE_SIZE = Metrics.gauge("day16.queue.size");
+
         private static final Pattern PATTERN = Pattern.compile(
                 "^Valve (?<name>[^\\s]{2}) has flow rate=(?<flowRate>\\d+); tunnel(s)* lead(s)* to valve(s)* (?<leadsTo>[^$]+)$");
         private final HashMap<String, Valve> valves = new HashMap<>((int) Math.ceil(64 / .75f), .75f);
@@ -59,20 +70,46 @@ public class Day16 {
         }
 
         int findMostPressurePossibleToRelease(String startingValve, int minutes) {
-            return findMostPressurePossibleToRelease(0, startingValve, minutes - 1, 0L, new HashMap<>());
+            return findMostPressurePossibleToRelease(startingValve, minutes, Budget.unlimited()).orElseThrow();
+        }
+
+        Anytime findMostPressurePossibleToRelease(String startingValve, int minutes, Budget budget) {
+            var search = new Search(new HashMap<>(), budget.probe());
+            var max = findMostPressurePossibleToRelease(0, startingValve, minutes - 1, 0L, search);
+            CACHE_SIZE.record(search.cache.size());
+            return Anytime.of(max, search.probe);
         }
 
         int findMostPressurePossibleToRelease(int pressureReleased, String valveId, int remainingMinutes,
                 long openValves, HashMap<String, Integer> cache) {
+            var search = new Search(cache, Budget.unlimited().probe());
+            var max = findMostPressurePossibleToRelease(pressureReleased, valveId, remainingMinutes, openValves, search);
+            return Anytime.of(max, search.probe).orElseThrow();
+        }
+
+        private record Search(HashMap<String, Integer> cache, Budget.Probe probe) {
+        }
+
+        // every value returned is the pressure released by some actual sequence of moves, so
+        // the highest one found before running out of budget is still a valid answer, if not
+        // necessarily the best one
+        private int findMostPressurePossibleToRelease(int pressureReleased, String valveId, int remainingMinutes,
+                long openValves, Search search) {
             if (remainingMinutes == 0 || (openValves & allOpenFlag) == allOpenFlag) {
                 return pressureReleased;
             }
+            if (search.probe.exhausted()) {
+                return pressureReleased;
+            }
 
+            var cache = search.cache;
             var cacheKey = String.format("%s%02d%x", valveId, remainingMinutes, openValves);
             var cached = cache.get(cacheKey);
             if (cached != null) {
+                CACHE_HITS.increment();
                 return cached;
             }
+            CACHE_MISSES.increment();
 
             var valve = valves.get(valveId);
             assert valve != null;
@@ -91,7 +128,7 @@ public class Day16 {
                 var remaining = remainingMinutes - 2;
                 for (var next : valve.leadsTo) {
                     var result = findMostPressurePossibleToRelease(pressureReleasedIncludingNewlyOpened, next,
-                            remaining, open, cache);
+                            remaining, open, search);
                     if (result > max) {
                         max = result;
                     }
@@ -100,19 +137,22 @@ public class Day16 {
 
             for (var next : valve.leadsTo) {
                 var remaining = remainingMinutes - 1;
-                var result = findMostPressurePossibleToRelease(pressureReleased, next, remaining, openValves, cache);
+                var result = findMostPressurePossibleToRelease(pressureReleased, next, remaining, openValves, search);
                 if (result > max) {
                     max = result;
                 }
             }
 
-            cache.put(cacheKey, max);
+            // the best of a subtree that wasn't fully explored can't be reused elsewhere
+            if (!search.probe.stopped()) {
+                cache.put(cacheKey, max);
+            }
             return max;
         }
 
         int quickReleaseMostPressureWithAnElephant(String startingValve, int minutes) {
             var distances = computeDistances(startingValve);
-            var greatestReleasedPressure = new HashMap<Long, Integer>();
+            var greatestReleasedPressure = new LongIntHashMap(1 << 12);
 
             record Iteration(String current, long openValves, int minutesLeft, int pressureReleased) {
             }
@@ -120,16 +160,13 @@ public class Day16 {
             queue.add(new Iteration(startingValve, 0L, minutes, 0));
 
             while (!queue.isEmpty()) {
+                QUEUE_SIZE.record(queue.size());
+                STATES.increment();
                 var it = queue.poll();
 
                 // stores the maximum possible pressure released for a given combination of open
                 // valves
-                greatestReleasedPressure.compute(it.openValves, (open, pressure) -> {
-                    if (pressure == null) {
-                        return it.pressureReleased;
-                    }
-                    return Math.max(pressure, it.pressureReleased);
-                });
+                greatestReleasedPressure.max(it.openValves, it.pressureReleased);
 
                 // no time left or all valves are already open
                 if (it.minutesLeft == 0 || (allOpenFlag & it.openValves) == allOpenFlag) {
@@ -157,14 +194,18 @@ public class Day16 {
             // take all possibilities of resulting open valves and find the greatest pair
             // thereof where valves open on the left and right side are mutualy exclusive,
             // i.e. open by either of the two participants
-            var possibilities = greatestReleasedPressure.keySet().toArray(size -> new Long[size]);
+            var possibilities = greatestReleasedPressure.keys();
+            var pressures = new int[possibilities.length];
+            for (int i = 0; i < possibilities.length; i++) {
+                pressures[i] = greatestReleasedPressure.get(possibilities[i], 0);
+            }
             int max = 0;
             for (int i = 0; i < possibilities.length - 1; i++) {
                 var lhs = possibilities[i];
                 for (int j = i + 1; j < possibilities.length; j++) {
                     var rhs = possibilities[j];
                     if ((lhs & rhs) == 0) {
-                        int sum = greatestReleasedPressure.get(lhs) + greatestReleasedPressure.get(rhs);
+                        int sum = pressures[i] + pressures[j];
                         if (sum > max) {
                             max = sum;
                         }
@@ -286,7 +327,7 @@ public class Day16 {
         }
     }
 
-    static InputStreamReader getPuzzleInput() {
-        return new InputStreamReader(Day16.class.getResourceAsStream(INPUT));
+    static Reader getPuzzleInput() throws IOException {
+        return PuzzleInput.reader(16);
     }
 }
@@ -1,10 +1,18 @@
 package net.alexmiranda.adventofcode2022;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Arrays;
 import java.util.HashMap;
 
+import net.alexmiranda.adventofcode2022.checkpoint.Resumable;
+import net.alexmiranda.adventofcode2022.events.MilestoneEvent;
+import net.alexmiranda.adventofcode2022.metrics.Counter;
+import net.alexmiranda.adventofcode2022.metrics.Gauge;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+
 public class Day17 {
     // @formatter:off
     private static final int LEFT  = 0b01000000_01000000_01000000_01000000;
@@ -26,38 +34,101 @@ public class Day17 {
     };
 
     static class Chamber {
+        private static final Counter ROCKS_DROPPED = Metrics.counter("day17.rocks");
+        private static final Counter CYCLE_HITS = Metrics.counter("day17.cycle.hits");
+        private static final Counter COMPACTIONS = Metrics.counter("day17.compactions");
+        private static final Gauge CACHE_SIZE = Metrics.gauge("day17.cache.size");
+        private static final Gauge ROCKPILE_SIZE = Metrics.gauge("day17.rockpile.size");
+
+        private record CacheKey(int nextMove, int nextRock, int hash) {
+        }
+
+        private record Cycle(long n, long size, int moves, byte[] rockPile) {
+        }
+
         private final String jetPattern;
         private int nextMove = 0, nextRock = 0, space = 0;
         private byte[] rockpile = new byte[0];
         private long size = 0;
+        // the rocks still to drop and the states seen since the last cycle was skipped over,
+        // which are kept between the calls to advance so that a simulation can be checkpointed
+        // and resumed halfway through without changing its outcome
+        private long remaining = 0;
+        private final HashMap<CacheKey, Cycle> cache = new HashMap<>();
 
         Chamber(String jetPattern) {
             this.jetPattern = jetPattern;
         }
 
         long simulate(long n) {
-            record CacheKey(int nextMove, int nextRock, int hash) {
-            }
+            start(n);
+            advance(Long.MAX_VALUE);
+            return size;
+        }
 
-            record Cycle(long n, long size, int moves, byte[] rockPile) {
-            }
+        // a simulation of n rocks that runs a number of rocks at a time, and whose state can be
+        // saved in between; once it's done, the height of the tower is the size of the chamber
+        Resumable simulation(long n) {
+            start(n);
+            return new Resumable() {
+                @Override
+                public int day() {
+                    return 17;
+                }
+
+                @Override
+                public boolean advance(long steps) {
+                    Chamber.this.advance(steps);
+                    return remaining > 0;
+                }
+
+                @Override
+                public void save(DataOutput out) throws IOException {
+                    Chamber.this.save(out, n);
+                }
+
+                @Override
+                public void restore(DataInput in) throws IOException {
+                    Chamber.this.restore(in, n);
+                }
+            };
+        }
 
-            var cache = new HashMap<CacheKey, Cycle>();
-            while (n > 0) {
+        long size() {
+            return size;
+        }
+
+        private void start(long n) {
+            remaining = n;
+            cache.clear();
+        }
+
+        // drops up to the given number of rocks, skipping over a whole cycle of them counting
+        // as one
+        private void advance(long steps) {
+            for (; remaining > 0 && steps > 0; steps--) {
                 // have we seen this before? if so, we will advance forward quickly
                 // by restoring the state from the cache...
                 var cacheKey = new CacheKey(nextMove, nextRock, Arrays.hashCode(rockpile));
                 var cycle = cache.get(cacheKey);
                 if (cycle != null) {
-                    long cycleSize = cycle.n - n;
+                    long cycleSize = cycle.n - remaining;
                     assert (nextRock + cycleSize) % ROCKS.length == nextRock;
 
                     long delta = size - cycle.size + 1;
-                    long repeat = n / cycleSize;
+                    long repeat = remaining / cycleSize;
                     if (repeat > 0) {
+                        CYCLE_HITS.increment();
+                        var event = new MilestoneEvent(17, "cycle");
+                        if (event.shouldCommit()) {
+                            // the rocks still to drop when the cycle was found, and its length
+                            event.iteration = remaining;
+                            event.value = cycleSize;
+                            event.commit();
+                        }
                         size += delta * repeat;
                         rockpile = cycle.rockPile;
-                        n %= repeat * cycleSize;
+                        remaining %= repeat * cycleSize;
 
                         space = 0;
                         nextRock = (++nextRock) % ROCKS.length;
@@ -67,6 +138,7 @@ public class Day17 {
                     }
                 }
 
+                ROCKS_DROPPED.increment();
                 var rock = ROCKS[nextRock];
                 int moves = 0;
                 // move 3 times freely in empty space
@@ -116,22 +188,77 @@ public class Day17 {
 
                 // compact the whole thing up to the topmost full layer of rocks!
                 if (highestFullLayer > 0) {
+                    COMPACTIONS.increment();
+                    ROCKPILE_SIZE.record(rockpile.length);
                     var newContents = new byte[highestFullLayer];
                     System.arraycopy(rockpile, 0, newContents, 0, highestFullLayer);
                     rockpile = newContents;
 
                     // store a copy of the rockpile so that it can be restored later, if a cycle is
                     // found
-                    cache.put(cacheKey, new Cycle(n, size, moves, Arrays.copyOf(rockpile, rockpile.length)));
+                    cache.put(cacheKey, new Cycle(remaining, size, moves, Arrays.copyOf(rockpile, rockpile.length)));
+                    CACHE_SIZE.record(cache.size());
                 }
 
                 // round is done
                 moves = 0;
                 space = 0;
                 nextRock = (++nextRock) % ROCKS.length;
-                n--;
+                remaining--;
             }
-            return size;
+        }
+
+        // the jet pattern and the number of rocks come first, so that a checkpoint isn't
+        // resumed by a simulation of some other input
+        private void save(DataOutput out, long n) throws IOException {
+            out.writeInt(jetPattern.hashCode());
+            out.writeLong(n);
+            out.writeInt(nextMove);
+            out.writeInt(nextRock);
+            out.writeInt(space);
+            out.writeLong(size);
+            out.writeLong(remaining);
+            writeBytes(out, rockpile);
+            out.writeInt(cache.size());
+            for (var entry : cache.entrySet()) {
+                var key = entry.getKey();
+                var cycle = entry.getValue();
+                out.writeInt(key.nextMove);
+                out.writeInt(key.nextRock);
+                out.writeInt(key.hash);
+                out.writeLong(cycle.n);
+                out.writeLong(cycle.size);
+                out.writeInt(cycle.moves);
+                writeBytes(out, cycle.rockPile);
+            }
+        }
+
+        private void restore(DataInput in, long n) throws IOException {
+            if (in.readInt() != jetPattern.hashCode() || in.readLong() != n) {
+                throw new IOException("checkpoint of another simulation");
+            }
+            nextMove = in.readInt();
+            nextRock = in.readInt();
+            space = in.readInt();
+            size = in.readLong();
+            remaining = in.readLong();
+            rockpile = readBytes(in);
+            cache.clear();
+            for (int i = in.readInt(); i > 0; i--) {
+                var key = new CacheKey(in.readInt(), in.readInt(), in.readInt());
+                cache.put(key, new Cycle(in.readLong(), in.readLong(), in.readInt(), readBytes(in)));
+            }
+        }
+
+        private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static byte[] readBytes(DataInput in) throws IOException {
+            var bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
         }
 
         void print(Writer w) throws IOException {
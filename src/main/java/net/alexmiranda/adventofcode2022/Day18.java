@@ -2,7 +2,6 @@ package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.HashSet;
 import java.util.Set;
@@ -10,9 +9,9 @@ import java.util.Stack;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class Day18 {
-    private static final String INPUT = "/2022/day/18/input";
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day18 {
     record Coord(int x, int y, int z) {
         record Perimeter(Coord min, Coord max) {
         }
@@ -77,8 +76,8 @@ public class Day18 {
         }
     }
 
-    static Reader puzzleInput() {
-        return new InputStreamReader(Day18.class.getResourceAsStream(INPUT));
+    static Reader puzzleInput() throws IOException {
+        return PuzzleInput.reader(18);
     }
 
     static Set<Coord> parseInput(Reader reader) throws IOException {
@@ -2,17 +2,21 @@ package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.regex.Pattern;
 
-public class Day19 {
-    private static final String INPUT = "/2022/day/19/input";
+import net.alexmiranda.adventofcode2022.collections.IntHashSet;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+import net.alexmiranda.adventofcode2022.metrics.Counter;
+import net.alexmiranda.adventofcode2022.metrics.Gauge;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+import net.alexmiranda.adventofcode2022.search.Anytime;
+import net.alexmiranda.adventofcode2022.search.Budget;
 
+public class Day19 {
     record Blueprint(
             int id,
             int orePerOreRobot,
@@ -116,6 +120,11 @@ public class Day19 {
     };
 
     static class Factory {
+        private static final Counter STATES = Metrics.counter("day19.states");
+        private static final Counter DUPLICATES = Metrics.counter("day19.duplicates");
+        private static final Counter PRUNED = Metrics.counter("day19.pruned");
+        private static final Gauge QUEUE_SIZE = Metrics.gauge("day19.queue.size");
+
         private static final Pattern PATTERN = Pattern.compile(
                 "^Blueprint (?<id>\\d+): Each ore robot costs (?<orePerOreRobot>\\d+) ore. Each clay robot costs (?<orePerClayRobot>\\d+) ore. Each obsidian robot costs (?<orePerObsidianRobot>\\d+) ore and (?<clayPerObsidianRobot>\\d+) clay. Each geode robot costs (?<orePerGeodeRobot>\\d+) ore and (?<obsidianPerGeodeRobot>\\d+) obsidian.$");
 
@@ -161,7 +170,15 @@ public class Day19 {
         }
 
         int maximumOpenGeodes(Blueprint blueprint, int minutes) {
+            return maximumOpenGeodes(blueprint, minutes, Budget.unlimited()).orElseThrow();
+        }
+
+        Anytime maximumOpenGeodes(Blueprint blueprint, int minutes, Budget budget) {
+            var probe = budget.probe();
             int maxOpenGeodes = 0;
+            // the geodes a state would end up with if it just waited until the end, which is
+            // as good an answer as any if the search gets stopped before completing
+            int atLeast = 0;
             var start = Inventory.with().oreRobots(1).turnsLeft(minutes).build();
             var queue = new ArrayDeque<Inventory>();
             queue.add(start);
@@ -179,14 +196,18 @@ public class Day19 {
             int maxObsidianRobots = blueprint.obsidianPerGeodeRobot;
             assert maxObsidianRobots > 0;
 
-            var seen = new HashSet<Integer>();
-            while (!queue.isEmpty()) {
+            var seen = new IntHashSet(1 << 16);
+            while (!queue.isEmpty() && !probe.exhausted()) {
+                QUEUE_SIZE.record(queue.size());
+                STATES.increment();
                 var inventory = queue.poll();
                 if (!seen.add(inventory.hashCode())) {
+                    DUPLICATES.increment();
                     continue;
                 }
 
                 maxOpenGeodes = Math.max(maxOpenGeodes, inventory.openGeodes);
+                atLeast = Math.max(atLeast, inventory.openGeodes + inventory.turnsLeft * inventory.geodeRobots);
                 if (inventory.turnsLeft == 0) {
                     continue;
                 }
@@ -196,6 +217,7 @@ public class Day19 {
                 // number of open geodes, then we can simply skip it
                 if (inventory.openGeodes + (inventory.turnsLeft * inventory.geodeRobots)
                         + (inventory.turnsLeft * (inventory.turnsLeft + 1) / 2) <= maxOpenGeodes) {
+                    PRUNED.increment();
                     continue;
                 }
 
@@ -279,11 +301,11 @@ public class Day19 {
                 }
             }
 
-            return maxOpenGeodes;
+            return Anytime.of(probe.stopped() ? atLeast : maxOpenGeodes, probe);
         }
     }
 
-    static Reader puzzleInput() {
-        return new InputStreamReader(Day19.class.getResourceAsStream(INPUT));
+    static Reader puzzleInput() throws IOException {
+        return PuzzleInput.reader(19);
     }
 }
@@ -4,11 +4,18 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
 
-public class Day2 {
-    private static final String INPUT = "2022/Day/2/input";
+import net.alexmiranda.adventofcode2022.flow.Fold;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.MappedInput;
+import net.alexmiranda.adventofcode2022.io.Pieces;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day2 {
     enum Shape {
         ROCK(1) {
             @Override
@@ -85,24 +92,191 @@ public class Day2 {
     }
 
     public static int totalScore() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(2);
         try (var lines = Files.lines(path)) {
-            return lines.mapToInt(s -> {
-                var opponent = Shape.fromString(s.substring(0, 1));
-                var answer = Shape.fromString(s.substring(2, 3));
-                return answer.calculateScore(opponent);
-            }).sum();
+            return totalScore(lines);
         }
     }
 
+    static int totalScore(Stream<String> lines) {
+        return lines.mapToInt(Day2::score).sum();
+    }
+
+    static long totalScore(Flow.Publisher<String> lines) {
+        return Fold.sum(lines, Day2::score);
+    }
+
+    static int score(String s) {
+        var opponent = Shape.fromString(s.substring(0, 1));
+        var answer = Shape.fromString(s.substring(2, 3));
+        return answer.calculateScore(opponent);
+    }
+
     public static int totalScoreOutcomes() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(2);
         try (var lines = Files.lines(path)) {
-            return lines.mapToInt(s -> {
-                var opponent = Shape.fromString(s.substring(0, 1));
-                var answer = opponent.fromOutcomeString(s.substring(2, 3));
-                return answer.calculateScore(opponent);
-            }).sum();
+            return totalScoreOutcomes(lines);
         }
     }
+
+    static int totalScoreOutcomes(Stream<String> lines) {
+        return lines.mapToInt(Day2::scoreOutcome).sum();
+    }
+
+    static long totalScoreOutcomes(Flow.Publisher<String> lines) {
+        return Fold.sum(lines, Day2::scoreOutcome);
+    }
+
+    static int scoreOutcome(String s) {
+        var opponent = Shape.fromString(s.substring(0, 1));
+        var answer = opponent.fromOutcomeString(s.substring(2, 3));
+        return answer.calculateScore(opponent);
+    }
+
+    // the score of a round by opponent (A, B, C) and column (X, Y, Z), as opponent * 3 + column,
+    // for each way of reading the column; worked out once from the shapes above, the first
+    // time the optimized engine is used
+    static final class Scores {
+        static final int[] SHAPES = table(Day2::score);
+        static final int[] OUTCOMES = table(Day2::scoreOutcome);
+
+        private Scores() {
+        }
+
+        private static int[] table(ToIntFunction<String> score) {
+            var table = new int[9];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = score.applyAsInt((char) ('A' + i / 3) + " " + (char) ('X' + i % 3));
+            }
+            return table;
+        }
+    }
+
+    // how many times every round (opponent A, B, C against column X, Y, Z) was played, which
+    // is all it takes to score a strategy guide under any rules without reading it again
+    public static final class Histogram {
+        private final long[] counts = new long[9];
+
+        public long count(char opponent, char column) {
+            int o = opponent - 'A', c = column - 'X';
+            if (o < 0 || o > 2 || c < 0 || c > 2) {
+                throw new IllegalArgumentException("no such round: " + opponent + " " + column);
+            }
+            return counts[o * 3 + c];
+        }
+
+        public long rounds() {
+            long rounds = 0;
+            for (var count : counts) {
+                rounds += count;
+            }
+            return rounds;
+        }
+
+        // the total score, with the score of every round at opponent * 3 + column
+        public long score(int[] table) {
+            if (table.length != 9) {
+                throw new IllegalArgumentException("a score for each of the 9 rounds is needed, got " + table.length);
+            }
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                total = Math.addExact(total, Math.multiplyExact(counts[i], table[i]));
+            }
+            return total;
+        }
+
+        // the total score, with the score of every round at [opponent][column]
+        public long score(int[][] matrix) {
+            var table = new int[9];
+            if (matrix.length != 3) {
+                throw new IllegalArgumentException("a 3x3 matrix is needed");
+            }
+            for (int o = 0; o < 3; o++) {
+                if (matrix[o].length != 3) {
+                    throw new IllegalArgumentException("a 3x3 matrix is needed");
+                }
+                System.arraycopy(matrix[o], 0, table, o * 3, 3);
+            }
+            return score(table);
+        }
+
+        void addAll(Histogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+        }
+    }
+
+    // scores a strategy guide of any size straight from the mapped file
+    public static long totalScore(Path path, int[] table) throws IOException {
+        return histogram(path, 1).score(table);
+    }
+
+    static long totalScore(ByteCursor input, int[] table) {
+        return histogram(input).score(table);
+    }
+
+    // the histogram of a strategy guide of any size, every piece of it (see io.Pieces)
+    // counted at the same time and added up at the end
+    public static Histogram histogram(Path path, int threads) throws IOException {
+        return histogram(MappedInput.map(path, MappedInput.MAX_SEGMENT_SIZE), threads);
+    }
+
+    static Histogram histogram(List<ByteCursor> segments, int threads) {
+        var pieces = Pieces.split(segments, threads);
+        return Pieces.mapReduce(pieces, threads, (piece, i) -> histogram(piece), new Histogram(), (all, partial) -> {
+            all.addAll(partial);
+            return all;
+        });
+    }
+
+    static Histogram histogram(ByteCursor input) {
+        var histogram = new Histogram();
+        count(input, histogram.counts);
+        return histogram;
+    }
+
+    // every round is a 4 byte "A X\n" record, read as a single int and counted at its index,
+    // four of them at a time. A record laid out any other way (a carriage return, blank lines,
+    // no line break at the very end) is read on its own, and then it's back to four at a time
+    private static void count(ByteCursor input, long[] counts) {
+        int i = input.position(), limit = input.limit();
+        while (i < limit) {
+            if (i + 16 <= limit) {
+                int a = round(input.getInt(i)), b = round(input.getInt(i + 4)),
+                        c = round(input.getInt(i + 8)), d = round(input.getInt(i + 12));
+                if ((a | b | c | d) >= 0) {
+                    counts[a]++;
+                    counts[b]++;
+                    counts[c]++;
+                    counts[d]++;
+                    i += 16;
+                    continue;
+                }
+            }
+            int end = i;
+            while (end < limit && input.get(end) != '\n') {
+                end++;
+            }
+            int length = end > i && input.get(end - 1) == '\r' ? end - 1 - i : end - i;
+            if (length > 0) {
+                int round = length == 3 && input.get(i + 1) == ' '
+                        ? round((input.get(i) & 0xff) << 24 | ' ' << 16 | (input.get(i + 2) & 0xff) << 8 | '\n')
+                        : -1;
+                if (round < 0) {
+                    throw new IllegalArgumentException("invalid round at " + i);
+                }
+                counts[round]++;
+            }
+            i = end + 1;
+        }
+    }
+
+    // the index of the round in the tables, or -1 if the record isn't one
+    private static int round(int record) {
+        int opponent = (record >>> 24) - 'A', column = (record >>> 8 & 0xff) - 'X';
+        return (record & 0xff00ff) == 0x20000a && opponent >= 0 && opponent < 3 && column >= 0 && column < 3
+                ? opponent * 3 + column
+                : -1;
+    }
 }
@@ -2,17 +2,22 @@ package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Flow;
+
+import net.alexmiranda.adventofcode2022.flow.Fold;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+import net.alexmiranda.adventofcode2022.metrics.Gauge;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
 
 public class Day20 {
     static final long DECRYPTION_KEY = 811589153L;
 
-    private static final String INPUT = "/2022/day/20/input";
     private static final int[] GROVE_COORDS = new int[] { 1000, 2000, 3000 };
+    private static final Gauge BUFFER_PEAK = Metrics.gauge("day20.buffer.peak");
 
     record Number(long longValue, int originalPosition) {
         @Override
@@ -83,14 +88,25 @@ public class Day20 {
     }
 
     static List<Long> mix(Reader reader, int n, int rounds, long decryptionKey) throws IOException {
+        return mix(parse(reader, n, decryptionKey), rounds);
+    }
+
+    static List<Long> parse(Reader reader, int n, long decryptionKey) throws IOException {
         try (var br = new BufferedReader(reader)) {
-            var file = new ArrayList<Long>(n);
+            var file = new ArrayList<Long>();
             br.lines().limit(n).mapToLong(Long::parseLong)
                     .map(longValue -> Math.multiplyExact(longValue, decryptionKey)).forEach(file::add);
-            return mix(Collections.unmodifiableList(file), rounds);
+            return Collections.unmodifiableList(file);
         }
     }
 
+    // mixing moves every number relative to all the others, so the whole file is buffered,
+    // and how many numbers it had is recorded
+    static List<Long> parse(Flow.Publisher<String> lines, long decryptionKey) {
+        var file = Fold.collect(lines, line -> Math.multiplyExact(Long.parseLong(line), decryptionKey), BUFFER_PEAK);
+        return Collections.unmodifiableList(file);
+    }
+
     static List<Long> applyDecryptionKey(List<Long> list) {
         for (int i = 0; i < list.size(); i++) {
             list.set(i, list.get(i) * DECRYPTION_KEY);
@@ -98,7 +114,7 @@ public class Day20 {
         return list;
     }
 
-    static InputStreamReader puzzleInput() {
-        return new InputStreamReader(Day20.class.getResourceAsStream(INPUT));
+    static Reader puzzleInput() throws IOException {
+        return PuzzleInput.reader(20);
     }
 }
@@ -2,17 +2,19 @@ package net.alexmiranda.adventofcode2022;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 import java.util.function.Predicate;
 
-public class Day21 {
-    private static final String INPUT = "/2022/day/21/input";
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day21 {
     interface Job {
         BigDecimal shout(Context ctx, boolean withCache);
 
@@ -182,7 +184,115 @@ public class Day21 {
         }
     }
 
-    static Reader puzzleInput() {
-        return new InputStreamReader(Day21.class.getResourceAsStream(INPUT));
+    // the same jobs with every monkey numbered and their numbers shouted as longs rather
+    // than BigDecimals, which all of them fit in; a division that isn't exact or a number
+    // that overflows is an error instead of a silently wrong answer
+    static class Monkeys {
+        private static final char NUMBER = '#';
+
+        private final HashMap<String, Integer> ids = new HashMap<>();
+        private final char[] operators;
+        private final long[] numbers;
+        private final int[] lefts, rights, parents;
+        private final boolean[] shouted;
+
+        Monkeys(Reader reader) throws IOException {
+            List<String> lines;
+            try (var br = new BufferedReader(reader)) {
+                lines = br.lines().filter(line -> !line.isEmpty()).toList();
+            }
+            int n = lines.size();
+            for (var line : lines) {
+                ids.put(line.substring(0, line.indexOf(':')), ids.size());
+            }
+            operators = new char[n];
+            numbers = new long[n];
+            lefts = new int[n];
+            rights = new int[n];
+            parents = new int[n];
+            shouted = new boolean[n];
+            Arrays.fill(parents, -1);
+            for (int id = 0; id < n; id++) {
+                var line = lines.get(id);
+                var parts = line.substring(line.indexOf(':') + 2).split(" ");
+                if (parts.length == 1) {
+                    operators[id] = NUMBER;
+                    numbers[id] = Long.parseLong(parts[0]);
+                } else if (parts.length == 3) {
+                    operators[id] = parts[1].charAt(0);
+                    lefts[id] = id(parts[0]);
+                    rights[id] = id(parts[2]);
+                    parents[lefts[id]] = id;
+                    parents[rights[id]] = id;
+                } else {
+                    throw new IllegalArgumentException("Invalid line: " + line);
+                }
+            }
+        }
+
+        long solve(String monkey) {
+            return shout(id(monkey));
+        }
+
+        // walks down from the root to the human, inverting every job on the way with the
+        // number shouted on the other side of it
+        long solvePart2(String human) {
+            var path = new ArrayList<Integer>();
+            for (int id = id(human); id >= 0; id = parents[id]) {
+                path.add(id);
+            }
+            int root = path.get(path.size() - 1);
+            int next = path.get(path.size() - 2);
+            long target = shout(lefts[root] == next ? rights[root] : lefts[root]);
+            for (int i = path.size() - 2; i > 0; i--) {
+                int job = path.get(i);
+                boolean leftSide = lefts[job] == path.get(i - 1);
+                long constant = shout(leftSide ? rights[job] : lefts[job]);
+                target = switch (operators[job]) {
+                    case '+' -> Math.subtractExact(target, constant);
+                    case '*' -> divide(target, constant);
+                    case '-' -> leftSide ? Math.addExact(constant, target) : Math.subtractExact(constant, target);
+                    case '/' -> leftSide ? Math.multiplyExact(constant, target) : divide(constant, target);
+                    default -> throw new IllegalStateException("Invalid operator: " + operators[job]);
+                };
+            }
+            return target;
+        }
+
+        private long shout(int id) {
+            if (operators[id] == NUMBER || shouted[id]) {
+                return numbers[id];
+            }
+            long lhs = shout(lefts[id]);
+            long rhs = shout(rights[id]);
+            numbers[id] = switch (operators[id]) {
+                case '+' -> Math.addExact(lhs, rhs);
+                case '-' -> Math.subtractExact(lhs, rhs);
+                case '*' -> Math.multiplyExact(lhs, rhs);
+                case '/' -> divide(lhs, rhs);
+                default -> throw new IllegalStateException("Invalid operator: " + operators[id]);
+            };
+            shouted[id] = true;
+            return numbers[id];
+        }
+
+        private int id(String monkey) {
+            var id = ids.get(monkey);
+            if (id == null) {
+                throw new IllegalArgumentException("no such monkey: " + monkey);
+            }
+            return id;
+        }
+
+        private static long divide(long lhs, long rhs) {
+            if (rhs == 0 || lhs % rhs != 0) {
+                throw new ArithmeticException("inexact division: " + lhs + " / " + rhs);
+            }
+            return lhs / rhs;
+        }
+    }
+
+    static Reader puzzleInput() throws IOException {
+        return PuzzleInput.reader(21);
     }
 }
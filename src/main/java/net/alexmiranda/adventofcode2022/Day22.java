@@ -1,16 +1,16 @@
 package net.alexmiranda.adventofcode2022;
 
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Reader;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Scanner;
-import java.util.TreeSet;
 import java.util.function.BiFunction;
 
-public class Day22 {
-    private static final String INPUT = "/2022/day/22/input";
+import net.alexmiranda.adventofcode2022.collections.IntArray;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day22 {
     static class MonkeyMap {
         enum Direction {
             RIGHT(0, 1) {
@@ -70,7 +70,7 @@ public class Day22 {
         }
 
         static abstract class Path {
-            final TreeSet<Integer> closures = new TreeSet<>();
+            final IntArray closures = new IntArray();
             final int n;
             int start = -1;
             int end = -1;
@@ -117,103 +117,103 @@ public class Day22 {
         private Path passive = null;
 
         MonkeyMap(Readable input) {
-            try (var scanner = new Scanner(input)) {
-                scanner.useDelimiter("");
-
-                int c = 0, r = 0, begin = 0, end = 0, prevEnd = 0;
-                var row = paths.compute("R0", computeRow(0));
-                char prev = '\0', curr = '\0';
-                map_read_loop: while (scanner.hasNext()) {
-                    prev = curr;
-                    curr = scanner.next().charAt(0);
-
-                    if (curr != '\n' && prev == '\n') {
-                        row = paths.compute("R" + r, computeRow(r));
-                    }
+            this(ByteCursor.read(input));
+        }
 
-                    var col = paths.compute("C" + c, computeCol(c));
-                    switch (curr) {
-                        case ' ' -> {
-                            if (row.start > -1 && row.end == -1) {
-                                assert prev != ' ';
-                                assert c == end;
-                                row.end = c;
-                            }
-                            if (col.start > -1 && col.end == -1) {
-                                col.end = r;
-                            }
-                        }
-                        case '.', '#' -> {
-                            end = c;
-                            if (begin == 0) {
-                                begin = c;
-                            }
+        MonkeyMap(ByteCursor input) {
+            int c = 0, r = 0, begin = 0, end = 0, prevEnd = 0;
+            var row = paths.compute("R0", computeRow(0));
+            char prev = '\0', curr = '\0';
+            map_read_loop: while (input.hasRemaining()) {
+                prev = curr;
+                curr = (char) input.next();
 
-                            assert row.end == -1;
-                            if (row.start == -1) {
-                                row.start = c;
-                            }
-
-                            if (col.start == -1) {
-                                assert col.end == -1;
-                                col.start = r;
-                            }
+                if (curr != '\n' && prev == '\n') {
+                    row = paths.compute("R" + r, computeRow(r));
+                }
 
-                            if (curr == '#') {
-                                row.closures.add(c);
-                                col.closures.add(r);
-                            }
-                        }
-                        case '\n' -> {
+                var col = paths.compute("C" + c, computeCol(c));
+                switch (curr) {
+                    case ' ' -> {
+                        if (row.start > -1 && row.end == -1) {
                             assert prev != ' ';
+                            assert c == end;
+                            row.end = c;
+                        }
+                        if (col.start > -1 && col.end == -1) {
+                            col.end = r;
+                        }
+                    }
+                    case '.', '#' -> {
+                        end = c;
+                        if (begin == 0) {
+                            begin = c;
+                        }
 
-                            // two consecutive new lines
-                            if (prev == '\n') {
-                                // terminate every unterminated col of the last row
-                                for (int i = begin; i <= end; i++) {
-                                    col = paths.get("C" + i);
-                                    if (col.end == -1) {
-                                        col.end = r - 1;
-                                    }
-                                }
+                        assert row.end == -1;
+                        if (row.start == -1) {
+                            row.start = c;
+                        }
 
-                                // break out of the loop so we can start processing the instructions next
-                                break map_read_loop;
-                            }
+                        if (col.start == -1) {
+                            assert col.end == -1;
+                            col.start = r;
+                        }
 
-                            // terminates every unterminated col of the last row
-                            if (prevEnd > 0) {
-                                assert r > 0;
-                                for (int i = c; i <= prevEnd; i++) {
-                                    col = paths.get("C" + i);
-                                    if (col.end == -1) {
-                                        col.end = r - 1;
-                                    }
+                        if (curr == '#') {
+                            row.closures.add(c);
+                            col.closures.add(r);
+                        }
+                    }
+                    case '\n' -> {
+                        assert prev != ' ';
+
+                        // two consecutive new lines
+                        if (prev == '\n') {
+                            // terminate every unterminated col of the last row
+                            for (int i = begin; i <= end; i++) {
+                                col = paths.get("C" + i);
+                                if (col.end == -1) {
+                                    col.end = r - 1;
                                 }
                             }
 
-                            // terminates the current row
-                            if (row.end == -1) {
-                                assert end == c - 1;
-                                row.end = end;
-                                prevEnd = end;
+                            // break out of the loop so we can start processing the instructions next
+                            break map_read_loop;
+                        }
+
+                        // terminates every unterminated col of the last row
+                        if (prevEnd > 0) {
+                            assert r > 0;
+                            for (int i = c; i <= prevEnd; i++) {
+                                col = paths.get("C" + i);
+                                if (col.end == -1) {
+                                    col.end = r - 1;
+                                }
                             }
+                        }
 
-                            r++;
-                            c = 0;
-                            begin = 0;
-                            continue;
+                        // terminates the current row
+                        if (row.end == -1) {
+                            assert end == c - 1;
+                            row.end = end;
+                            prevEnd = end;
                         }
+
+                        r++;
+                        c = 0;
+                        begin = 0;
+                        continue;
                     }
-                    c++; // pun not intended
                 }
+                c++; // pun not intended
+            }
 
-                // got here from the end of the map
-                assert scanner.hasNext();
+            // got here from the end of the map
+            assert input.hasRemaining();
 
-                // read the rest of the input
-                instructions = scanner.nextLine();
-            }
+            // read the rest of the input
+            instructions = input.nextLine().toString();
         }
 
         int crackPassword() {
@@ -221,25 +221,22 @@ public class Day22 {
             passive = paths.get("C" + active.start);
             facing = Direction.RIGHT;
 
-            try (var scanner = new Scanner(instructions)) {
-                scanner.useDelimiter("");
-                int n = 0;
-                while (scanner.hasNext()) {
-                    var c = scanner.next().charAt(0);
-                    switch (c) {
-                        case 'L', 'R' -> {
-                            move(n);
-                            n = 0;
-                            switchDirection(c);
-                        }
-                        default -> {
-                            assert Character.isDigit(c);
-                            n = (n * 10) + c - '0';
-                        }
+            int n = 0;
+            for (int i = 0; i < instructions.length(); i++) {
+                var c = instructions.charAt(i);
+                switch (c) {
+                    case 'L', 'R' -> {
+                        move(n);
+                        n = 0;
+                        switchDirection(c);
+                    }
+                    default -> {
+                        assert Character.isDigit(c);
+                        n = (n * 10) + c - '0';
                     }
                 }
-                move(n);
             }
+            move(n);
 
             return active.code() + passive.code() + facing.code;
         }
@@ -259,14 +256,14 @@ public class Day22 {
 
             // are we blocked *before* the end of the path?
             if (facing.factor == 1) {
-                var closure = active.closures.higher(startPos);
-                if (closure != null && endPos >= closure) {
+                var closure = active.closures.higher(startPos, Integer.MAX_VALUE);
+                if (endPos >= closure) {
                     endTurn(closure - 1);
                     return;
                 }
             } else if (facing.factor == -1) {
-                var closure = active.closures.lower(startPos);
-                if (closure != null && endPos <= closure) {
+                var closure = active.closures.lower(startPos, Integer.MIN_VALUE);
+                if (endPos <= closure) {
                     endTurn(closure + 1);
                     return;
                 }
@@ -277,10 +274,10 @@ public class Day22 {
             if (endPos > active.end && facing.factor == 1) {
                 int laps = (n - (active.end - startPos + 1)) / len;
                 endPos = active.start + ((startPos - active.start) + n) % len;
-                var closure = active.closures.ceiling(active.start);
+                var closure = active.closures.ceiling(active.start, Integer.MAX_VALUE);
 
                 // if the first tile is blocked, then we remain at the last tile
-                if (closure != null && closure.equals(active.start)) {
+                if (closure == active.start) {
                     endTurn(active.end);
                     return;
                 }
@@ -288,7 +285,8 @@ public class Day22 {
                 // if 1. more than one *full* lap, or;
                 // 2. a closure is met before the end position
                 // then we must stop on the position *prior* to the closure
-                if (!clearPath && endPos >= closure || laps > 0) {
+                // (a path without closures lets us go round as many times as needed)
+                if (!clearPath && (endPos >= closure || laps > 0)) {
                     endTurn(closure - 1);
                     return;
                 }
@@ -298,10 +296,10 @@ public class Day22 {
             if (endPos < active.start && facing.factor == -1) {
                 int laps = (n - (startPos - active.start + 1)) / len;
                 endPos = active.start + mod((startPos - active.start) - n, len);
-                var closure = active.closures.floor(active.end);
+                var closure = active.closures.floor(active.end, Integer.MIN_VALUE);
 
                 // if the last tile is blocked, then we remain at the first tile
-                if (closure != null && closure.equals(active.end)) {
+                if (closure == active.end) {
                     endTurn(active.start);
                     return;
                 }
@@ -309,7 +307,8 @@ public class Day22 {
                 // if 1. more than one *full* lap, or;
                 // 2. a closure is met before the end position
                 // then we must stop on the position *prior* to the closure
-                if (!clearPath && endPos <= closure || laps > 0) {
+                // (a path without closures lets us go round as many times as needed)
+                if (!clearPath && (endPos <= closure || laps > 0)) {
                     endTurn(closure + 1);
                     return;
                 }
@@ -349,7 +348,7 @@ public class Day22 {
         }
     }
 
-    static Reader puzzleInput() {
-        return new InputStreamReader(Day21.class.getResourceAsStream(INPUT));
+    static Reader puzzleInput() throws IOException {
+        return PuzzleInput.reader(22);
     }
 }
@@ -1,7 +1,6 @@
 package net.alexmiranda.adventofcode2022;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.ArrayList;
@@ -11,12 +10,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
-import java.util.Scanner;
 import java.util.stream.Collectors;
 
-public class Day23 {
-    private static final String INPUT = "/2022/day/23/input";
+import net.alexmiranda.adventofcode2022.events.MilestoneEvent;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day23 {
     private static final Rule[] RULES = new Rule[] {
             new Rule(Direction.N, Direction.NW, Direction.N, Direction.NE),
             new Rule(Direction.S, Direction.SW, Direction.S, Direction.SE),
@@ -89,26 +89,27 @@ public class Day23 {
     static class Grove {
         private final List<Elf> elves = new ArrayList<>();
         private int nextFirstRule = 0;
+        private int round = 0;
 
         record Result(boolean moved, int emptyTilesCount) {
         }
 
         Grove(Readable input) {
-            try (var scanner = new Scanner(input)) {
-                scanner.useDelimiter("");
-                int x = 0, y = 0;
-                while (scanner.hasNext()) {
-                    var c = scanner.next().charAt(0);
-                    switch (c) {
-                        case '#' -> elves.add(new Elf(x, y));
-                        case '\n' -> {
-                            x = 0;
-                            y++;
-                            continue;
-                        }
+            this(ByteCursor.read(input));
+        }
+
+        Grove(ByteCursor input) {
+            int x = 0, y = 0;
+            while (input.hasRemaining()) {
+                switch (input.next()) {
+                    case '#' -> elves.add(new Elf(x, y));
+                    case '\n' -> {
+                        x = 0;
+                        y++;
+                        continue;
                     }
-                    x++;
                 }
+                x++;
             }
         }
 
@@ -133,6 +134,8 @@ public class Day23 {
         }
 
         Result simulate(int firstRule) {
+            var event = new MilestoneEvent(23, "round");
+            event.begin();
             var proposals = new HashMap<Location, List<Elf>>(elves.size(), .9f);
             for (var elf : elves) {
                 elf.propose(elves, firstRule).ifPresent(loc -> {
@@ -147,7 +150,7 @@ public class Day23 {
                 ;
             }
 
-            var moved = false;
+            int moved = 0;
             for (var entry : proposals.entrySet()) {
                 if (entry.getValue().size() > 1) {
                     continue;
@@ -155,7 +158,14 @@ public class Day23 {
                 var elf = entry.getValue().get(0);
                 var loc = entry.getKey();
                 elf.move(loc);
-                moved = true;
+                moved++;
+            }
+
+            round++;
+            if (event.shouldCommit()) {
+                event.iteration = round;
+                event.value = moved;
+                event.commit();
             }
 
             int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
@@ -169,7 +179,7 @@ public class Day23 {
 
             var w = maxX - minX + 1;
             var h = maxY - minY + 1;
-            return new Result(moved, w * h - elves.size());
+            return new Result(moved > 0, w * h - elves.size());
         }
 
         void print(Writer w) throws IOException {
@@ -199,7 +209,7 @@ public class Day23 {
         }
     }
 
-    static Reader puzzleInput() {
-        return new InputStreamReader(Day23.class.getResourceAsStream(INPUT));
+    static Reader puzzleInput() throws IOException {
+        return PuzzleInput.reader(23);
     }
 }
@@ -1,22 +1,22 @@
 package net.alexmiranda.adventofcode2022;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Writer;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.PriorityQueue;
-import java.util.Scanner;
 
-public class Day24 {
-    private static final String INPUT = "/2022/day/24/input";
+import net.alexmiranda.adventofcode2022.collections.LongHashSet;
+import net.alexmiranda.adventofcode2022.grid.ByteGrid;
+import net.alexmiranda.adventofcode2022.grid.FlatGrid;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+import net.alexmiranda.adventofcode2022.metrics.Counter;
+import net.alexmiranda.adventofcode2022.metrics.Gauge;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+import net.alexmiranda.adventofcode2022.search.Anytime;
+import net.alexmiranda.adventofcode2022.search.Budget;
 
+public class Day24 {
     static class Valley {
         // @formatter:off
         private static final byte CLEAR     = 0b000_0000;
@@ -27,63 +27,45 @@ public class Day24 {
         private static final byte WALL      = 0b001_1111;
         // @formatter:on
 
-        private final HashMap<Integer, byte[]> precomputed;
-        private final byte[] data;
+        private static final Counter STATES = Metrics.counter("day24.states");
+        private static final Gauge SEEN_SIZE = Metrics.gauge("day24.seen.size");
+        private static final Gauge QUEUE_SIZE = Metrics.gauge("day24.queue.size");
+        private static final Counter BLIZZARD_MOVES = Metrics.counter("day24.blizzard.moves");
+
+        // the valley is padded with walls as well, so that neither the start nor the finish
+        // positions need bounds checks when looking north or south of them
+        private final ByteGrid[] precomputed;
+        private final ByteGrid grid;
         private final int length;
         private final int width;
-        private final int numberOfBlizzards;
         private final int cycleSize;
+        private final int[] offsets;
 
         final int startPos;
         final int finishPos;
 
         Valley(Readable input) {
-            int length = 0, width = 0;
-            var data = new ArrayList<Byte>();
-            try (var scanner = new Scanner(input)) {
-                scanner.useDelimiter("");
-                var prev = '\0';
-                while (scanner.hasNext()) {
-                    var curr = scanner.next().charAt(0);
-                    if (prev == '\n') {
-                        data.ensureCapacity((length + 1) * width);
-                    }
-                    switch (curr) {
-                        case '#' -> data.add(WALL);
-                        case '.' -> data.add(CLEAR);
-                        case '^' -> data.add(NORTHWARD);
-                        case '>' -> data.add(EASTWARD);
-                        case 'v' -> data.add(SOUTHWARD);
-                        case '<' -> data.add(WESTWARD);
-                        case '\n' -> {
-                            length++;
-                            width = data.size() / length;
-                        }
-                        default -> throw new IllegalArgumentException("input should not contain: " + curr);
-                    }
-                    prev = curr;
-                }
-            }
-
-            this.length = length;
-            this.width = width;
-            this.data = new byte[data.size()];
-
-            int numberOfBlizzards = 0;
-            for (int i = 0; i < this.data.length; i++) {
-                var b = data.get(i).byteValue();
-                this.data[i] = b;
-                if (b != CLEAR && b != WALL) {
-                    numberOfBlizzards++;
-                }
-            }
+            this(ByteCursor.read(input));
+        }
 
-            this.numberOfBlizzards = numberOfBlizzards;
-            this.startPos = 1;
-            this.finishPos = length * width - 2;
+        Valley(ByteCursor input) {
+            this.grid = ByteGrid.parse(input, 1, WALL, curr -> switch (curr) {
+                case '#' -> WALL;
+                case '.' -> CLEAR;
+                case '^' -> NORTHWARD;
+                case '>' -> EASTWARD;
+                case 'v' -> SOUTHWARD;
+                case '<' -> WESTWARD;
+                default -> throw new IllegalArgumentException("input should not contain: " + curr);
+            });
+            this.length = grid.rows();
+            this.width = grid.cols();
+            this.offsets = grid.orthogonalOffsets();
+            this.startPos = grid.index(0, 1);
+            this.finishPos = grid.index(length - 1, width - 2);
             this.cycleSize = lcm(length - 2, width - 2);
-            this.precomputed = new HashMap<>(cycleSize);
-            this.precomputed.put(0, this.data);
+            this.precomputed = new ByteGrid[cycleSize];
+            this.precomputed[0] = grid;
         }
 
         int shortestTime() {
@@ -105,6 +87,13 @@ public class Day24 {
         }
 
         int shortestTime(int timeElapsed, int beginAt, int goal) {
+            return shortestTime(timeElapsed, beginAt, goal, Budget.unlimited()).orElseThrow();
+        }
+
+        // the first time the goal comes out of the queue is the shortest, so there's no answer
+        // short of the optimal one: a search stopped earlier hasn't found any
+        Anytime shortestTime(int timeElapsed, int beginAt, int goal, Budget budget) {
+            var probe = budget.probe();
             record Iteration(int pos, int minute, int distance) implements Comparable<Iteration> {
                 @Override
                 public int compareTo(Iteration other) {
@@ -117,213 +106,143 @@ public class Day24 {
             }
 
             var queue = new PriorityQueue<Iteration>();
-            var seen = new HashSet<Iteration>();
+            // the positions visited at every minute, the minute in the high half
+            var seen = new LongHashSet(1 << 12);
             var it = new Iteration(beginAt, timeElapsed, manhattanDistance(beginAt, goal));
             queue.add(it);
-            seen.add(it);
+            seen.add(state(it.pos, it.minute));
 
             while (!queue.isEmpty()) {
+                if (probe.exhausted()) {
+                    SEEN_SIZE.record(seen.size());
+                    return Anytime.of(Anytime.NONE, probe);
+                }
+                QUEUE_SIZE.record(queue.size());
+                STATES.increment();
                 it = queue.poll();
 
                 // if it's the goal position, we basically arrived at the destination
                 // with the shortest amount of steps, guaranteedly
                 if (it.pos == goal) {
-                    return it.minute - timeElapsed;
+                    SEEN_SIZE.record(seen.size());
+                    return Anytime.of(it.minute - timeElapsed, probe);
                 }
 
                 var minute = it.minute + 1;
-                var data = getDataAt(minute);
-
-                // consider going to one of the neighbouring positions...
-                var neighbours = neighbours(it.pos, data);
-                for (var neighbour : neighbours) {
-                    if (data[neighbour] == CLEAR) {
-                        var next = new Iteration(neighbour, minute, manhattanDistance(neighbour, goal));
-                        if (seen.add(next)) {
-                            queue.add(next);
-                        }
+                var data = getDataAt(minute).cells();
+
+                // consider going to one of the neighbouring positions, unlike blizzards the
+                // expedition cannot "re-appear" on the opposite side of the valley, so it
+                // can only go where there's no wall (the padding included)...
+                for (var offset : offsets) {
+                    var neighbour = it.pos + offset;
+                    if (data[neighbour] == CLEAR && seen.add(state(neighbour, minute))) {
+                        queue.add(new Iteration(neighbour, minute, manhattanDistance(neighbour, goal)));
                     }
                 }
 
                 // consider remaining in the same position, if it's not occupied
-                if (data[it.pos] == CLEAR) {
-                    var next = new Iteration(it.pos, minute, it.distance);
-                    if (seen.add(next)) {
-                        queue.add(next);
-                    }
+                if (data[it.pos] == CLEAR && seen.add(state(it.pos, minute))) {
+                    queue.add(new Iteration(it.pos, minute, it.distance));
                 }
             }
 
             throw new RuntimeException("Impossible to reach the destination!");
         }
 
-        private byte[] getDataAt(int minute) {
-            if (minute >= cycleSize) {
-                return precomputed.get(minute % cycleSize);
+        private static long state(int pos, int minute) {
+            return (long) minute << 32 | pos;
+        }
+
+        private ByteGrid getDataAt(int minute) {
+            int key = minute % cycleSize;
+            var data = precomputed[key];
+            if (data == null) {
+                data = moveBlizzards(getDataAt(key - 1));
+                precomputed[key] = data;
             }
-            return precomputed.computeIfAbsent(minute, (key) -> {
-                var prev = precomputed.get(key - 1);
-                return moveBlizzards(prev);
-            });
+            return data;
         }
 
         void moveBlizzards() {
-            var newData = moveBlizzards(this.data);
-            System.arraycopy(newData, 0, this.data, 0, newData.length);
+            var newData = moveBlizzards(this.grid);
+            System.arraycopy(newData.cells(), 0, this.grid.cells(), 0, newData.size());
         }
 
-        byte[] moveBlizzards(byte[] data) {
-            assert data != null && data.length == length * width;
-            // create a copy of the data to work with
-            data = Arrays.copyOf(data, data.length);
-
-            record Move(int pos, byte blizzard) {
-            }
+        ByteGrid moveBlizzards(ByteGrid grid) {
+            assert grid.rows() == length && grid.cols() == width;
+            BLIZZARD_MOVES.increment();
+            var data = grid.cells();
+            var moved = grid.copy();
+            var next = moved.cells();
 
             // we know that in the first and last columns inside the external walls
             // where the start and finish positions are located, do NOT contain a
             // start or finish positions.
-            // we start by collecting every blizzard we need to visit...
-            int area = length * width;
-            var queue = new ArrayDeque<Move>(numberOfBlizzards);
-            for (int pos = width; pos < area - width - 1; pos++) {
-                if (data[pos] != CLEAR && data[pos] != WALL) {
-                    queue.add(new Move(pos, data[pos]));
+            // blizzards heading the same way move in lockstep and never run into each
+            // other, so every one of them can simply be added to its target position
+            for (int row = 1; row < length - 1; row++) {
+                int pos = grid.index(row, 1);
+                for (int col = 1; col < width - 1; col++, pos++) {
+                    next[pos] = CLEAR;
                 }
             }
-
-            while (!queue.isEmpty()) {
-                var move = queue.pop();
-                assert move.blizzard != CLEAR && move.blizzard != WALL;
-
-                byte pending = CLEAR;
-                pending |= tryMove(move.pos, move.blizzard, NORTHWARD, data);
-                pending |= tryMove(move.pos, move.blizzard, EASTWARD, data);
-                pending |= tryMove(move.pos, move.blizzard, SOUTHWARD, data);
-                pending |= tryMove(move.pos, move.blizzard, WESTWARD, data);
-
-                // if we can't move all of the blizzards in this position at once, we need to
-                // re-visit it later...
-                if (pending != CLEAR) {
-                    queue.add(new Move(move.pos, pending));
+            for (int row = 1; row < length - 1; row++) {
+                int pos = grid.index(row, 1);
+                for (int col = 1; col < width - 1; col++, pos++) {
+                    byte blizzards = data[pos];
+                    if (blizzards == CLEAR) {
+                        continue;
+                    }
+                    if ((blizzards & NORTHWARD) != 0) {
+                        next[targetPosition(pos, NORTHWARD, data)] |= NORTHWARD;
+                    }
+                    if ((blizzards & EASTWARD) != 0) {
+                        next[targetPosition(pos, EASTWARD, data)] |= EASTWARD;
+                    }
+                    if ((blizzards & SOUTHWARD) != 0) {
+                        next[targetPosition(pos, SOUTHWARD, data)] |= SOUTHWARD;
+                    }
+                    if ((blizzards & WESTWARD) != 0) {
+                        next[targetPosition(pos, WESTWARD, data)] |= WESTWARD;
+                    }
                 }
             }
 
-            return data;
-        }
-
-        byte tryMove(int pos, byte blizzard, byte direction, byte[] data) {
-            // check if pos contains a blizzard facing the direction
-            if ((blizzard & direction) != direction) {
-                return 0;
-            }
-
-            var target = targetPosition(pos, direction, data);
-            if ((data[target] & direction) == direction) {
-                // there is a conflict with another blizzard in the target
-                // position, thus we need to mark this blizzard to be
-                // re-visited later
-                return direction;
-            }
-
-            // move blizzard to target position
-            data[target] |= direction;
-            data[pos] ^= direction;
-            return 0;
+            return moved;
         }
 
         int manhattanDistance(int from, int dest) {
-            var x1 = from % length;
-            var y1 = from / length;
-            var x2 = dest % length;
-            var y2 = dest / length;
-            return Math.abs(y2 - y1) + Math.abs(x2 - x1);
-        }
-
-        List<Integer> neighbours(int pos, byte[] data) {
-            if (pos == startPos) {
-                // the start position has only one single valid neighbour
-                return Collections.singletonList(targetPosition(pos, SOUTHWARD, data));
-            }
-
-            if (pos == finishPos) {
-                // equally the finish position has also only one single valid neighbour
-                return List.of(targetPosition(pos, NORTHWARD, data));
-            }
-
-            var neighbours = new ArrayList<Integer>(4);
-            int row = pos / width;
-            int col = pos % width;
-
-            // unlike blizzards, the expedition cannot "re-appear" on the opposite side of
-            // the valley so we need to make sure that in order to be able to move NORTH, we
-            // need to be in the SECOND row or after
-            if (row >= 2) {
-                var target = targetPosition(pos, NORTHWARD, data);
-                assert data[target] != WALL && target == pos - width;
-                neighbours.add(target);
-            } else if (pos == startPos + width) {
-                // exceptionally, if we are in the position directly south of the start
-                // position, we should be able to move north back to the start position
-                neighbours.add(startPos);
-            }
-
-            // to move EAST, we need to be in the SECOND TO LAST column or before
-            if (col < width - 2) {
-                var target = targetPosition(pos, EASTWARD, data);
-                assert data[target] != WALL && target == pos + 1;
-                neighbours.add(target);
-            }
-
-            // to move SOUTH, we need to be in the SECOND TO LAST row or before
-            if (row < length - 2) {
-                var target = targetPosition(pos, SOUTHWARD, data);
-                assert data[target] != WALL && target == pos + width;
-                neighbours.add(target);
-            } else if (pos == finishPos - width) {
-                // exceptionally, if we are in the position directly north of the finish
-                // position, we should be able to move south back to the finish position
-                neighbours.add(finishPos);
-            }
-
-            // to move WEST, we need to be in the SECOND column or after
-            if (col >= 2) {
-                var target = targetPosition(pos, WESTWARD, data);
-                assert data[target] != WALL && target == pos - 1;
-                neighbours.add(target);
-            }
-
-            return Collections.unmodifiableList(neighbours);
+            return Math.abs(grid.row(dest) - grid.row(from)) + Math.abs(grid.col(dest) - grid.col(from));
         }
 
         int targetPosition(int pos, byte direction, byte[] data) {
-            int area = length * width;
             return switch (direction) {
                 case NORTHWARD -> {
-                    var target = pos - width;
+                    var target = pos + offsets[FlatGrid.NORTH];
                     if (data[target] == WALL) {
-                        target = area - width - (width - (pos % width));
+                        target = grid.index(length - 2, grid.col(pos));
                     }
                     yield target;
                 }
                 case EASTWARD -> {
-                    var target = pos + 1;
+                    var target = pos + offsets[FlatGrid.EAST];
                     if (data[target] == WALL) {
-                        target = pos - width + 3;
+                        target = grid.index(grid.row(pos), 1);
                     }
                     yield target;
                 }
                 case SOUTHWARD -> {
-                    var target = pos + width;
+                    var target = pos + offsets[FlatGrid.SOUTH];
                     if (data[target] == WALL) {
-                        target = width + (pos % width);
+                        target = grid.index(1, grid.col(pos));
                     }
                     yield target;
                 }
                 case WESTWARD -> {
-                    var target = pos - 1;
+                    var target = pos + offsets[FlatGrid.WEST];
                     if (data[target] == WALL) {
-                        target = pos + width - 3;
+                        target = grid.index(grid.row(pos), width - 2);
                     }
                     yield target;
                 }
@@ -341,23 +260,24 @@ public class Day24 {
         }
 
         void print(Writer w) throws IOException {
-            print(w, data, width);
+            print(w, grid);
         }
 
-        static void print(Writer w, byte[] data, int width) throws IOException {
-            for (int i = 0; i < data.length; i++) {
-                w.write(switch (data[i]) {
-                    case WALL -> '#';
-                    case CLEAR -> '.';
-                    case NORTHWARD -> '^';
-                    case EASTWARD -> '>';
-                    case SOUTHWARD -> 'v';
-                    case WESTWARD -> '<';
-                    default -> '0' + countBlizzards(data[i]);
-                });
-                if ((i + 1) % width == 0) {
-                    w.write('\n');
+        static void print(Writer w, ByteGrid grid) throws IOException {
+            for (int row = 0; row < grid.rows(); row++) {
+                for (int col = 0; col < grid.cols(); col++) {
+                    var cell = grid.get(row, col);
+                    w.write(switch (cell) {
+                        case WALL -> '#';
+                        case CLEAR -> '.';
+                        case NORTHWARD -> '^';
+                        case EASTWARD -> '>';
+                        case SOUTHWARD -> 'v';
+                        case WESTWARD -> '<';
+                        default -> '0' + countBlizzards(cell);
+                    });
                 }
+                w.write('\n');
             }
         }
 
@@ -384,12 +304,12 @@ public class Day24 {
             return this.width;
         }
 
-        byte[] data() {
-            return this.data;
+        ByteGrid data() {
+            return this.grid;
         }
     }
 
-    static Reader puzzleInput() {
-        return new InputStreamReader(Day24.class.getResourceAsStream(INPUT));
+    static Reader puzzleInput() throws IOException {
+        return PuzzleInput.reader(24);
     }
 }
@@ -1,12 +1,14 @@
 package net.alexmiranda.adventofcode2022;
 
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Reader;
 import java.util.Scanner;
+import java.util.concurrent.Flow;
 
-public class Day25 {
-    private static final String INPUT = "/2022/day/25/input";
+import net.alexmiranda.adventofcode2022.flow.Fold;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day25 {
     static class SNAFU {
         static final SNAFU ZERO = new SNAFU("0", 0);
 
@@ -89,7 +91,11 @@ public class Day25 {
         return result;
     }
 
-    static Reader puzzleInput() {
-        return new InputStreamReader(Day25.class.getResourceAsStream(INPUT));
+    static SNAFU sumOf(Flow.Publisher<String> lines) {
+        return SNAFU.fromLong(Fold.sum(lines, line -> SNAFU.fromString(line).longValue()));
+    }
+
+    static Reader puzzleInput() throws IOException {
+        return PuzzleInput.reader(25);
     }
 }
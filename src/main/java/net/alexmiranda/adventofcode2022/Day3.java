@@ -4,35 +4,70 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+import net.alexmiranda.adventofcode2022.flow.Fold;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.MappedInput;
+import net.alexmiranda.adventofcode2022.io.Pieces;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
 public class Day3 {
-    private static final String INPUT = "2022/Day/3/input";
+    // holds on to the rucksacks of a group until its third elf comes along
+    static class Groups {
+        private final String[] group = new String[3];
+        private int size = 0;
+        private long sum = 0;
+
+        void accept(String line) {
+            group[size++] = line;
+            if (size == group.length) {
+                sum += commonGroupPriority(group);
+                size = 0;
+            }
+        }
+
+        long sum() {
+            assert size == 0 : "incomplete group of " + size + " elves";
+            return sum;
+        }
+    }
 
     public static int sumOfPriorities() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(3);
         try (var lines = Files.lines(path)) {
-            return lines.mapToInt(Day3::commonItemsPriority).sum();
+            return sumOfPriorities(lines);
         }
     }
 
+    static int sumOfPriorities(Stream<String> lines) {
+        return lines.mapToInt(Day3::commonItemsPriority).sum();
+    }
+
+    static long sumOfPriorities(Flow.Publisher<String> lines) {
+        return Fold.sum(lines, Day3::commonItemsPriority);
+    }
+
     public static int sumOfGroupPriorities() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(3);
         try (var lines = Files.lines(path)) {
-            var counter = new AtomicInteger(-1);
-            var map = lines.collect(
-                    Collectors.groupingBy(g -> counter.incrementAndGet() / 3,
-                            Collectors.collectingAndThen(Collectors.toList(), l -> l.toArray(new String[3]))));
-
-            return map
-                    .values()
-                    .stream()
-                    .mapToInt(Day3::commonGroupPriority)
-                    .sum();
+            return sumOfGroupPriorities(lines);
         }
     }
 
+    static int sumOfGroupPriorities(Stream<String> lines) {
+        var groups = new Groups();
+        lines.forEachOrdered(groups::accept);
+        return Math.toIntExact(groups.sum());
+    }
+
+    static long sumOfGroupPriorities(Flow.Publisher<String> lines) {
+        var groups = new Groups();
+        return Fold.fold(lines, groups::accept, groups::sum);
+    }
+
     static int commonItemsPriority(String line) {
         assert line.length() % 2 == 0 : "odd number of characters: " + line;
         int middle = line.length() / 2;
@@ -70,4 +105,171 @@ public class Day3 {
         }
         return 26 + toPriority(Character.toLowerCase(i));
     }
+
+    // the set of items in a compartment or rucksack as a mask of 52 bits, a to z at bits 0 to
+    // 25 and A to Z at bits 26 to 51, so that the priority of an item is its bit plus one
+    private static final long[] ITEMS = new long[256];
+
+    static {
+        for (int c = 'a'; c <= 'z'; c++) {
+            ITEMS[c] = 1L << (c - 'a');
+            ITEMS[Character.toUpperCase(c)] = 1L << (c - 'a' + 26);
+        }
+    }
+
+    static long items(ByteCursor line, int from, int to) {
+        long mask = 0;
+        for (int i = from; i < to; i++) {
+            long item = ITEMS[line.get(i) & 0xff];
+            if (item == 0) {
+                throw new IllegalArgumentException("invalid item '" + (char) line.get(i) + "' at " + i);
+            }
+            mask |= item;
+        }
+        return mask;
+    }
+
+    // the sum of the priorities of the items in the mask
+    static int priorities(long mask) {
+        int sum = 0;
+        while (mask != 0) {
+            sum += Long.numberOfTrailingZeros(mask) + 1;
+            mask &= mask - 1;
+        }
+        return sum;
+    }
+
+    // the masked versions of both parts, reading the lines straight from the bytes without
+    // moving the cursor
+    static long sumOfPriorities(ByteCursor input) {
+        var rest = input.slice(input.position(), input.limit());
+        var line = new ByteCursor();
+        long sum = 0;
+        while (rest.nextLine(line)) {
+            int from = line.position(), length = line.remaining();
+            if (length == 0) {
+                continue;
+            }
+            if (length % 2 != 0) {
+                throw new IllegalArgumentException("odd number of items at " + from);
+            }
+            int middle = from + length / 2;
+            sum += priorities(items(line, from, middle) & items(line, middle, line.limit()));
+        }
+        return sum;
+    }
+
+    // only the items common to the elves of the group so far are kept, so a group takes a
+    // single long however long their rucksacks are
+    static long sumOfGroupPriorities(ByteCursor input) {
+        var rest = input.slice(input.position(), input.limit());
+        var line = new ByteCursor();
+        long sum = 0, common = 0;
+        int elves = 0;
+        while (rest.nextLine(line)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            long items = items(line, line.position(), line.limit());
+            common = elves == 0 ? items : common & items;
+            if (++elves == 3) {
+                sum += priorities(common);
+                elves = 0;
+            }
+        }
+        if (elves != 0) {
+            throw new IllegalArgumentException("incomplete group of " + elves + " elves");
+        }
+        return sum;
+    }
+
+    // what a piece of the rucksacks makes of the groups, knowing how many of its first lines
+    // finish a group started before it: the items common to those lines, the priorities of
+    // the groups found whole in it, and the items common to its last lines, of a group
+    // finished after it
+    record Fragment(long lead, int leadLines, long sum, long tail, int tailLines) {
+    }
+
+    // the group priorities of a file of any size, split into pieces (see io.Pieces). The
+    // pieces first count their lines, all at the same time, so that each of them knows where
+    // the groups start in it, and then score them; the few groups split between two pieces
+    // are put back together at the end
+    public static long sumOfGroupPriorities(Path path, int threads) throws IOException {
+        return sumOfGroupPriorities(MappedInput.map(path, MappedInput.MAX_SEGMENT_SIZE), threads);
+    }
+
+    static long sumOfGroupPriorities(List<ByteCursor> segments, int threads) {
+        var pieces = Pieces.split(segments, threads);
+        var counts = Pieces.map(pieces, threads, (piece, i) -> lines(piece));
+        var skips = new int[pieces.size()];
+        long before = 0;
+        for (int i = 0; i < skips.length; i++) {
+            skips[i] = (int) ((3 - before % 3) % 3);
+            before += counts.get(i);
+        }
+        if (before % 3 != 0) {
+            throw new IllegalArgumentException("incomplete group of " + before % 3 + " elves");
+        }
+        return join(Pieces.map(pieces, threads, (piece, i) -> fragment(piece, skips[i])));
+    }
+
+    // the lines that hold a rucksack
+    static long lines(ByteCursor piece) {
+        var rest = piece.slice(piece.position(), piece.limit());
+        var line = new ByteCursor();
+        long lines = 0;
+        while (rest.nextLine(line)) {
+            if (!line.isEmpty()) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    static Fragment fragment(ByteCursor piece, int skip) {
+        var rest = piece.slice(piece.position(), piece.limit());
+        var line = new ByteCursor();
+        long lead = 0, sum = 0, common = 0;
+        int leadLines = 0, elves = 0;
+        while (rest.nextLine(line)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            long items = items(line, line.position(), line.limit());
+            if (leadLines < skip) {
+                lead = leadLines++ == 0 ? items : lead & items;
+                continue;
+            }
+            common = elves == 0 ? items : common & items;
+            if (++elves == 3) {
+                sum += priorities(common);
+                elves = 0;
+            }
+        }
+        return new Fragment(lead, leadLines, sum, common, elves);
+    }
+
+    // adds up the groups of every fragment, and those split between fragments, which take the
+    // last lines of one and the first lines of the next (or of more of them, for pieces of
+    // fewer than three lines)
+    static long join(List<Fragment> fragments) {
+        long sum = 0, common = 0;
+        int elves = 0;
+        for (var fragment : fragments) {
+            if (fragment.leadLines() > 0) {
+                common = elves == 0 ? fragment.lead() : common & fragment.lead();
+                elves += fragment.leadLines();
+                if (elves == 3) {
+                    sum += priorities(common);
+                    elves = 0;
+                }
+            }
+            sum += fragment.sum();
+            if (fragment.tailLines() > 0) {
+                common = fragment.tail();
+                elves = fragment.tailLines();
+            }
+        }
+        return sum;
+    }
 }
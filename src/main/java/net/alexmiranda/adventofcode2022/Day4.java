@@ -4,27 +4,51 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
-public class Day4 {
-    private static final String INPUT = "2022/Day/4/input";
+import net.alexmiranda.adventofcode2022.collections.IntervalIndex;
+import net.alexmiranda.adventofcode2022.flow.Fold;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.MappedInput;
+import net.alexmiranda.adventofcode2022.io.Pieces;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day4 {
     record AssignmentPair(int a1, int a2, int b1, int b2) {
     }
 
     public static long countAssignmentsFullyContained() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(4);
         try (var lines = Files.lines(path)) {
-            return lines.filter(Day4::fullyContained).count();
+            return countAssignmentsFullyContained(lines);
         }
     }
 
+    static long countAssignmentsFullyContained(Stream<String> lines) {
+        return lines.filter(Day4::fullyContained).count();
+    }
+
+    static long countAssignmentsFullyContained(Flow.Publisher<String> lines) {
+        return Fold.sum(lines, line -> fullyContained(line) ? 1 : 0);
+    }
+
     public static long countAssignmentsOverlapping() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(4);
         try (var lines = Files.lines(path)) {
-            return lines.filter(Day4::overlap).count();
+            return countAssignmentsOverlapping(lines);
         }
     }
 
+    static long countAssignmentsOverlapping(Stream<String> lines) {
+        return lines.filter(Day4::overlap).count();
+    }
+
+    static long countAssignmentsOverlapping(Flow.Publisher<String> lines) {
+        return Fold.sum(lines, line -> overlap(line) ? 1 : 0);
+    }
+
     static boolean fullyContained(String line) {
         var p = parseAssignmentPair(line);
         return (p.a1 >= p.b1 && p.a2 <= p.b2) || (p.b1 >= p.a1 && p.b2 <= p.a2);
@@ -48,4 +72,106 @@ public class Day4 {
         int b2 = Integer.parseInt(line.substring(lastSep + 1, line.length()));
         return new AssignmentPair(a1, a2, b1, b2);
     }
+
+    // gets the sections of every pair as they're parsed, without them being kept anywhere
+    interface PairConsumer {
+        void accept(int a1, int a2, int b1, int b2);
+    }
+
+    // both answers, counted in the same pass
+    record Counts(long contained, long overlapping) {
+        Counts plus(Counts other) {
+            return new Counts(contained + other.contained, overlapping + other.overlapping);
+        }
+    }
+
+    private static final class Counter implements PairConsumer {
+        long contained, overlapping;
+
+        @Override
+        public void accept(int a1, int a2, int b1, int b2) {
+            if ((a1 >= b1 && a2 <= b2) || (b1 >= a1 && b2 <= a2)) {
+                contained++;
+            }
+            if (a1 <= b2 && b1 <= a2) {
+                overlapping++;
+            }
+        }
+    }
+
+    // both counts of a list of assignments of any size, every piece of it (see io.Pieces)
+    // counted at the same time and added up at the end
+    public static Counts count(Path path, int threads) throws IOException {
+        return count(MappedInput.map(path, MappedInput.MAX_SEGMENT_SIZE), threads);
+    }
+
+    static Counts count(List<ByteCursor> segments, int threads) {
+        var pieces = Pieces.split(segments, threads);
+        return Pieces.mapReduce(pieces, threads, (piece, i) -> count(piece), new Counts(0, 0), Counts::plus);
+    }
+
+    static Counts count(ByteCursor input) {
+        var counter = new Counter();
+        parse(input, counter);
+        return new Counts(counter.contained, counter.overlapping);
+    }
+
+    // decodes the four sections of every "a1-a2,b1-b2" line straight from the bytes, without
+    // moving the cursor, and hands them over to the consumer
+    static void parse(ByteCursor input, PairConsumer consumer) {
+        int a1 = 0, a2 = 0, b1 = 0, n = 0;
+        // the section being read, and whether it has got any digits yet
+        int field = 0;
+        boolean digits = false;
+        for (int i = input.position(), limit = input.limit(); i <= limit; i++) {
+            byte b = i < limit ? input.get(i) : (byte) '\n';
+            if (b >= '0' && b <= '9') {
+                n = Math.addExact(Math.multiplyExact(n, 10), b - '0');
+                digits = true;
+                continue;
+            }
+            if (b == '\r') {
+                continue;
+            }
+            if (b == '\n' && field == 0 && !digits) {
+                // a blank line
+                continue;
+            }
+            if (!digits || b != (field == 1 ? ',' : field == 3 ? '\n' : '-')) {
+                throw new IllegalArgumentException("invalid assignment pair at " + i);
+            }
+            switch (field) {
+                case 0 -> a1 = n;
+                case 1 -> a2 = n;
+                case 2 -> b1 = n;
+                default -> consumer.accept(a1, a2, b1, n);
+            }
+            field = (field + 1) & 3;
+            n = 0;
+            digits = false;
+        }
+    }
+
+    // every elf of the roster as the interval of its sections, the first elf of the pair on the
+    // line n (from 0, not counting blank lines) numbered 2n and the second one 2n + 1, indexed
+    // for the elves whose sections overlap a given one or range of them
+    public static IntervalIndex index(Path path) throws IOException {
+        var index = new IntervalIndex(1024);
+        for (var segment : MappedInput.map(path, MappedInput.MAX_SEGMENT_SIZE)) {
+            index(segment, index);
+        }
+        return index;
+    }
+
+    static IntervalIndex index(ByteCursor input) {
+        return index(input, new IntervalIndex(1024));
+    }
+
+    private static IntervalIndex index(ByteCursor input, IntervalIndex index) {
+        parse(input, (a1, a2, b1, b2) -> {
+            index.add(a1, a2);
+            index.add(b1, b2);
+        });
+        return index;
+    }
 }
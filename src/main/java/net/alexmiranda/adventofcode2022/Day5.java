@@ -6,18 +6,19 @@ import java.io.Reader;
 import java.net.URISyntaxException;
 import java.nio.CharBuffer;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Stack;
 
-public class Day5 {
-    private static final String INPUT = "2022/Day/5/input";
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day5 {
     public static Reader getInputFile() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(5);
         return Files.newBufferedReader(path);
     }
 
@@ -176,4 +177,154 @@ public class Day5 {
             return stack.get(stack.size() - 1);
         }
     }
+
+    // the same cranes, with every stack a growable array of chars found by its number rather
+    // than a collection of boxed crates found by its id, so moving crates around allocates
+    // nothing unless a stack has to grow. The CrateMover 9001 moves crates with a single
+    // arraycopy, and the 9000 one by one in reverse order
+    public static final class CharArrayCrateMover {
+        private final boolean allAtOnce;
+        // the number of the stack of every id, or -1
+        private final int[] numbers = new int[128];
+        private char[] ids = new char[0];
+        private char[][] stacks = new char[0][];
+        private int[] sizes = new int[0];
+
+        private CharArrayCrateMover(boolean allAtOnce) {
+            this.allAtOnce = allAtOnce;
+            Arrays.fill(numbers, -1);
+        }
+
+        public static CharArrayCrateMover crateMover9000() {
+            return new CharArrayCrateMover(false);
+        }
+
+        public static CharArrayCrateMover crateMover9001() {
+            return new CharArrayCrateMover(true);
+        }
+
+        // loads the stacks drawn at the start of the input, and leaves the cursor at the
+        // rearrangement procedure that follows them
+        public void load(ByteCursor input) {
+            var rows = new ArrayList<ByteCursor>();
+            var line = new ByteCursor();
+            while (input.nextLine(line) && !line.isEmpty()) {
+                rows.add(line.slice(line.position(), line.limit()));
+            }
+            if (rows.isEmpty()) {
+                throw new IllegalArgumentException("no stacks to load");
+            }
+            var header = rows.remove(rows.size() - 1);
+            int count = (header.remaining() + 2) / 4;
+            ids = new char[count];
+            stacks = new char[count][];
+            sizes = new int[count];
+            Arrays.fill(numbers, -1);
+            for (int i = 0; i < count; i++) {
+                char id = (char) header.get(header.position() + 1 + 4 * i);
+                if (id >= numbers.length || numbers[id] >= 0) {
+                    throw new IllegalArgumentException("invalid stack id: " + id);
+                }
+                ids[i] = id;
+                numbers[id] = i;
+                stacks[i] = new char[Math.max(8, rows.size() * 2)];
+            }
+            // bottom up
+            for (int r = rows.size() - 1; r >= 0; r--) {
+                var row = rows.get(r);
+                for (int i = 0, n = row.position() + 1; i < count && n < row.limit(); i++, n += 4) {
+                    byte crate = row.get(n);
+                    if (crate != ' ') {
+                        push(i, (char) crate);
+                    }
+                }
+            }
+        }
+
+        // follows every "move n from a to b" instruction of the input
+        public void rearrange(ByteCursor instructions) {
+            var line = new ByteCursor();
+            while (instructions.nextLine(line)) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int n = line.nextInt();
+                move(n, id(line), id(line));
+            }
+        }
+
+        // the id of the next stack of the instruction, the token after the next space but one
+        private static char id(ByteCursor line) {
+            if (!line.skipTo((byte) ' ') || !line.skipTo((byte) ' ') || line.isEmpty()) {
+                throw new IllegalArgumentException("invalid instruction: " + line);
+            }
+            return (char) line.next();
+        }
+
+        public void move(int n, char from, char to) {
+            move(n, number(from), number(to));
+        }
+
+        private void move(int n, int from, int to) {
+            if (n > sizes[from]) {
+                throw new IllegalStateException("stack " + ids[from] + " has got " + sizes[from] + " crates only, "
+                        + n + " to move");
+            }
+            if (from == to) {
+                // taken off and put back on the same stack, one at a time or all at once
+                return;
+            }
+            ensureCapacity(to, sizes[to] + n);
+            var src = stacks[from];
+            var dest = stacks[to];
+            int start = sizes[from] - n;
+            if (allAtOnce) {
+                System.arraycopy(src, start, dest, sizes[to], n);
+            } else {
+                for (int i = sizes[from] - 1, j = sizes[to]; i >= start; i--, j++) {
+                    dest[j] = src[i];
+                }
+            }
+            sizes[from] = start;
+            sizes[to] += n;
+        }
+
+        public CharSequence cratesOnTop() {
+            var top = new char[stacks.length];
+            for (int i = 0; i < stacks.length; i++) {
+                if (sizes[i] == 0) {
+                    throw new IllegalStateException("stack " + ids[i] + " is empty");
+                }
+                top[i] = stacks[i][sizes[i] - 1];
+            }
+            return CharBuffer.wrap(top);
+        }
+
+        private void push(int stack, char crate) {
+            ensureCapacity(stack, sizes[stack] + 1);
+            stacks[stack][sizes[stack]++] = crate;
+        }
+
+        private void ensureCapacity(int stack, int capacity) {
+            if (capacity > stacks[stack].length) {
+                stacks[stack] = Arrays.copyOf(stacks[stack], Math.max(capacity, stacks[stack].length << 1));
+            }
+        }
+
+        private int number(char id) {
+            int number = id < numbers.length ? numbers[id] : -1;
+            if (number < 0) {
+                throw new IllegalArgumentException("no such stack: " + id);
+            }
+            return number;
+        }
+    }
+
+    // the crates on top once the whole input has been rearranged by the given crane
+    static String rearrange(ByteCursor input, CharArrayCrateMover crateMover) {
+        var rest = input.slice(input.position(), input.limit());
+        crateMover.load(rest);
+        crateMover.rearrange(rest);
+        return crateMover.cratesOnTop().toString();
+    }
 }
@@ -1,6 +1,51 @@
 package net.alexmiranda.adventofcode2022;
 
+import java.util.concurrent.Flow;
+
+import net.alexmiranda.adventofcode2022.flow.Fold;
+
 public class Day6 {
+    // looks for the marker in a signal received a piece at a time, keeping only the last
+    // characters received and how many times each of them shows up among those
+    static class Marker {
+        private final char[] window;
+        private final int[] counts = new int[128];
+        private int duplicates = 0;
+        private long received = 0;
+
+        Marker(int n) {
+            this.window = new char[n];
+        }
+
+        // whether it still needs more of the signal
+        boolean accept(String chunk) {
+            int n = window.length;
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = chunk.charAt(i);
+                if (c >= counts.length) {
+                    throw new IllegalArgumentException("signal should be ascii: " + c);
+                }
+                int slot = (int) (received % n);
+                if (received >= n && counts[window[slot]]-- == 2) {
+                    duplicates--;
+                }
+                if (++counts[c] == 2) {
+                    duplicates++;
+                }
+                window[slot] = c;
+                if (++received >= n && duplicates == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // the characters received up to the end of the marker, or all of them if none was
+        long position() {
+            return received;
+        }
+    }
+
     public static int charactersBeforeStartOfNewPacket(String s) {
         return findMarker(s, 4);
     }
@@ -9,6 +54,19 @@ public class Day6 {
         return findMarker(s, 14);
     }
 
+    static long charactersBeforeStartOfNewPacket(Flow.Publisher<String> chunks) {
+        return findMarker(chunks, 4);
+    }
+
+    static long charactersBeforeStartOfNewMessage(Flow.Publisher<String> chunks) {
+        return findMarker(chunks, 14);
+    }
+
+    private static long findMarker(Flow.Publisher<String> chunks, int n) {
+        var marker = new Marker(n);
+        return Fold.until(chunks, marker::accept, marker::position);
+    }
+
     private static int findMarker(String s, int n) {
         for (int i = n; i < s.length(); i++) {
             var received = s.substring(i - n, i);
@@ -5,15 +5,14 @@ import java.io.IOException;
 import java.io.Reader;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Scanner;
 
-public class Day7 {
-    private static final String INPUT = "2022/Day/7/input";
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day7 {
     sealed interface Entry permits File, Directory {
         String name();
 
@@ -125,7 +124,7 @@ public class Day7 {
     }
 
     public static int part1() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(7);
         var reader = Files.newBufferedReader(path);
         return part1(reader);
     }
@@ -140,7 +139,7 @@ public class Day7 {
     }
 
     public static int part2() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+        var path = PuzzleInput.path(7);
         var reader = Files.newBufferedReader(path);
         return part2(reader);
     }
@@ -5,102 +5,109 @@ import java.io.IOException;
 import java.io.Reader;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.function.IntPredicate;
-import java.util.stream.IntStream;
+
+import net.alexmiranda.adventofcode2022.grid.ByteGrid;
+import net.alexmiranda.adventofcode2022.grid.FlatGrid.Sweep;
+import net.alexmiranda.adventofcode2022.grid.IntGrid;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
 public class Day8 {
-    private static final String INPUT = "2022/Day/8/input";
+    // the forest is surrounded by trees taller than any other, which stop every walk
+    // towards the edge without having to check where the edge is
+    private static final byte EDGE = 10;
 
-    public static int[][] readInputFile() throws URISyntaxException, IOException {
-        var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
+    public static ByteGrid readInputFile() throws URISyntaxException, IOException {
+        var path = PuzzleInput.path(8);
         try (var reader = Files.newBufferedReader(path)) {
             return read(reader);
         }
     }
 
-    public static int[][] read(Reader reader) throws IOException {
-        var list = new ArrayList<int[]>(100);
+    public static ByteGrid read(Reader reader) throws IOException {
         try (var br = new BufferedReader(reader)) {
-            String line = br.readLine();
-            int cols = line.length();
-            do {
-                list.add(line.chars()
-                        .map(c -> c - '0')
-                        .toArray());
-            } while ((line = br.readLine()) != null);
-            var grid = new int[list.size()][cols];
-            list.toArray(grid);
-            return grid;
+            return ByteGrid.parse(br.lines().toList(), 1, EDGE, c -> c - '0');
         }
     }
 
-    public static int countVisibleTrees(int[][] grid) {
-        int h = grid.length;
-        int w = grid[0].length;
-        int counter = 0;
-        for (int x = 1; x < h - 1; x++) {
-            for (int y = 1; y < w - 1; y++) {
-                if (visible(grid, h, w, x, y)) {
-                    counter++;
+    public static int countVisibleTrees(ByteGrid grid) {
+        var trees = grid.cells();
+        var visible = new boolean[grid.size()];
+
+        // a tree is visible from the edge if it's taller than every tree before it
+        for (var sweep : Sweep.values()) {
+            grid.sweep(sweep, (first, step, length) -> {
+                int tallest = -1;
+                for (int i = 0, index = first; i < length && tallest < 9; i++, index += step) {
+                    if (trees[index] > tallest) {
+                        tallest = trees[index];
+                        visible[index] = true;
+                    }
                 }
+            });
+        }
+
+        int counter = 0;
+        for (var v : visible) {
+            if (v) {
+                counter++;
             }
         }
-        return h * 2 + (w - 2) * 2 + counter;
+        return counter;
     }
 
-    public static int highestScenicScore(int[][] grid) {
-        int h = grid.length;
-        int w = grid[0].length;
+    public static int highestScenicScore(ByteGrid grid) {
+        var trees = grid.cells();
+        var scores = new IntGrid(grid.rows(), grid.cols(), grid.padding());
+        scores.fill(1);
+        var cells = scores.cells();
+
+        // the viewing distance from every tree is found in a single pass per line, by keeping
+        // the positions of the trees that still block the view in decreasing order of height
+        var blocking = new int[Math.max(grid.rows(), grid.cols())];
+        for (var sweep : Sweep.values()) {
+            grid.sweep(sweep, (first, step, length) -> {
+                int top = -1;
+                for (int i = 0, index = first; i < length; i++, index += step) {
+                    byte height = trees[index];
+                    while (top >= 0 && trees[first + blocking[top] * step] < height) {
+                        top--;
+                    }
+                    cells[index] *= top >= 0 ? i - blocking[top] : i;
+                    blocking[++top] = i;
+                }
+            });
+        }
+
         int max = 0;
-        for (int x = 1; x < h - 1; x++) {
-            for (int y = 1; y < w - 1; y++) {
-                int scenicScore = scenicScore(grid, h, w, x, y);
-                if (scenicScore > max) {
-                    max = scenicScore;
+        for (int row = 0; row < scores.rows(); row++) {
+            for (int col = 0, index = scores.index(row, 0); col < scores.cols(); col++, index++) {
+                if (cells[index] > max) {
+                    max = cells[index];
                 }
             }
         }
         return max;
     }
 
-    private static boolean visible(int[][] grid, int h, int w, int i, int j) {
-        var n = grid[i][j];
-        var left = IntStream.range(0, j).map(x -> grid[i][x]);
-        var up = IntStream.range(0, i).map(x -> grid[x][j]);
-        var right = IntStream.range(j + 1, w).map(x -> grid[i][x]);
-        var down = IntStream.range(i + 1, h).map(x -> grid[x][j]);
-        IntPredicate cond = x -> x < n;
-        return left.allMatch(cond) ||
-                up.allMatch(cond) ||
-                right.allMatch(cond) ||
-                down.allMatch(cond);
-    }
-
-    public static int scenicScore(int[][] grid, int h, int w, int i, int j) {
-        var n = grid[i][j];
-        var left = IntStream.iterate(j - 1, x -> x >= 0, x -> x - 1).map(x -> grid[i][x]);
-        var up = IntStream.iterate(i - 1, x -> x >= 0, x -> x - 1).map(x -> grid[x][j]);
-        var right = IntStream.range(j + 1, w).map(x -> grid[i][x]);
-        var down = IntStream.range(i + 1, h).map(x -> grid[x][j]);
-        var lc = countVisible(left, n);
-        var uc = countVisible(up, n);
-        var rc = countVisible(right, n);
-        var dc = countVisible(down, n);
-        return lc * uc * rc * dc;
+    public static int scenicScore(ByteGrid grid, int row, int col) {
+        int index = grid.index(row, col);
+        int score = 1;
+        for (int offset : grid.orthogonalOffsets()) {
+            score *= viewingDistance(grid, index, offset);
+        }
+        return score;
     }
 
-    private static int countVisible(IntStream trees, int height) {
-        var iter = trees.iterator();
+    private static int viewingDistance(ByteGrid grid, int index, int offset) {
+        var trees = grid.cells();
+        var height = trees[index];
         int count = 0;
-        while (iter.hasNext()) {
-            var n = iter.next();
+        index += offset;
+        while (trees[index] < height) {
             count++;
-            if (n >= height) {
-                break;
-            }
+            index += offset;
         }
-        return count;
+        // the tree blocking the view is seen as well, unless it's the edge
+        return trees[index] == EDGE ? count : count + 1;
     }
 }
@@ -1,14 +1,17 @@
 package net.alexmiranda.adventofcode2022;
 
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Reader;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.TreeSet;
 
-public class Day9 {
-    private static final String INPUT = "/2022/Day/9/input";
+import net.alexmiranda.adventofcode2022.collections.LongHashSet;
+import net.alexmiranda.adventofcode2022.engine.Engine;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
+public class Day9 {
     record Point(int x, int y) implements Comparable<Point> {
         static final Point ZERO = new Point(0, 0);
 
@@ -133,14 +136,81 @@ public class Day9 {
         }
     }
 
+    // the same rope as the track, with the knots kept in a pair of int arrays and the
+    // positions visited by the tail packed into longs, so moving it allocates nothing
+    static class FastTrack {
+        private final int[] xs, ys;
+        private final LongHashSet visited = new LongHashSet(1 << 13);
+
+        FastTrack(int length) {
+            assert length > 1 : "invalid number of knots: " + length;
+            xs = new int[length];
+            ys = new int[length];
+            visited.add(position(0, 0));
+        }
+
+        void move(byte motion, int n) {
+            int dx = 0, dy = 0;
+            switch (motion) {
+                case 'R' -> dx = 1;
+                case 'U' -> dy = 1;
+                case 'L' -> dx = -1;
+                case 'D' -> dy = -1;
+                default -> throw new RuntimeException("invalid motion: " + (char) motion);
+            }
+            int tail = xs.length - 1;
+            while (n > 0) {
+                xs[0] += dx;
+                ys[0] += dy;
+                for (int i = 1; i < xs.length; i++) {
+                    int ddx = xs[i - 1] - xs[i];
+                    int ddy = ys[i - 1] - ys[i];
+                    if (Math.abs(ddx) <= 1 && Math.abs(ddy) <= 1) {
+                        break;
+                    }
+                    xs[i] += Integer.signum(ddx);
+                    ys[i] += Integer.signum(ddy);
+                }
+                visited.add(position(xs[tail], ys[tail]));
+                n--;
+            }
+        }
+
+        void read(ByteCursor input) {
+            var line = new ByteCursor();
+            while (input.nextLine(line)) {
+                if (!line.isEmpty()) {
+                    move(line.next(), line.nextInt());
+                }
+            }
+        }
+
+        int countVisited() {
+            return visited.size();
+        }
+
+        private static long position(int x, int y) {
+            return (long) x << 32 | (y & 0xffffffffL);
+        }
+    }
+
     public static int countVisited(Reader reader, int size) {
+        return countVisited(reader, size, Engine.REFERENCE);
+    }
+
+    public static int countVisited(Reader reader, int size, Engine engine) {
+        if (engine == Engine.OPTIMIZED) {
+            var track = new FastTrack(size);
+            track.read(ByteCursor.read(reader));
+            return track.countVisited();
+        }
         var track = new Track(size);
         track.read(reader);
         return track.countVisited();
     }
 
-    public static int countVisited(int size) {
-        var reader = new InputStreamReader(Day9.class.getResourceAsStream(INPUT));
+    public static int countVisited(int size) throws IOException {
+        var reader = PuzzleInput.reader(9);
         return countVisited(reader, size);
     }
 }
@@ -0,0 +1,362 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import net.alexmiranda.adventofcode2022.cache.ResultCache;
+import net.alexmiranda.adventofcode2022.events.ParseEvent;
+import net.alexmiranda.adventofcode2022.events.SolveEvent;
+import net.alexmiranda.adventofcode2022.io.Json;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+
+// runs every day (or the ones given as arguments) concurrently and reports how long parsing
+// the input and solving each part took, along with the cpu time and the memory allocated by
+// each phase.
+//
+//   ./mvnw -q compile exec:java -Dexec.args="--threads=8 --json=target/runner.json --skip=23"
+//   ./mvnw -q compile exec:java -Dexec.args="1 16 19"
+//   ./mvnw -q compile exec:java -Dexec.args="--inputs=target/inputs 1 2 3"
+//
+// The inputs are the bundled puzzle inputs unless another directory with the same layout (such
+// as the ones written by generator.Generators) is given with --inputs.
+//
+// Answers are kept in a result cache (target/result-cache unless another directory is given
+// with --cache), so running an input that was solved before with the same engine only takes
+// the lookup of its answers, which the report marks as cached. --no-cache bypasses it, which is what timing the
+// solutions themselves needs.
+//
+// Cpu time and allocations are measured on the thread running the day, so the work that a
+// day forks into other threads (day 19 solves its blueprints with a parallel stream) only
+// shows up in the wall time and in the total cpu time of the process.
+//
+// With -Daoc.metrics=true, the metrics the days report into (see metrics.Metrics) are listed
+// after the table and included in the JSON report as well.
+//
+// Every phase is also recorded as a flight recorder event (see the events package), so that
+// a recording of a run can be sliced by day and phase.
+public class Runner {
+    record Measurement(long wallNanos, long cpuNanos, long allocatedBytes) {
+    }
+
+    record Phase(String name, Object answer, Measurement measurement, boolean cached) {
+    }
+
+    record Result(int day, List<Phase> phases, Throwable error) {
+    }
+
+    record Report(int threads, long wallNanos, long processCpuNanos, List<Result> results,
+            Map<String, Long> metrics) {
+    }
+
+    interface Action {
+        Object run() throws Exception;
+    }
+
+    private record Timed(Object value, Measurement measurement) {
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path json = null;
+        Path inputs = null;
+        Path cacheDir = Path.of("target", "result-cache");
+        var solvers = new ArrayList<Solver<?>>();
+        var skip = new HashSet<Integer>();
+        for (var arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--json=")) {
+                json = Path.of(arg.substring("--json=".length()));
+            } else if (arg.startsWith("--inputs=")) {
+                inputs = Path.of(arg.substring("--inputs=".length()));
+            } else if (arg.startsWith("--cache=")) {
+                cacheDir = Path.of(arg.substring("--cache=".length()));
+            } else if (arg.equals("--no-cache")) {
+                cacheDir = null;
+            } else if (arg.startsWith("--skip=")) {
+                for (var day : arg.substring("--skip=".length()).split(",")) {
+                    skip.add(Integer.parseInt(day));
+                }
+            } else {
+                int day = Integer.parseInt(arg);
+                solvers.add(Solvers.forDay(day).orElseThrow(() -> new IllegalArgumentException("no such day: " + day)));
+            }
+        }
+        if (solvers.isEmpty()) {
+            solvers.addAll(Solvers.all());
+        }
+        solvers.removeIf(solver -> skip.contains(solver.day()));
+
+        var cache = cacheDir == null ? null : ResultCache.open(cacheDir);
+        var report = run(solvers, threads, inputs, cache);
+        printTable(report, System.out);
+        if (json != null) {
+            if (json.getParent() != null) {
+                Files.createDirectories(json.getParent());
+            }
+            Files.writeString(json, toJson(report));
+        } else {
+            System.out.println(toJson(report));
+        }
+    }
+
+    static Report run(List<Solver<?>> solvers, int threads) throws InterruptedException {
+        return run(solvers, threads, null, null);
+    }
+
+    static Report run(List<Solver<?>> solvers, int threads, Path inputs, ResultCache cache)
+            throws InterruptedException {
+        if (THREADS.isThreadCpuTimeSupported() && !THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+        if (THREADS instanceof com.sun.management.ThreadMXBean threadsExt
+                && threadsExt.isThreadAllocatedMemorySupported() && !threadsExt.isThreadAllocatedMemoryEnabled()) {
+            threadsExt.setThreadAllocatedMemoryEnabled(true);
+        }
+
+        var pool = new ForkJoinPool(threads);
+        Metrics.reset();
+        try {
+            long processCpu = processCpuTime();
+            long start = System.nanoTime();
+            var tasks = new ArrayList<ForkJoinTask<Result>>(solvers.size());
+            for (var solver : solvers) {
+                tasks.add(pool.submit(() -> run(solver, inputs, cache)));
+            }
+            var results = new ArrayList<Result>(solvers.size());
+            for (var task : tasks) {
+                try {
+                    results.add(task.get());
+                } catch (ExecutionException e) {
+                    // run never throws, it reports the failures as part of the result
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            long wall = System.nanoTime() - start;
+            var metrics = Metrics.enabled() ? Metrics.snapshot() : Map.<String, Long>of();
+            return new Report(threads, wall, processCpuTime() - processCpu, results, metrics);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static <I> Result run(Solver<I> solver, Path inputs, ResultCache cache) {
+        var phases = new ArrayList<Phase>(3);
+        try {
+            var path = inputs == null ? PuzzleInput.path(solver.day())
+                    : inputs.resolve(PuzzleInput.resource(solver.day()));
+            var bytes = Files.readAllBytes(path);
+            var text = new String(bytes, StandardCharsets.UTF_8);
+            I input = null;
+            for (int part = 1; part <= (solver.hasPart2() ? 2 : 1); part++) {
+                var name = "part" + part;
+                // the engine is part of the key, so that switching engines runs the other one
+                var key = cache == null ? null
+                        : ResultCache.key(solver.day(), part, solver.engine().name(), bytes);
+                if (key != null) {
+                    // the input isn't even parsed when the answers were already known
+                    var lookup = time(() -> cache.get(key).orElse(null));
+                    if (lookup.value() != null) {
+                        phases.add(new Phase(name, lookup.value(), lookup.measurement(), true));
+                        continue;
+                    }
+                }
+
+                if (input == null) {
+                    @SuppressWarnings("unchecked")
+                    var parsed = (I) measure(phases, "parse", () -> parse(solver, text));
+                    input = parsed;
+                } else if (solver.mutatesInput()) {
+                    input = solver.parse(new StringReader(text));
+                }
+
+                int n = part;
+                var fresh = input;
+                var answer = measure(phases, name,
+                        () -> solve(solver.day(), n, () -> n == 1 ? solver.part1(fresh) : solver.part2(fresh)));
+                if (key != null) {
+                    cache.put(key, String.valueOf(answer));
+                }
+            }
+            return new Result(solver.day(), phases, null);
+        } catch (Exception | StackOverflowError | OutOfMemoryError e) {
+            return new Result(solver.day(), phases, e);
+        }
+    }
+
+    private static <I> I parse(Solver<I> solver, String text) throws IOException {
+        var event = new ParseEvent();
+        event.begin();
+        var input = solver.parse(new StringReader(text));
+        event.end();
+        if (event.shouldCommit()) {
+            event.day = solver.day();
+            event.inputSize = text.length();
+            event.commit();
+        }
+        return input;
+    }
+
+    private static Object solve(int day, int part, Action action) throws Exception {
+        var event = new SolveEvent();
+        var states = "day" + day + ".states";
+        long statesBefore = event.isEnabled() ? Metrics.value(states, -1) : -1;
+        event.begin();
+        var answer = action.run();
+        event.end();
+        if (event.shouldCommit()) {
+            event.day = day;
+            event.part = part;
+            event.answer = String.valueOf(answer);
+            event.statesVisited = statesBefore < 0 || !Metrics.enabled() ? -1 : Metrics.value(states, -1) - statesBefore;
+            event.commit();
+        }
+        return answer;
+    }
+
+    private static Object measure(List<Phase> phases, String name, Action action) throws Exception {
+        var timed = time(action);
+        // the answer of the parse phase is the parsed input itself, which isn't reported
+        phases.add(new Phase(name, name.equals("parse") ? null : timed.value(), timed.measurement(), false));
+        return timed.value();
+    }
+
+    private static Timed time(Action action) throws Exception {
+        long allocated = allocatedBytes();
+        long cpu = cpuTime();
+        long start = System.nanoTime();
+        var value = action.run();
+        long wall = System.nanoTime() - start;
+        cpu = cpuTime() - cpu;
+        allocated = allocatedBytes() - allocated;
+        return new Timed(value, new Measurement(wall, cpu, allocated));
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threadsExt) {
+            return threadsExt.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static long processCpuTime() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    static void printTable(Report report, PrintStream out) {
+        out.printf(Locale.ROOT, "%3s  %-5s  %-20s  %10s  %10s  %12s%n",
+                "day", "phase", "answer", "wall (ms)", "cpu (ms)", "alloc (KiB)");
+        for (var result : report.results()) {
+            for (var phase : result.phases()) {
+                var m = phase.measurement();
+                out.printf(Locale.ROOT, "%3d  %-5s  %-20s  %10.3f  %10.3f  %12s%s%n",
+                        result.day(), phase.name(), abbreviate(phase.answer()), millis(m.wallNanos()),
+                        millis(m.cpuNanos()), m.allocatedBytes() < 0 ? "n/a" : m.allocatedBytes() / 1024,
+                        phase.cached() ? "  cached" : "");
+            }
+            if (result.error() != null) {
+                out.printf(Locale.ROOT, "%3d  %-5s  %s%n", result.day(), "error", result.error());
+            }
+        }
+        out.printf(Locale.ROOT, "%d days on %d threads: %.3f ms wall time, %.3f ms cpu time%n",
+                report.results().size(), report.threads(), millis(report.wallNanos()),
+                millis(report.processCpuNanos()));
+        report.metrics().forEach((name, value) -> out.printf(Locale.ROOT, "%-24s  %12d%n", name, value));
+    }
+
+    private static String abbreviate(Object answer) {
+        if (answer == null) {
+            return "";
+        }
+        var s = answer.toString();
+        // the crt screen of day 10 spans several lines
+        if (s.indexOf('\n') >= 0) {
+            return "<" + s.lines().count() + " lines>";
+        }
+        return s.length() > 20 ? s.substring(0, 19) + "~" : s;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    static String toJson(Report report) {
+        var sb = new StringBuilder(4096);
+        sb.append("{\"threads\":").append(report.threads())
+                .append(",\"wallNanos\":").append(report.wallNanos())
+                .append(",\"processCpuNanos\":").append(report.processCpuNanos())
+                .append(",\"days\":[");
+        for (int i = 0; i < report.results().size(); i++) {
+            var result = report.results().get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"day\":").append(result.day()).append(",\"phases\":[");
+            for (int j = 0; j < result.phases().size(); j++) {
+                var phase = result.phases().get(j);
+                var m = phase.measurement();
+                if (j > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"name\":");
+                Json.appendString(sb, phase.name());
+                if (phase.answer() != null) {
+                    sb.append(",\"answer\":");
+                    Json.appendString(sb, phase.answer().toString());
+                }
+                if (phase.cached()) {
+                    sb.append(",\"cached\":true");
+                }
+                sb.append(",\"wallNanos\":").append(m.wallNanos())
+                        .append(",\"cpuNanos\":").append(m.cpuNanos())
+                        .append(",\"allocatedBytes\":").append(m.allocatedBytes())
+                        .append('}');
+            }
+            sb.append(']');
+            if (result.error() != null) {
+                sb.append(",\"error\":");
+                Json.appendString(sb, result.error().toString());
+            }
+            sb.append('}');
+        }
+        sb.append(']');
+        if (!report.metrics().isEmpty()) {
+            sb.append(",\"metrics\":{");
+            var first = true;
+            for (var metric : report.metrics().entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                Json.appendString(sb, metric.getKey());
+                sb.append(':').append(metric.getValue());
+            }
+            sb.append('}');
+        }
+        return sb.append('}').toString();
+    }
+}
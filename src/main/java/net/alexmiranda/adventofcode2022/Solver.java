@@ -0,0 +1,35 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import net.alexmiranda.adventofcode2022.engine.Engine;
+
+// a puzzle split into the phases measured by the Runner: parsing the input and solving each
+// of its parts from the parsed input
+public interface Solver<I> {
+    int day();
+
+    I parse(Reader input) throws IOException;
+
+    Object part1(I input) throws IOException;
+
+    Object part2(I input) throws IOException;
+
+    // the last day has got a single puzzle, and so does day 22 since its cube wasn't solved
+    default boolean hasPart2() {
+        return true;
+    }
+
+    // which implementation of the day this is, so that answers cached by one engine aren't
+    // taken for the other's
+    default Engine engine() {
+        return Engine.REFERENCE;
+    }
+
+    // solving the first part consumes or mutates the parsed input of some puzzles, in which
+    // case the input is parsed again (outside of any measurement) before solving the second
+    default boolean mutatesInput() {
+        return false;
+    }
+}
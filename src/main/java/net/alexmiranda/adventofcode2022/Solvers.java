@@ -0,0 +1,212 @@
+package net.alexmiranda.adventofcode2022;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import net.alexmiranda.adventofcode2022.engine.Engine;
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+
+// every day of the calendar, wired to its parsing and solving phases
+public final class Solvers {
+    interface Parser<I> {
+        I parse(Reader input) throws IOException;
+    }
+
+    interface Part<I> {
+        Object solve(I input) throws IOException;
+    }
+
+    private record Simple<I>(int day, Parser<I> parser, Part<I> first, Part<I> second, boolean mutatesInput,
+            Engine engine) implements Solver<I> {
+        @Override
+        public I parse(Reader input) throws IOException {
+            return parser.parse(input);
+        }
+
+        @Override
+        public Object part1(I input) throws IOException {
+            return first.solve(input);
+        }
+
+        @Override
+        public Object part2(I input) throws IOException {
+            if (second == null) {
+                throw new UnsupportedOperationException("day " + day + " has got a single part");
+            }
+            return second.solve(input);
+        }
+
+        @Override
+        public boolean hasPart2() {
+            return second != null;
+        }
+    }
+
+    // day 5 loads each crane with its own stacks, as they're rearranged by the instructions
+    record CraneInput(Day5.CrateMover9000 crateMover9000, Day5.CrateMover9001 crateMover9001,
+            String instructions) {
+    }
+
+    // days 11, 14, 19 and 21 slightly change how the input is read for the second part, so
+    // both variants are part of the parse phase
+    record Variants<T>(T part1, T part2) {
+    }
+
+    private static final List<Solver<?>> ALL = List.of(
+            of(1, ByteCursor::read, Day1::calorieCounting, Day1::calorieCountingTopThree, true),
+            of(2, Solvers::lines, lines -> Day2.totalScore(lines.stream()),
+                    lines -> Day2.totalScoreOutcomes(lines.stream())),
+            of(3, Solvers::lines, lines -> Day3.sumOfPriorities(lines.stream()),
+                    lines -> Day3.sumOfGroupPriorities(lines.stream())),
+            of(4, Solvers::lines, lines -> Day4.countAssignmentsFullyContained(lines.stream()),
+                    lines -> Day4.countAssignmentsOverlapping(lines.stream())),
+            of(5, Solvers::cranes, Solvers::rearrange9000, Solvers::rearrange9001),
+            of(6, Solvers::text, Day6::charactersBeforeStartOfNewPacket, Day6::charactersBeforeStartOfNewMessage),
+            of(7, Day7::parseTree, tree -> Day7.sumDirectoriesSmallerThan(tree, 100000), tree -> {
+                var availableDiskSpace = 70000000 - tree.size();
+                return Day7.findBestCandidateForDeletion(tree, Math.abs(30000000 - availableDiskSpace));
+            }),
+            of(8, Day8::read, Day8::countVisibleTrees, Day8::highestScenicScore),
+            of(9, Solvers::text, s -> Day9.countVisited(new StringReader(s), 2),
+                    s -> Day9.countVisited(new StringReader(s), 10)),
+            of(10, Solvers::text, s -> Day10.signalStrengths(LineSource.lines(new StringReader(s))),
+                    s -> Day10.render(LineSource.lines(new StringReader(s)))),
+            of(11, input -> variants(input, s -> new Day11.KeepAway(s, 3), s -> new Day11.KeepAway(s, 1)),
+                    games -> {
+                        games.part1().play(20);
+                        return games.part1().monkeyBusiness();
+                    }, games -> {
+                        games.part2().play(10_000);
+                        return games.part2().monkeyBusiness();
+                    }),
+            of(12, input -> Day12.fromString(text(input)), Day12::shortestDistance,
+                    heightmap -> Day12.shortestDistance(heightmap, 'a').getAsInt(), true),
+            of(13, Solvers::text, s -> Day13.countPairsInRightOrder(new StringReader(s)),
+                    s -> Day13.decoderKeyOfDistressSignal(new StringReader(s),
+                            Day13.Packet.fromString("[[2]]"), Day13.Packet.fromString("[[6]]"))),
+            of(14, input -> variants(input,
+                    s -> Day14.initialize(new Day14.RegolithReservoir(), s),
+                    s -> Day14.initialize(new Day14.RegolithReservoirRevised(), s)),
+                    reservoirs -> reservoirs.part1().simulate(Day14.Point.SOURCE_OF_SAND),
+                    // the last one which's added here is the source of sand itself...
+                    reservoirs -> reservoirs.part2().simulate(Day14.Point.SOURCE_OF_SAND) + 1),
+            of(15, input -> {
+                var network = new Day15.TunnelNetwork();
+                network.parseInput(input);
+                return network;
+            }, network -> network.tryDeployBeacon(2_000_000), Day15.TunnelNetwork::findTunningFreq),
+            of(16, Day16::parseInput, network -> network.findMostPressurePossibleToRelease("AA", 30),
+                    network -> network.quickReleaseMostPressureWithAnElephant("AA", 26)),
+            of(17, input -> new Day17.Chamber(text(input).strip()), chamber -> chamber.simulate(2022),
+                    chamber -> chamber.simulate(1_000_000_000_000L), true),
+            of(18, Solvers::text, s -> Day18.part1(new StringReader(s)), s -> Day18.part2(new StringReader(s))),
+            of(19, input -> variants(input, s -> {
+                var factory = new Day19.Factory();
+                factory.readBlueprints(s);
+                return factory;
+            }, s -> {
+                var firstThree = new Day19.Factory();
+                firstThree.readBlueprints(s, 3);
+                return firstThree;
+            }), factories -> factories.part1().determineQualityLevel(24),
+                    factories -> factories.part2().multiplyMaximumOpenGeodes(32)),
+            of(20, input -> Day20.parse(input, Integer.MAX_VALUE, 1),
+                    file -> Day20.sumOfGroveCoordinates(Day20.mix(file, 1)),
+                    file -> Day20.sumOfGroveCoordinates(Day20.mix(Day20.applyDecryptionKey(new ArrayList<>(file)), 10))),
+            of(21, input -> variants(input, s -> new Day21.Context(s, false), s -> new Day21.Context(s, true)),
+                    contexts -> contexts.part1().solve("root"), contexts -> contexts.part2().solvePart2("humn")),
+            of(22, Day22.MonkeyMap::new, Day22.MonkeyMap::crackPassword, null),
+            of(23, Day23.Grove::new, grove -> grove.countEmptyTiles(10), Day23.Grove::roundsUntilNoElfMoves, true),
+            of(24, Day24.Valley::new, Day24.Valley::shortestTime, valley -> valley.shortestTimeRounds(3), true),
+            of(25, Solvers::text, s -> Day25.sum(new StringReader(s)).toString(), null));
+
+    // the days rewritten for speed, which take over from the ones above when the optimized
+    // engine is selected for them
+    private static final List<Solver<?>> OPTIMIZED = List.of(
+            optimized(2, input -> Day2.histogram(ByteCursor.read(input)),
+                    histogram -> histogram.score(Day2.Scores.SHAPES), histogram -> histogram.score(Day2.Scores.OUTCOMES)),
+            optimized(3, ByteCursor::read, Day3::sumOfPriorities, Day3::sumOfGroupPriorities),
+            optimized(4, input -> Day4.count(ByteCursor.read(input)), Day4.Counts::contained,
+                    Day4.Counts::overlapping),
+            optimized(5, ByteCursor::read, input -> Day5.rearrange(input, Day5.CharArrayCrateMover.crateMover9000()),
+                    input -> Day5.rearrange(input, Day5.CharArrayCrateMover.crateMover9001())),
+            optimized(9, Solvers::text, s -> Day9.countVisited(new StringReader(s), 2, Engine.OPTIMIZED),
+                    s -> Day9.countVisited(new StringReader(s), 10, Engine.OPTIMIZED)),
+            optimized(21, Day21.Monkeys::new, monkeys -> monkeys.solve("root"), monkeys -> monkeys.solvePart2("humn")));
+
+    private Solvers() {
+    }
+
+    // every day, each with the engine selected for it
+    public static List<Solver<?>> all() {
+        return ALL.stream().<Solver<?>>map(solver -> forDay(solver.day()).orElseThrow()).toList();
+    }
+
+    public static Optional<Solver<?>> forDay(int day) {
+        return forDay(day, Engine.selected(day));
+    }
+
+    public static Optional<Solver<?>> forDay(int day, Engine engine) {
+        var solvers = engine == Engine.OPTIMIZED ? Stream.concat(OPTIMIZED.stream(), ALL.stream()) : ALL.stream();
+        return solvers.filter(solver -> solver.day() == day).findFirst();
+    }
+
+    public static boolean hasOptimized(int day) {
+        return OPTIMIZED.stream().anyMatch(solver -> solver.day() == day);
+    }
+
+    static <I> Solver<I> of(int day, Parser<I> parser, Part<I> part1, Part<I> part2) {
+        return of(day, parser, part1, part2, false);
+    }
+
+    static <I> Solver<I> of(int day, Parser<I> parser, Part<I> part1, Part<I> part2, boolean mutatesInput) {
+        return new Simple<>(day, parser, part1, part2, mutatesInput, Engine.REFERENCE);
+    }
+
+    static <I> Solver<I> optimized(int day, Parser<I> parser, Part<I> part1, Part<I> part2) {
+        return new Simple<>(day, parser, part1, part2, false, Engine.OPTIMIZED);
+    }
+
+    static String text(Reader input) throws IOException {
+        var w = new StringWriter(16384);
+        input.transferTo(w);
+        return w.toString();
+    }
+
+    private static List<String> lines(Reader input) {
+        return new BufferedReader(input).lines().toList();
+    }
+
+    private static <T> Variants<T> variants(Reader input, Parser<T> part1, Parser<T> part2) throws IOException {
+        var s = text(input);
+        return new Variants<>(part1.parse(new StringReader(s)), part2.parse(new StringReader(s)));
+    }
+
+    private static CraneInput cranes(Reader input) throws IOException {
+        var s = text(input);
+        var crateMover9000 = new Day5.CrateMover9000();
+        crateMover9000.load(new StringReader(s));
+        var crateMover9001 = new Day5.CrateMover9001();
+        crateMover9001.load(new StringReader(s));
+        int i = s.indexOf("\n\n");
+        return new CraneInput(crateMover9000, crateMover9001, i < 0 ? "" : s.substring(i + 2));
+    }
+
+    private static String rearrange9000(CraneInput input) throws IOException {
+        input.crateMover9000().readInstructions(new StringReader(input.instructions()));
+        return input.crateMover9000().cratesOnTop().toString();
+    }
+
+    private static String rearrange9001(CraneInput input) throws IOException {
+        input.crateMover9001().readInstructions(new StringReader(input.instructions()));
+        return input.crateMover9001().cratesOnTop().toString();
+    }
+}
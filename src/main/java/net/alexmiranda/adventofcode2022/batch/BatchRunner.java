@@ -0,0 +1,201 @@
+package net.alexmiranda.adventofcode2022.batch;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import net.alexmiranda.adventofcode2022.Solver;
+import net.alexmiranda.adventofcode2022.Solvers;
+
+// solves many inputs of the same day concurrently, e.g. a directory full of generated inputs,
+// and reports the answers of every input in the order they were given along with percentiles
+// of the time taken per input.
+//
+// The inputs are read lazily and at most maxInFlight of them are loaded or being solved at any
+// time: the thread feeding the pool blocks until one of them is done, so a stream of inputs
+// larger than the memory available can be fed through. Every input is parsed on its own and
+// none of the solutions keep any static state, so the inputs don't interfere with each other.
+//
+//   ./mvnw -q compile exec:java -Dexec.mainClass=net.alexmiranda.adventofcode2022.batch.BatchRunner \
+//       -Dexec.args="--day=16 --threads=8 --in-flight=32 target/batch/16"
+public final class BatchRunner {
+    @FunctionalInterface
+    public interface Loader {
+        String load() throws IOException;
+    }
+
+    public record Input(String name, Loader loader) {
+        public static Input of(String name, String text) {
+            return new Input(name, () -> text);
+        }
+
+        public static Input of(Path file) {
+            return new Input(file.getFileName().toString(), () -> Files.readString(file));
+        }
+    }
+
+    public record Outcome(int index, String name, Object part1, Object part2, long latencyNanos, Throwable error) {
+    }
+
+    public record Summary(int day, List<Outcome> outcomes, long wallNanos, long p50Nanos, long p90Nanos,
+            long p99Nanos, long maxNanos) {
+    }
+
+    private final Solver<?> solver;
+    private final int threads;
+    private final int maxInFlight;
+
+    public BatchRunner(Solver<?> solver, int threads, int maxInFlight) {
+        if (threads <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("invalid batch: " + threads + " threads, " + maxInFlight + " in flight");
+        }
+        this.solver = solver;
+        this.threads = threads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int day = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int inFlight = -1;
+        var dirs = new ArrayList<Path>();
+        for (var arg : args) {
+            if (arg.startsWith("--day=")) {
+                day = Integer.parseInt(arg.substring("--day=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--in-flight=")) {
+                inFlight = Integer.parseInt(arg.substring("--in-flight=".length()));
+            } else {
+                dirs.add(Path.of(arg));
+            }
+        }
+        if (dirs.size() != 1) {
+            throw new IllegalArgumentException("expected a single directory of inputs: " + dirs);
+        }
+        int d = day;
+        var solver = Solvers.forDay(day).orElseThrow(() -> new IllegalArgumentException("no such day: " + d));
+        var batch = new BatchRunner(solver, threads, inFlight > 0 ? inFlight : threads * 4);
+        print(batch.run(dirs.get(0)), System.out);
+    }
+
+    // every regular file in the directory, by name
+    public Summary run(Path dir) throws IOException, InterruptedException {
+        try (var files = Files.list(dir)) {
+            return run(files.filter(Files::isRegularFile).sorted().map(Input::of));
+        }
+    }
+
+    public Summary run(Stream<Input> inputs) throws InterruptedException {
+        var pool = new ForkJoinPool(threads);
+        var permits = new Semaphore(maxInFlight);
+        var futures = new ArrayList<CompletableFuture<Outcome>>();
+        long start = System.nanoTime();
+        try {
+            var iter = inputs.iterator();
+            while (iter.hasNext()) {
+                var input = iter.next();
+                int index = futures.size();
+                // backpressure: don't get ahead of the pool by more than maxInFlight inputs
+                permits.acquire();
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return solve(index, input);
+                    } finally {
+                        permits.release();
+                    }
+                }, pool));
+            }
+
+            var outcomes = new ArrayList<Outcome>(futures.size());
+            for (var future : futures) {
+                try {
+                    outcomes.add(future.get());
+                } catch (ExecutionException e) {
+                    // solve never throws, it reports the failures as part of the outcome
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return summarize(outcomes, System.nanoTime() - start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Outcome solve(int index, Input input) {
+        long start = System.nanoTime();
+        try {
+            var answers = solve(solver, input.loader().load());
+            return new Outcome(index, input.name(), answers[0], answers[1], System.nanoTime() - start, null);
+        } catch (Exception | StackOverflowError | OutOfMemoryError e) {
+            return new Outcome(index, input.name(), null, null, System.nanoTime() - start, e);
+        }
+    }
+
+    private static <I> Object[] solve(Solver<I> solver, String text) throws IOException {
+        var input = solver.parse(new StringReader(text));
+        var part1 = solver.part1(input);
+        Object part2 = null;
+        if (solver.hasPart2()) {
+            if (solver.mutatesInput()) {
+                input = solver.parse(new StringReader(text));
+            }
+            part2 = solver.part2(input);
+        }
+        return new Object[] { part1, part2 };
+    }
+
+    private Summary summarize(List<Outcome> outcomes, long wallNanos) {
+        var latencies = outcomes.stream().mapToLong(Outcome::latencyNanos).sorted().toArray();
+        return new Summary(solver.day(), outcomes, wallNanos, percentile(latencies, 50), percentile(latencies, 90),
+                percentile(latencies, 99), latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+    }
+
+    // nearest-rank percentile of sorted values
+    static long percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    public static void print(Summary summary, PrintStream out) {
+        for (var outcome : summary.outcomes()) {
+            if (outcome.error() != null) {
+                out.printf(Locale.ROOT, "%6d  %-24s  error: %s%n", outcome.index(), outcome.name(), outcome.error());
+            } else {
+                out.printf(Locale.ROOT, "%6d  %-24s  %-20s  %-20s  %10.3f ms%n", outcome.index(), outcome.name(),
+                        oneLine(outcome.part1()), oneLine(outcome.part2()), millis(outcome.latencyNanos()));
+            }
+        }
+        long errors = summary.outcomes().stream().filter(outcome -> outcome.error() != null).count();
+        out.printf(Locale.ROOT,
+                "day %d: %d inputs (%d failed) in %.3f ms, per input p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                summary.day(), summary.outcomes().size(), errors, millis(summary.wallNanos()),
+                millis(summary.p50Nanos()), millis(summary.p90Nanos()), millis(summary.p99Nanos()),
+                millis(summary.maxNanos()));
+    }
+
+    private static String oneLine(Object answer) {
+        if (answer == null) {
+            return "";
+        }
+        var s = answer.toString();
+        return s.indexOf('\n') >= 0 ? "<" + s.lines().count() + " lines>" : s;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
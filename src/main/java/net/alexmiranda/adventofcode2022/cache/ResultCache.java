@@ -0,0 +1,204 @@
+package net.alexmiranda.adventofcode2022.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+// answers of previous runs kept on disk, keyed by the day, the part, any parameters and a hash
+// of the input bytes, so that running the same input again returns the answer straight away.
+//
+// Every answer is a small file named after its key, holding a magic number, the length of the
+// answer, a CRC-32 of the key and the answer, and the answer itself in UTF-8. Entries that don't
+// pass the check when read (truncated, corrupt or renamed files) are dropped as if they were
+// never there. Once the entries take more than the given number of bytes, the least recently
+// used ones are evicted; the modification time of the files keeps track of their use across
+// runs.
+//
+// The cache knows nothing about the code producing the answers, so it should be cleared (or
+// bypassed) whenever a solution changes.
+public final class ResultCache {
+    public static final long DEFAULT_MAX_BYTES = 1 << 20;
+
+    private static final int MAGIC = 0x414f4331; // AOC1
+    private static final int HEADER = 12;
+    private static final String SUFFIX = ".answer";
+
+    private final Path dir;
+    private final long maxBytes;
+    // file sizes by key, from the least recently used to the most recently used
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, .75f, true);
+    private long totalBytes = 0;
+
+    private ResultCache(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+    }
+
+    public static ResultCache open(Path dir) throws IOException {
+        return open(dir, DEFAULT_MAX_BYTES);
+    }
+
+    public static ResultCache open(Path dir, long maxBytes) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("invalid cache size: " + maxBytes);
+        }
+        Files.createDirectories(dir);
+        var cache = new ResultCache(dir, maxBytes);
+        record Entry(String key, long size, FileTime lastUsed) {
+        }
+        var found = new ArrayList<Entry>();
+        try (var files = Files.list(dir)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                var name = file.getFileName().toString();
+                if (name.endsWith(SUFFIX) && Files.isRegularFile(file)) {
+                    found.add(new Entry(name.substring(0, name.length() - SUFFIX.length()), Files.size(file),
+                            Files.getLastModifiedTime(file)));
+                }
+            }
+        }
+        found.sort(Comparator.comparing(Entry::lastUsed));
+        for (var entry : found) {
+            cache.entries.put(entry.key, entry.size);
+            cache.totalBytes += entry.size;
+        }
+        cache.evict();
+        return cache;
+    }
+
+    public static String key(int day, int part, String parameters, byte[] input) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(8).putInt(day).putInt(part).array());
+            var params = parameters.getBytes(StandardCharsets.UTF_8);
+            digest.update(ByteBuffer.allocate(4).putInt(params.length).array());
+            digest.update(params);
+            digest.update(input);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public synchronized Optional<String> get(String key) {
+        if (!entries.containsKey(key)) {
+            return Optional.empty();
+        }
+        var file = file(key);
+        try {
+            var bytes = Files.readAllBytes(file);
+            var answer = decode(key, bytes);
+            if (answer == null) {
+                remove(key);
+                return Optional.empty();
+            }
+            entries.get(key); // moves it to the most recently used end
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(answer);
+        } catch (NoSuchFileException e) {
+            // removed behind our back
+            forget(key);
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void put(String key, String answer) {
+        var bytes = encode(key, answer);
+        try {
+            var tmp = Files.createTempFile(dir, key, ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        forget(key);
+        entries.put(key, (long) bytes.length);
+        totalBytes += bytes.length;
+        evict();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private void evict() {
+        var iter = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iter.hasNext()) {
+            var entry = iter.next();
+            iter.remove();
+            totalBytes -= entry.getValue();
+            try {
+                Files.deleteIfExists(file(entry.getKey()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void remove(String key) throws IOException {
+        forget(key);
+        Files.deleteIfExists(file(key));
+    }
+
+    private void forget(String key) {
+        var size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key + SUFFIX);
+    }
+
+    private static byte[] encode(String key, String answer) {
+        var payload = answer.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(HEADER + payload.length)
+                .putInt(MAGIC)
+                .putInt(payload.length)
+                .putInt(checksum(key, payload, 0, payload.length))
+                .put(payload)
+                .array();
+    }
+
+    private static String decode(String key, byte[] bytes) {
+        if (bytes.length < HEADER) {
+            return null;
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != bytes.length - HEADER) {
+            return null;
+        }
+        if (buffer.getInt() != checksum(key, bytes, HEADER, bytes.length - HEADER)) {
+            return null;
+        }
+        return new String(bytes, HEADER, bytes.length - HEADER, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(String key, byte[] payload, int offset, int length) {
+        var crc = new CRC32();
+        crc.update(key.getBytes(StandardCharsets.US_ASCII));
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+}
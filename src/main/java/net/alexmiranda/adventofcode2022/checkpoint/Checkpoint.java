@@ -0,0 +1,97 @@
+package net.alexmiranda.adventofcode2022.checkpoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+// the state of a simulation saved to a file every so many steps, so that a run that gets
+// killed halfway through picks up from its last checkpoint rather than from the start:
+//
+//   var game = new Day11.KeepAway(reader, 1);
+//   Checkpoint.run(game.rounds(1_000_000), Path.of("day11.checkpoint"), 10_000);
+//
+// A checkpoint holds a magic number, the day, the length of the state, a CRC-32 of the state and
+// the state itself, as written by the simulation. It's replaced atomically, so it's never seen
+// half written, and it's deleted once the simulation is over.
+public final class Checkpoint {
+    private static final int MAGIC = 0x414f434b; // AOCK
+    private static final int HEADER = 16;
+
+    private Checkpoint() {
+    }
+
+    public static void run(Resumable simulation, Path file, long every) throws IOException {
+        if (every <= 0) {
+            throw new IllegalArgumentException("invalid checkpoint interval: " + every);
+        }
+        if (Files.exists(file)) {
+            restore(simulation, file);
+        }
+        while (simulation.advance(every)) {
+            save(simulation, file);
+        }
+        Files.deleteIfExists(file);
+    }
+
+    public static void save(Resumable simulation, Path file) throws IOException {
+        var payload = new ByteArrayOutputStream(1 << 12);
+        try (var out = new DataOutputStream(payload)) {
+            simulation.save(out);
+        }
+        var state = payload.toByteArray();
+        var bytes = ByteBuffer.allocate(HEADER + state.length)
+                .putInt(MAGIC)
+                .putInt(simulation.day())
+                .putInt(state.length)
+                .putInt(checksum(state, 0, state.length))
+                .put(state)
+                .array();
+
+        var dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        var tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public static void restore(Resumable simulation, Path file) throws IOException {
+        var bytes = Files.readAllBytes(file);
+        var buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER || buffer.getInt() != MAGIC) {
+            throw new IOException("not a checkpoint: " + file);
+        }
+        if (buffer.getInt() != simulation.day()) {
+            throw new IOException("checkpoint of another day: " + file);
+        }
+        int length = bytes.length - HEADER;
+        if (buffer.getInt() != length || buffer.getInt() != checksum(bytes, HEADER, length)) {
+            throw new IOException("corrupt checkpoint: " + file);
+        }
+        try (var in = new DataInputStream(new ByteArrayInputStream(bytes, HEADER, length))) {
+            simulation.restore(in);
+            if (in.read() != -1) {
+                throw new IOException("corrupt checkpoint, state left over: " + file);
+            }
+        } catch (EOFException e) {
+            throw new IOException("corrupt checkpoint, state cut short: " + file, e);
+        }
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        var crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,20 @@
+package net.alexmiranda.adventofcode2022.checkpoint;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// a long-running simulation that advances a number of steps at a time (rounds, rocks, ...) and
+// whose whole state can be written out in between, see Checkpoint.
+public interface Resumable {
+    int day();
+
+    // runs up to the given number of steps, and tells whether there are any left
+    boolean advance(long steps);
+
+    void save(DataOutput out) throws IOException;
+
+    // replaces the state of the simulation with the one saved, failing if it was saved by a
+    // simulation of some other input
+    void restore(DataInput in) throws IOException;
+}
@@ -0,0 +1,36 @@
+package net.alexmiranda.adventofcode2022.collections;
+
+// shared bits of the open addressing tables: capacities are powers of two so that a slot is
+// found by masking the scrambled key, and the tables grow once they are three quarters full
+final class Hashing {
+    static final float LOAD_FACTOR = .75f;
+    private static final int PHI = 0x9e3779b9;
+    private static final long LONG_PHI = 0x9e3779b97f4a7c15L;
+
+    private Hashing() {
+    }
+
+    static int capacity(int expectedSize) {
+        long needed = Math.max(4L, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("too many elements: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    static int threshold(int capacity) {
+        return (int) (capacity * LOAD_FACTOR);
+    }
+
+    // keys that are close to each other (coordinates, bit masks) would otherwise cluster in
+    // neighbouring slots, which makes linear probing degrade quickly
+    static int mix(int key) {
+        int h = key * PHI;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        long h = key * LONG_PHI;
+        return (int) (h ^ (h >>> 32));
+    }
+}
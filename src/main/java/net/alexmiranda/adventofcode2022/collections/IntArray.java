@@ -0,0 +1,98 @@
+package net.alexmiranda.adventofcode2022.collections;
+
+import java.util.Arrays;
+
+// a sorted set of distinct ints kept in a growable array, standing in for TreeSet<Integer>
+// where the sets are small (a row or column of a map) and mostly looked up. Lookups are
+// binary searches; adding an element shifts the greater ones, unless it's appended at the end
+// as it happens while parsing a map top to bottom and left to right.
+//
+// Rather than null, the navigation methods return the given value when there's no such
+// element, so callers can pick whatever sentinel makes their comparisons fall through.
+public final class IntArray {
+    private int[] elements;
+    private int size;
+
+    public IntArray() {
+        this(8);
+    }
+
+    public IntArray(int initialCapacity) {
+        elements = new int[Math.max(1, initialCapacity)];
+    }
+
+    public boolean add(int e) {
+        int i;
+        if (size == 0 || elements[size - 1] < e) {
+            i = size;
+        } else {
+            i = Arrays.binarySearch(elements, 0, size, e);
+            if (i >= 0) {
+                return false;
+            }
+            i = -(i + 1);
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        System.arraycopy(elements, i, elements, i + 1, size - i);
+        elements[i] = e;
+        size++;
+        return true;
+    }
+
+    public boolean contains(int e) {
+        return Arrays.binarySearch(elements, 0, size, e) >= 0;
+    }
+
+    // the least element greater than or equal to the given one
+    public int ceiling(int e, int missing) {
+        int i = Arrays.binarySearch(elements, 0, size, e);
+        if (i < 0) {
+            i = -(i + 1);
+        }
+        return i < size ? elements[i] : missing;
+    }
+
+    // the least element strictly greater than the given one
+    public int higher(int e, int missing) {
+        int i = Arrays.binarySearch(elements, 0, size, e);
+        i = i < 0 ? -(i + 1) : i + 1;
+        return i < size ? elements[i] : missing;
+    }
+
+    // the greatest element less than or equal to the given one
+    public int floor(int e, int missing) {
+        int i = Arrays.binarySearch(elements, 0, size, e);
+        if (i < 0) {
+            i = -(i + 1) - 1;
+        }
+        return i >= 0 ? elements[i] : missing;
+    }
+
+    // the greatest element strictly less than the given one
+    public int lower(int e, int missing) {
+        int i = Arrays.binarySearch(elements, 0, size, e);
+        i = i < 0 ? -(i + 1) - 1 : i - 1;
+        return i >= 0 ? elements[i] : missing;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return elements[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
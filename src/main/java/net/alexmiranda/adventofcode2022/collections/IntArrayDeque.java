@@ -0,0 +1,83 @@
+package net.alexmiranda.adventofcode2022.collections;
+
+import java.util.NoSuchElementException;
+
+// a double ended queue of ints backed by a circular array that doubles whenever it fills up,
+// mostly meant as the frontier of breadth first searches over grid indices
+public final class IntArrayDeque {
+    private int[] elements;
+    private int head;
+    private int size;
+
+    public IntArrayDeque() {
+        this(16);
+    }
+
+    public IntArrayDeque(int initialCapacity) {
+        elements = new int[Math.max(4, Integer.highestOneBit(Math.max(1, initialCapacity - 1)) << 1)];
+    }
+
+    public void addLast(int e) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = e;
+        size++;
+    }
+
+    public void addFirst(int e) {
+        if (size == elements.length) {
+            grow();
+        }
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = e;
+        size++;
+    }
+
+    public int pollFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int e = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return e;
+    }
+
+    public int pollLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        size--;
+        return elements[(head + size) & (elements.length - 1)];
+    }
+
+    public int peekFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[head];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        var grown = new int[elements.length << 1];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+        elements = grown;
+        head = 0;
+    }
+}
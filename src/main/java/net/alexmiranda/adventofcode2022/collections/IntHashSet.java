@@ -0,0 +1,108 @@
+package net.alexmiranda.adventofcode2022.collections;
+
+import java.util.Arrays;
+
+// a set of ints backed by an open addressing table with linear probing, so adding and looking
+// up elements never boxes them nor allocates an entry per element. Zero marks an empty slot,
+// which is why the zero element itself is tracked apart from the table.
+public final class IntHashSet {
+    private int[] keys;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+        allocate(Hashing.capacity(expectedSize));
+    }
+
+    public boolean add(int key) {
+        if (key == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = Hashing.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(int key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int slot = Hashing.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    // the elements in no particular order
+    public int[] toArray() {
+        var result = new int[size];
+        int n = 0;
+        if (containsZero) {
+            result[n++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity);
+    }
+
+    private void rehash(int capacity) {
+        var old = keys;
+        allocate(capacity);
+        for (int key : old) {
+            if (key != 0) {
+                int slot = Hashing.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package net.alexmiranda.adventofcode2022.collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// closed intervals of ints, numbered in the order they were added, indexed for the ones that
+// overlap a point or a range. The intervals are sorted by their start and laid out as an
+// implicit balanced tree (the middle of every range is its root) where every node knows the
+// greatest end below it, so a query only visits the subtrees that can hold an overlapping
+// interval: O(log n) to find the first one and O(log n) at worst for every one reported.
+//
+// The index is rebuilt by the first query after intervals have been added, so it's meant to be
+// filled up first and then queried.
+public final class IntervalIndex {
+    private int[] starts;
+    private int[] ends;
+    private int size;
+
+    // the intervals in the order of their starts, and the greatest end of every subtree
+    private int[] order, sortedStarts, sortedEnds, maxEnds;
+    private boolean built;
+
+    public IntervalIndex() {
+        this(16);
+    }
+
+    public IntervalIndex(int initialCapacity) {
+        starts = new int[Math.max(1, initialCapacity)];
+        ends = new int[starts.length];
+    }
+
+    // adds [start, end] and returns its number
+    public int add(int start, int end) {
+        if (start > end) {
+            throw new IllegalArgumentException("invalid interval: [" + start + ", " + end + "]");
+        }
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size << 1);
+            ends = Arrays.copyOf(ends, size << 1);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        built = false;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int start(int id) {
+        return starts[checkIndex(id)];
+    }
+
+    public int end(int id) {
+        return ends[checkIndex(id)];
+    }
+
+    // the intervals holding the point
+    public void stabbing(int point, IntConsumer ids) {
+        overlapping(point, point, ids);
+    }
+
+    // the intervals sharing at least a value with [from, to]
+    public void overlapping(int from, int to, IntConsumer ids) {
+        if (from > to) {
+            throw new IllegalArgumentException("invalid range: [" + from + ", " + to + "]");
+        }
+        build();
+        query(0, size, from, to, ids);
+    }
+
+    // the numbers of the intervals sharing at least a value with [from, to], in ascending order
+    public int[] overlapping(int from, int to) {
+        var found = new IntArrayDeque();
+        overlapping(from, to, found::addLast);
+        var ids = new int[found.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = found.pollFirst();
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    public int countOverlapping(int from, int to) {
+        var count = new int[1];
+        overlapping(from, to, id -> count[0]++);
+        return count[0];
+    }
+
+    private void query(int lo, int hi, int from, int to, IntConsumer ids) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] < from) {
+                return;
+            }
+            query(lo, mid, from, to, ids);
+            if (sortedStarts[mid] > to) {
+                // and so do all the ones after it
+                return;
+            }
+            if (sortedEnds[mid] >= from) {
+                ids.accept(order[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private void build() {
+        if (built) {
+            return;
+        }
+        // sorted by start, with the number of the interval in the low bits
+        var keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) starts[i] << 32 | i;
+        }
+        Arrays.sort(keys);
+        order = new int[size];
+        sortedStarts = new int[size];
+        sortedEnds = new int[size];
+        for (int i = 0; i < size; i++) {
+            int id = (int) keys[i];
+            order[i] = id;
+            sortedStarts[i] = starts[id];
+            sortedEnds[i] = ends[id];
+        }
+        maxEnds = new int[size];
+        maxEnd(0, size);
+        built = true;
+    }
+
+    private int maxEnd(int lo, int hi) {
+        if (lo >= hi) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(sortedEnds[mid], Math.max(maxEnd(lo, mid), maxEnd(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private int checkIndex(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException(id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,133 @@
+package net.alexmiranda.adventofcode2022.collections;
+
+import java.util.Arrays;
+
+// a map of longs to ints backed by an open addressing table with linear probing, for the
+// searches memoizing a score per state (typically a bit mask) without boxing either side.
+// Just like in LongHashSet, the zero key is kept apart from the table.
+public final class LongIntHashMap {
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+    private int zeroValue;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(Hashing.capacity(expectedSize));
+    }
+
+    // returns the value mapped to the key, or the given value when the key isn't mapped
+    public int get(long key, int missing) {
+        if (key == 0) {
+            return containsZero ? zeroValue : missing;
+        }
+        int slot = find(key);
+        return keys[slot] == 0 ? missing : values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? containsZero : keys[find(key)] != 0;
+    }
+
+    public void put(long key, int value) {
+        if (key == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = find(key);
+        values[slot] = value;
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            if (++size > threshold) {
+                rehash(keys.length << 1);
+            }
+        }
+    }
+
+    // keeps the greatest of the mapped value and the given one, returning whichever is kept
+    public int max(long key, int value) {
+        if (key == 0) {
+            if (!containsZero || zeroValue < value) {
+                put(0, value);
+            }
+            return zeroValue;
+        }
+        int slot = find(key);
+        if (keys[slot] != 0) {
+            if (values[slot] < value) {
+                values[slot] = value;
+            }
+            return values[slot];
+        }
+        put(key, value);
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        containsZero = false;
+        size = 0;
+    }
+
+    // the keys in no particular order
+    public long[] keys() {
+        var result = new long[size];
+        int n = 0;
+        if (containsZero) {
+            result[n++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    // the slot holding the key, or else the empty slot where it would go
+    private int find(long key) {
+        int slot = Hashing.mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity);
+    }
+
+    private void rehash(int capacity) {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package net.alexmiranda.adventofcode2022.collections;
+
+import java.util.Arrays;
+
+// the k highest longs offered to it, kept in a min-heap of at most k elements so that a value
+// that doesn't make it costs a single comparison against the lowest of them
+public final class LongTopK {
+    private final long[] heap;
+    private int size;
+
+    public LongTopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("invalid k: " + k);
+        }
+        heap = new long[k];
+    }
+
+    public void offer(long value) {
+        if (size < heap.length) {
+            heap[size] = value;
+            siftUp(size++);
+        } else if (size > 0 && value > heap[0]) {
+            heap[0] = value;
+            siftDown(0);
+        }
+    }
+
+    public void addAll(LongTopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int k() {
+        return heap.length;
+    }
+
+    // the values kept, highest first
+    public long[] toArray() {
+        var values = Arrays.copyOf(heap, size);
+        Arrays.sort(values);
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            var tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+        return values;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum = Math.addExact(sum, heap[i]);
+        }
+        return sum;
+    }
+
+    private void siftUp(int i) {
+        var value = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private void siftDown(int i) {
+        var value = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
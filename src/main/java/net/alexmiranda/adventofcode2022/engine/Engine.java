@@ -0,0 +1,28 @@
+package net.alexmiranda.adventofcode2022.engine;
+
+import java.util.Locale;
+
+// which of the implementations of a day solves it: the straightforward one the puzzle was
+// first solved with, kept as a reference, or the one rewritten for speed. Days without an
+// optimized implementation run their reference one whatever the engine.
+//
+// The engine defaults to the reference one, -Daoc.engine=optimized switches every day over
+// and -Daoc.engine.21=reference pins a single day, e.g. while its optimized engine is being
+// checked against the reference one in shadow mode (see Shadow).
+public enum Engine {
+    REFERENCE,
+    OPTIMIZED;
+
+    public static Engine selected(int day) {
+        var value = System.getProperty("aoc.engine." + day, System.getProperty("aoc.engine"));
+        return value == null ? REFERENCE : parse(value);
+    }
+
+    public static Engine parse(String s) {
+        try {
+            return valueOf(s.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("no such engine: " + s);
+        }
+    }
+}
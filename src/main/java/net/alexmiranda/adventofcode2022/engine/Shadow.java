@@ -0,0 +1,237 @@
+package net.alexmiranda.adventofcode2022.engine;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import net.alexmiranda.adventofcode2022.Solver;
+import net.alexmiranda.adventofcode2022.Solvers;
+import net.alexmiranda.adventofcode2022.metrics.Counter;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+
+// runs both engines of a day on a sample of the inputs solved with the engine selected for
+// it, in the background so that the answers aren't held back by them, and keeps track of any
+// answers they disagree on and of how much faster the optimized engine is.
+//
+// Samples are dropped rather than queued once the background threads fall behind, as they
+// only exist to build confidence in an optimized engine before it's selected.
+public final class Shadow implements AutoCloseable {
+    public record Mismatch(int day, String phase, String reference, String optimized) {
+    }
+
+    public record Stats(int day, long samples, long mismatches, long referenceNanos, long optimizedNanos) {
+        // how many times faster the optimized engine was, over all the samples
+        public double speedup() {
+            return optimizedNanos == 0 ? 0 : (double) referenceNanos / optimizedNanos;
+        }
+    }
+
+    private record Outcome(long nanos, String[] answers) {
+    }
+
+    private static final Counter SAMPLES = Metrics.counter("shadow.samples");
+    private static final Counter MISMATCHES = Metrics.counter("shadow.mismatches");
+    private static final Counter DROPPED = Metrics.counter("shadow.dropped");
+
+    // only the most recent mismatches are kept around
+    static final int MAX_MISMATCHES = 100;
+
+    private final double rate;
+    private final ThreadPoolExecutor executor;
+    private final Consumer<Mismatch> listener;
+    private final ConcurrentSkipListMap<Integer, Stats> stats = new ConcurrentSkipListMap<>();
+    private final ArrayDeque<Mismatch> mismatches = new ArrayDeque<>();
+
+    public Shadow(double rate, int threads, int queueSize, Consumer<Mismatch> listener) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("rate should be between 0 and 1: " + rate);
+        }
+        this.rate = rate;
+        this.listener = listener;
+        var counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), task -> {
+                    var thread = new Thread(task, "shadow-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (task, executor) -> DROPPED.increment());
+    }
+
+    // the given solvers, those of the days having both engines wrapped so that a sample of
+    // their inputs is shadowed
+    public List<Solver<?>> wrap(List<Solver<?>> solvers) {
+        var wrapped = new ArrayList<Solver<?>>(solvers.size());
+        for (var solver : solvers) {
+            wrapped.add(wrap(solver));
+        }
+        return wrapped;
+    }
+
+    public <I> Solver<I> wrap(Solver<I> solver) {
+        if (!Solvers.hasOptimized(solver.day())) {
+            return solver;
+        }
+        return new Solver<I>() {
+            @Override
+            public int day() {
+                return solver.day();
+            }
+
+            @Override
+            public I parse(Reader input) throws IOException {
+                if (rate == 0 || ThreadLocalRandom.current().nextDouble() >= rate) {
+                    return solver.parse(input);
+                }
+                var text = text(input);
+                executor.execute(() -> compare(solver.day(), text));
+                return solver.parse(new StringReader(text));
+            }
+
+            @Override
+            public Object part1(I input) throws IOException {
+                return solver.part1(input);
+            }
+
+            @Override
+            public Object part2(I input) throws IOException {
+                return solver.part2(input);
+            }
+
+            @Override
+            public boolean hasPart2() {
+                return solver.hasPart2();
+            }
+
+            @Override
+            public boolean mutatesInput() {
+                return solver.mutatesInput();
+            }
+
+            @Override
+            public Engine engine() {
+                return solver.engine();
+            }
+        };
+    }
+
+    public List<Stats> stats() {
+        return List.copyOf(stats.values());
+    }
+
+    public List<Mismatch> mismatches() {
+        synchronized (mismatches) {
+            return List.copyOf(mismatches);
+        }
+    }
+
+    public void print(PrintStream out) {
+        for (var s : stats()) {
+            out.printf(Locale.ROOT, "day %2d: %d samples, %d mismatches, optimized %.2fx faster%n", s.day(),
+                    s.samples(), s.mismatches(), s.speedup());
+        }
+    }
+
+    // waits for the samples already taken to be compared, or drops them if interrupted
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void compare(int day, String text) {
+        SAMPLES.increment();
+        var reference = run(Solvers.forDay(day, Engine.REFERENCE).orElseThrow(), text);
+        var optimized = run(Solvers.forDay(day, Engine.OPTIMIZED).orElseThrow(), text);
+        int disagreements = 0;
+        for (int i = 0; i < reference.answers.length; i++) {
+            if (!reference.answers[i].equals(optimized.answers[i])) {
+                disagreements++;
+                mismatch(new Mismatch(day, "part" + (i + 1), reference.answers[i], optimized.answers[i]));
+            }
+        }
+        long mismatched = disagreements > 0 ? 1 : 0;
+        stats.merge(day, new Stats(day, 1, mismatched, reference.nanos, optimized.nanos),
+                (a, b) -> new Stats(day, a.samples + b.samples, a.mismatches + b.mismatches,
+                        a.referenceNanos + b.referenceNanos, a.optimizedNanos + b.optimizedNanos));
+    }
+
+    private void mismatch(Mismatch mismatch) {
+        MISMATCHES.increment();
+        synchronized (mismatches) {
+            if (mismatches.size() == MAX_MISMATCHES) {
+                mismatches.removeFirst();
+            }
+            mismatches.addLast(mismatch);
+        }
+        if (listener != null) {
+            listener.accept(mismatch);
+        }
+    }
+
+    // the answers of both parts, or what went wrong with them, and how long they took
+    private static <I> Outcome run(Solver<I> solver, String text) {
+        var answers = new String[solver.hasPart2() ? 2 : 1];
+        long nanos = 0;
+        try {
+            long start = System.nanoTime();
+            var input = solver.parse(new StringReader(text));
+            answers[0] = answer(() -> solver.part1(input));
+            nanos += System.nanoTime() - start;
+            if (answers.length > 1) {
+                var again = solver.mutatesInput() ? solver.parse(new StringReader(text)) : input;
+                start = System.nanoTime();
+                answers[1] = answer(() -> solver.part2(again));
+                nanos += System.nanoTime() - start;
+            }
+        } catch (Exception e) {
+            for (int i = 0; i < answers.length; i++) {
+                if (answers[i] == null) {
+                    answers[i] = failure(e);
+                }
+            }
+        }
+        return new Outcome(nanos, answers);
+    }
+
+    private interface Part {
+        Object solve() throws IOException;
+    }
+
+    private static String answer(Part part) {
+        try {
+            return String.valueOf(part.solve());
+        } catch (Exception | StackOverflowError e) {
+            return failure(e);
+        }
+    }
+
+    private static String failure(Throwable e) {
+        return "failed: " + e.getClass().getName();
+    }
+
+    private static String text(Reader input) throws IOException {
+        var w = new StringWriter(16384);
+        input.transferTo(w);
+        return w.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package net.alexmiranda.adventofcode2022.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// a step of a simulation, such as a round of the monkeys in day 11 or of the elves in day 23,
+// so that the progress of a solver can be lined up with the samples taken meanwhile. Long
+// simulations emit lots of them, which is why they don't carry a stack trace; they can be turned
+// off altogether in the recording settings, like any other event.
+@Name("aoc.Milestone")
+@Label("Milestone")
+@Category("Advent of Code")
+@Description("A round or an iteration of a simulation")
+@StackTrace(false)
+public final class MilestoneEvent extends Event {
+    @Label("Day")
+    public int day;
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Iteration")
+    public long iteration;
+
+    @Label("Value")
+    @Description("What the iteration achieved, e.g. items inspected or elves moved")
+    public long value;
+
+    public MilestoneEvent(int day, String kind) {
+        this.day = day;
+        this.kind = kind;
+    }
+}
@@ -0,0 +1,21 @@
+package net.alexmiranda.adventofcode2022.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("aoc.Parse")
+@Label("Parse")
+@Category("Advent of Code")
+@Description("Parsing the input of a day")
+public final class ParseEvent extends Event {
+    @Label("Day")
+    public int day;
+
+    @Label("Input Size")
+    @DataAmount
+    public long inputSize;
+}
@@ -0,0 +1,26 @@
+package net.alexmiranda.adventofcode2022.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("aoc.Solve")
+@Label("Solve")
+@Category("Advent of Code")
+@Description("Solving one part of a day")
+public final class SolveEvent extends Event {
+    @Label("Day")
+    public int day;
+
+    @Label("Part")
+    public int part;
+
+    @Label("Answer")
+    public String answer;
+
+    @Label("States Visited")
+    @Description("States the search explored, or -1 when the day doesn't count them or the metrics are off")
+    public long statesVisited;
+}
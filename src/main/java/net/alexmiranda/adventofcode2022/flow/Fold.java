@@ -0,0 +1,139 @@
+package net.alexmiranda.adventofcode2022.flow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import net.alexmiranda.adventofcode2022.metrics.Gauge;
+
+// a subscriber that hands every item over to a step as soon as it arrives, asking for a
+// batch of them at a time, so that nothing but the state kept by the step itself stays
+// around. The step can also tell it to stop, which cancels the subscription
+public final class Fold<T, R> implements Flow.Subscriber<T> {
+    static final int BATCH = 256;
+
+    private final Predicate<? super T> step;
+    private final Supplier<R> finish;
+    private final int batch;
+    private final CompletableFuture<R> result = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private int received;
+
+    public Fold(Predicate<? super T> step, Supplier<R> finish, int batch) {
+        if (batch <= 0) {
+            throw new IllegalArgumentException("batch should be positive: " + batch);
+        }
+        this.step = Objects.requireNonNull(step);
+        this.finish = Objects.requireNonNull(finish);
+        this.batch = batch;
+    }
+
+    // feeds every item to the step and then takes the result
+    public static <T, R> R fold(Flow.Publisher<T> source, Consumer<? super T> step, Supplier<R> finish) {
+        return until(source, item -> {
+            step.accept(item);
+            return true;
+        }, finish);
+    }
+
+    // feeds items to the step for as long as it asks for more
+    public static <T, R> R until(Flow.Publisher<T> source, Predicate<? super T> step, Supplier<R> finish) {
+        var fold = new Fold<T, R>(step, finish, BATCH);
+        source.subscribe(fold);
+        return fold.join();
+    }
+
+    public static <T> long sum(Flow.Publisher<T> source, ToLongFunction<? super T> f) {
+        var sum = new long[1];
+        return fold(source, item -> sum[0] = Math.addExact(sum[0], f.applyAsLong(item)), () -> sum[0]);
+    }
+
+    // for the days that can't do anything before seeing every item: keeps them all, once
+    // parsed, and records how many of them had to be kept
+    public static <T, U> List<U> collect(Flow.Publisher<T> source, Function<? super T, ? extends U> parser,
+            Gauge peak) {
+        var items = new ArrayList<U>();
+        return fold(source, item -> {
+            items.add(parser.apply(item));
+            peak.record(items.size());
+        }, () -> items);
+    }
+
+    public CompletableFuture<R> result() {
+        return result;
+    }
+
+    // waits for the source to complete, rethrowing whatever went wrong with it
+    public R join() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(batch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (result.isDone()) {
+            return;
+        }
+        boolean more;
+        try {
+            more = step.test(item);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            result.completeExceptionally(e);
+            return;
+        }
+        if (!more) {
+            subscription.cancel();
+            onComplete();
+        } else if (++received == batch) {
+            received = 0;
+            subscription.request(batch);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            result.complete(finish.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
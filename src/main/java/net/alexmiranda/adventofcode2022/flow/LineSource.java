@@ -0,0 +1,170 @@
+package net.alexmiranda.adventofcode2022.flow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// pushes the lines of a reader, or groups of them, to a single subscriber, reading no
+// more of them than it asked for. Items are delivered on the thread that requests them,
+// so a subscriber that requests more from onNext doesn't grow the stack, it just keeps
+// the same loop going
+public final class LineSource<T> implements Flow.Publisher<T> {
+    interface Next<T> {
+        // the next item, or null once the reader is exhausted
+        T read(BufferedReader reader) throws IOException;
+    }
+
+    private final BufferedReader reader;
+    private final Next<T> next;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private LineSource(Reader reader, Next<T> next) {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        this.next = next;
+    }
+
+    public static LineSource<String> lines(Reader reader) {
+        return new LineSource<>(reader, BufferedReader::readLine);
+    }
+
+    // the blocks of lines separated by blank lines, e.g. the items carried by every elf
+    public static LineSource<List<String>> records(Reader reader) {
+        return new LineSource<>(reader, LineSource::readRecord);
+    }
+
+    // the text in pieces of at most the given size, for inputs made of a single line
+    public static LineSource<String> chunks(Reader reader, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size should be positive: " + size);
+        }
+        var buf = new char[size];
+        return new LineSource<>(reader, r -> {
+            int n = r.read(buf);
+            return n < 0 ? null : new String(buf, 0, n);
+        });
+    }
+
+    private static List<String> readRecord(BufferedReader reader) throws IOException {
+        String line;
+        // any number of blank lines separate two records
+        while ((line = reader.readLine()) != null && line.isEmpty()) {
+            // keep looking
+        }
+        if (line == null) {
+            return null;
+        }
+        var record = new ArrayList<String>();
+        do {
+            record.add(line);
+        } while ((line = reader.readLine()) != null && !line.isEmpty());
+        return record;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("a line source can only be subscribed once"));
+            return;
+        }
+        var subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        // whoever brings this from zero to one drains, any other caller only adds demand
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean done;
+        private Throwable invalid;
+
+        Subscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                invalid = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            if (pending.getAndIncrement() == 0) {
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!done) {
+                done = true;
+                close();
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                while (!done) {
+                    if (invalid != null) {
+                        fail(invalid);
+                        return;
+                    }
+                    if (demand.get() == 0) {
+                        break;
+                    }
+                    T item;
+                    try {
+                        item = next.read(reader);
+                    } catch (IOException | RuntimeException e) {
+                        fail(e);
+                        return;
+                    }
+                    if (item == null) {
+                        done = true;
+                        close();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(item);
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void fail(Throwable e) {
+            done = true;
+            close();
+            subscriber.onError(e);
+        }
+
+        private void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // nothing else is going to be read from it anyway
+            }
+        }
+    }
+}
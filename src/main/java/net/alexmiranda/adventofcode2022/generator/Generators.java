@@ -0,0 +1,885 @@
+package net.alexmiranda.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// writes random but valid puzzle inputs of any size, so that the solutions can be measured with
+// inputs much larger than the ones bundled with the puzzles. The same day, scale and seed always
+// produce the same input.
+//
+// What the scale stands for depends on the day:
+//
+//   day  1: elves                          day 14: rock paths
+//   day  2: rounds                         day 15: sensors
+//   day  3: rucksacks                      day 16: valves (at most 64)
+//   day  4: pairs of elves                 day 17: jets (at least 1000)
+//   day  5: rearrangement steps            day 18: cubes
+//   day  6: characters                     day 19: blueprints
+//   day  7: files                          day 20: numbers
+//   day  8: trees                          day 21: monkeys
+//   day  9: motions                        day 22: side of the faces of the cube
+//   day 10: (always 240 cycles)            day 23: elves
+//   day 11: items                          day 24: cells of the valley
+//   day 12: squares of the heightmap       day 25: snafu numbers
+//   day 13: pairs of packets
+//
+// A few days can't grow as much as the others, because their solutions rely on limits of the
+// original inputs: the valves of day 16 are tracked in a 64 bit mask, the crt of day 10 has got
+// room for 240 cycles only and the worry levels of day 11 are ints.
+//
+//   ./mvnw -q compile exec:java -Dexec.mainClass=net.alexmiranda.adventofcode2022.generator.Generators \
+//       -Dexec.args="--scale=1000000 --seed=42 --out=target/inputs 1 2 3"
+public final class Generators {
+    public static final long DEFAULT_SEED = 2022;
+
+    interface Generator {
+        void generate(SplittableRandom random, int scale, Writer out) throws IOException;
+    }
+
+    private static final Generator[] GENERATORS = {
+            Generators::day1, Generators::day2, Generators::day3, Generators::day4, Generators::day5,
+            Generators::day6, Generators::day7, Generators::day8, Generators::day9, Generators::day10,
+            Generators::day11, Generators::day12, Generators::day13, Generators::day14, Generators::day15,
+            Generators::day16, Generators::day17, Generators::day18, Generators::day19, Generators::day20,
+            Generators::day21, Generators::day22, Generators::day23, Generators::day24, Generators::day25,
+    };
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private Generators() {
+    }
+
+    public static void generate(int day, int scale, long seed, Writer out) throws IOException {
+        if (day < 1 || day > GENERATORS.length) {
+            throw new IllegalArgumentException("no such day: " + day);
+        }
+        if (scale < 1) {
+            throw new IllegalArgumentException("invalid scale: " + scale);
+        }
+        GENERATORS[day - 1].generate(new SplittableRandom(seed), scale, out);
+        out.flush();
+    }
+
+    public static String generate(int day, int scale, long seed) {
+        var w = new StringWriter();
+        try {
+            generate(day, scale, seed, w);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return w.toString();
+    }
+
+    // writes the input of the given day to dir/2022/day/N/input, the same layout as the bundled
+    // puzzle inputs
+    public static Path write(int day, int scale, long seed, Path dir) throws IOException {
+        var path = dir.resolve("2022/day/" + day + "/input");
+        Files.createDirectories(path.getParent());
+        try (var out = Files.newBufferedWriter(path)) {
+            generate(day, scale, seed, out);
+        }
+        return path;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int scale = 1000;
+        long seed = DEFAULT_SEED;
+        var dir = Path.of("target", "inputs");
+        var days = new ArrayList<Integer>();
+        for (var arg : args) {
+            if (arg.startsWith("--scale=")) {
+                scale = Integer.parseInt(arg.substring("--scale=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--out=")) {
+                dir = Path.of(arg.substring("--out=".length()));
+            } else {
+                days.add(Integer.parseInt(arg));
+            }
+        }
+        if (days.isEmpty()) {
+            for (int day = 1; day <= GENERATORS.length; day++) {
+                days.add(day);
+            }
+        }
+        for (var day : days) {
+            var path = write(day, scale, seed, dir);
+            System.out.printf("day %2d: %s (%d bytes)%n", day, path, Files.size(path));
+        }
+    }
+
+    // calorie counting: a group of 1 to 15 snacks per elf, separated by blank lines
+    static void day1(SplittableRandom random, int scale, Writer out) throws IOException {
+        for (int elf = 0; elf < scale; elf++) {
+            if (elf > 0) {
+                out.write('\n');
+            }
+            int snacks = 1 + random.nextInt(15);
+            for (int i = 0; i < snacks; i++) {
+                out.append(Integer.toString(1000 + random.nextInt(59001))).append('\n');
+            }
+        }
+    }
+
+    // rock paper scissors: one round per line
+    static void day2(SplittableRandom random, int scale, Writer out) throws IOException {
+        for (int i = 0; i < scale; i++) {
+            out.append((char) ('A' + random.nextInt(3))).append(' ').append((char) ('X' + random.nextInt(3)))
+                    .append('\n');
+        }
+    }
+
+    // rucksack reorganization: each rucksack has got exactly one item in both compartments and
+    // each group of three has got exactly one item (the badge) in common
+    static void day3(SplittableRandom random, int scale, Writer out) throws IOException {
+        var order = new int[LETTERS.length()];
+        var allowed = new int[LETTERS.length()];
+        var rucksack = new char[32];
+        for (int group = 0; group < (scale + 2) / 3; group++) {
+            int badge = random.nextInt(LETTERS.length());
+            // every other item is missing from one of the three rucksacks, so that the badge is
+            // the only one that can be common to the whole group
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            shuffle(random, order, order.length);
+            for (int elf = 0; elf < 3; elf++) {
+                int n = 0;
+                for (int i = 0, j = 0; i < order.length; i++) {
+                    if (order[i] == badge || j++ % 3 != elf) {
+                        allowed[n++] = order[i];
+                    }
+                }
+                shuffle(random, allowed, n);
+                // allowed[0] goes in both compartments, the rest of the items in just one
+                int half = 4 + random.nextInt(13);
+                int split = 1 + (n - 1) / 2;
+                int badgeIndex = indexOf(allowed, n, badge);
+                fill(random, rucksack, 0, half, allowed, 1, split);
+                fill(random, rucksack, half, half, allowed, split, n);
+                rucksack[random.nextInt(half)] = LETTERS.charAt(allowed[0]);
+                rucksack[half + random.nextInt(half)] = LETTERS.charAt(allowed[0]);
+                if (badgeIndex > 0) {
+                    // the badge has to be in the rucksack even if it isn't the shared item
+                    int offset = badgeIndex < split ? 0 : half;
+                    int i;
+                    do {
+                        i = offset + random.nextInt(half);
+                    } while (rucksack[i] == LETTERS.charAt(allowed[0]));
+                    rucksack[i] = LETTERS.charAt(badge);
+                }
+                out.write(rucksack, 0, half * 2);
+                out.write('\n');
+            }
+        }
+    }
+
+    private static void fill(SplittableRandom random, char[] rucksack, int offset, int length, int[] items,
+            int from, int to) {
+        for (int i = 0; i < length; i++) {
+            rucksack[offset + i] = LETTERS.charAt(items[from + random.nextInt(to - from)]);
+        }
+    }
+
+    // camp cleanup: a pair of section ranges per line
+    static void day4(SplittableRandom random, int scale, Writer out) throws IOException {
+        for (int i = 0; i < scale; i++) {
+            int a1 = 1 + random.nextInt(99), a2 = a1 + random.nextInt(100 - a1);
+            int b1 = 1 + random.nextInt(99), b2 = b1 + random.nextInt(100 - b1);
+            out.append(a1 + "-" + a2 + "," + b1 + "-" + b2).append('\n');
+        }
+    }
+
+    // supply stacks: 9 stacks of crates followed by the rearrangement steps. Steps never empty a
+    // stack, so there's always a crate on top of each of them at the end
+    static void day5(SplittableRandom random, int scale, Writer out) throws IOException {
+        final int stacks = 9;
+        int maxHeight = 8 + scale / 100;
+        var heights = new int[stacks];
+        for (int i = 0; i < stacks; i++) {
+            heights[i] = 1 + random.nextInt(maxHeight);
+        }
+        heights[0] = Math.max(heights[0], 2);
+
+        int top = 0;
+        for (var height : heights) {
+            top = Math.max(top, height);
+        }
+        var row = new StringBuilder(stacks * 4);
+        for (int level = top - 1; level >= 0; level--) {
+            row.setLength(0);
+            for (int i = 0; i < stacks; i++) {
+                if (i > 0) {
+                    row.append(' ');
+                }
+                if (heights[i] > level) {
+                    row.append('[').append((char) ('A' + random.nextInt(26))).append(']');
+                } else {
+                    row.append("   ");
+                }
+            }
+            out.append(row).append('\n');
+        }
+        for (int i = 0; i < stacks; i++) {
+            out.append(i > 0 ? "  " : " ").append(Integer.toString(i + 1)).append(' ');
+        }
+        out.append("\n\n");
+
+        for (int step = 0; step < scale; step++) {
+            int from;
+            do {
+                from = random.nextInt(stacks);
+            } while (heights[from] < 2);
+            int to = random.nextInt(stacks - 1);
+            if (to >= from) {
+                to++;
+            }
+            int n = 1 + random.nextInt(Math.min(heights[from] - 1, 40));
+            heights[from] -= n;
+            heights[to] += n;
+            out.append("move " + n + " from " + (from + 1) + " to " + (to + 1)).append('\n');
+        }
+    }
+
+    // tuning trouble: the start-of-packet marker shows up around the middle of the datastream and
+    // the start-of-message marker right at the end of it
+    static void day6(SplittableRandom random, int scale, Writer out) throws IOException {
+        int length = Math.max(scale, 32);
+        var data = new char[length];
+        int half = length / 2;
+        for (int i = 0; i < length - 14; i++) {
+            // three different characters can't make up a packet marker, thirteen can't make up a
+            // message marker
+            data[i] = (char) ('a' + random.nextInt(i < half ? 3 : 13));
+        }
+        var last = new int[26];
+        for (int i = 0; i < last.length; i++) {
+            last[i] = i;
+        }
+        shuffle(random, last, last.length);
+        for (int i = 0; i < 14; i++) {
+            data[length - 14 + i] = (char) ('a' + last[i]);
+        }
+        out.write(data);
+        out.write('\n');
+    }
+
+    // no space left on device: a random directory tree explored depth first. The total size of
+    // the files is kept between 40M and 70M so that there's always something to delete
+    static void day7(SplittableRandom random, int scale, Writer out) throws IOException {
+        int files = Math.min(scale, 10_000_000);
+        int dirs = 1 + files / 8;
+        var children = new ArrayList<List<Integer>>(dirs);
+        var sizes = new ArrayList<List<Integer>>(dirs);
+        for (int i = 0; i < dirs; i++) {
+            children.add(new ArrayList<>());
+            sizes.add(new ArrayList<>());
+            if (i > 0) {
+                children.get(random.nextInt(i)).add(i);
+            }
+        }
+        var weights = new int[files];
+        long totalWeight = 0;
+        for (int i = 0; i < files; i++) {
+            weights[i] = 1 + random.nextInt(1000);
+            totalWeight += weights[i];
+        }
+        long total = 40_000_000 + random.nextInt(20_000_000);
+        for (int i = 0; i < files; i++) {
+            int size = (int) Math.max(1, weights[i] * total / totalWeight);
+            sizes.get(random.nextInt(dirs)).add(size);
+        }
+
+        var stack = new ArrayList<int[]>();
+        out.append("$ cd /\n");
+        stack.add(new int[] { 0, -1 });
+        while (!stack.isEmpty()) {
+            var frame = stack.get(stack.size() - 1);
+            int dir = frame[0];
+            if (frame[1] == -1) {
+                out.append("$ ls\n");
+                for (var child : children.get(dir)) {
+                    out.append("dir d").append(Integer.toString(child, 36)).append('\n');
+                }
+                int n = 0;
+                for (var size : sizes.get(dir)) {
+                    out.append(Integer.toString(size)).append(" f").append(Integer.toString(n++, 36))
+                            .append(".txt\n");
+                }
+                frame[1] = 0;
+            }
+            if (frame[1] < children.get(dir).size()) {
+                int child = children.get(dir).get(frame[1]++);
+                out.append("$ cd d").append(Integer.toString(child, 36)).append('\n');
+                stack.add(new int[] { child, -1 });
+            } else {
+                stack.remove(stack.size() - 1);
+                if (!stack.isEmpty()) {
+                    out.append("$ cd ..\n");
+                }
+            }
+        }
+    }
+
+    // treetop tree house: a square grid of tree heights
+    static void day8(SplittableRandom random, int scale, Writer out) throws IOException {
+        int side = Math.max(2, (int) Math.ceil(Math.sqrt(scale)));
+        var row = new char[side + 1];
+        row[side] = '\n';
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                row[j] = (char) ('0' + random.nextInt(10));
+            }
+            out.write(row);
+        }
+    }
+
+    // rope bridge: one motion of the head per line
+    static void day9(SplittableRandom random, int scale, Writer out) throws IOException {
+        for (int i = 0; i < scale; i++) {
+            out.append("RLUD".charAt(random.nextInt(4))).append(' ').append(Integer.toString(1 + random.nextInt(19)))
+                    .append('\n');
+        }
+    }
+
+    // cathode-ray tube: exactly the 240 cycles the crt can draw, whatever the scale
+    static void day10(SplittableRandom random, int scale, Writer out) throws IOException {
+        int cycles = 240;
+        while (cycles > 0) {
+            if (cycles == 1 || random.nextInt(3) == 0) {
+                out.append("noop\n");
+                cycles--;
+            } else {
+                out.append("addx ").append(Integer.toString(random.nextInt(41) - 20)).append('\n');
+                cycles -= 2;
+            }
+        }
+    }
+
+    // monkey in the middle: six monkeys sharing the items between them. The product of their
+    // divisors is small enough for the worry levels to be squared without overflowing an int
+    static void day11(SplittableRandom random, int scale, Writer out) throws IOException {
+        var divisors = new int[] { 2, 3, 5, 7, 11, 13 };
+        int monkeys = divisors.length;
+        shuffle(random, divisors, monkeys);
+        var items = new ArrayList<List<Integer>>(monkeys);
+        for (int i = 0; i < monkeys; i++) {
+            items.add(new ArrayList<>());
+            // every monkey starts with at least one item
+            items.get(i).add(50 + random.nextInt(50));
+        }
+        for (int i = monkeys; i < scale; i++) {
+            items.get(random.nextInt(monkeys)).add(50 + random.nextInt(50));
+        }
+        int squares = random.nextInt(monkeys);
+        for (int i = 0; i < monkeys; i++) {
+            out.append("Monkey ").append(Integer.toString(i)).append(":\n");
+            out.append("  Starting items: ");
+            for (int j = 0; j < items.get(i).size(); j++) {
+                out.append(j > 0 ? ", " : "").append(Integer.toString(items.get(i).get(j)));
+            }
+            out.append('\n');
+            if (i == squares) {
+                out.append("  Operation: new = old * old\n");
+            } else if (random.nextBoolean()) {
+                out.append("  Operation: new = old * ").append(Integer.toString(2 + random.nextInt(18))).append('\n');
+            } else {
+                out.append("  Operation: new = old + ").append(Integer.toString(1 + random.nextInt(8))).append('\n');
+            }
+            out.append("  Test: divisible by ").append(Integer.toString(divisors[i])).append('\n');
+            int whenTrue = (i + 1 + random.nextInt(monkeys - 1)) % monkeys;
+            int whenFalse;
+            do {
+                whenFalse = (i + 1 + random.nextInt(monkeys - 1)) % monkeys;
+            } while (whenFalse == whenTrue);
+            out.append("    If true: throw to monkey ").append(Integer.toString(whenTrue)).append('\n');
+            out.append("    If false: throw to monkey ").append(Integer.toString(whenFalse)).append('\n');
+            out.append('\n');
+        }
+    }
+
+    // hill climbing algorithm: the elevation rises from the top left corner (S) to the bottom
+    // right one (E) with random dips along the way. The first row and the last column are never
+    // dug, so there's always a way up to E.
+    static void day12(SplittableRandom random, int scale, Writer out) throws IOException {
+        int width = Math.max(20, (int) Math.sqrt(scale * 4.0));
+        int height = Math.max(7, scale / width);
+        int distance = width + height - 2;
+        var row = new char[width + 1];
+        row[width] = '\n';
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int elevation = (x + y) * 25 / distance;
+                if (y > 0 && x < width - 1 && random.nextInt(10) < 3) {
+                    elevation = Math.max(0, elevation - random.nextInt(4));
+                }
+                row[x] = (char) ('a' + elevation);
+            }
+            if (y == 0) {
+                row[0] = 'S';
+            }
+            if (y == height - 1) {
+                row[width - 1] = 'E';
+            }
+            out.write(row);
+        }
+    }
+
+    // distress signal: pairs of nested lists separated by blank lines
+    static void day13(SplittableRandom random, int scale, Writer out) throws IOException {
+        var sb = new StringBuilder();
+        for (int i = 0; i < scale; i++) {
+            if (i > 0) {
+                out.write('\n');
+            }
+            for (int j = 0; j < 2; j++) {
+                sb.setLength(0);
+                packet(random, sb, 0);
+                out.append(sb).append('\n');
+            }
+        }
+    }
+
+    private static void packet(SplittableRandom random, StringBuilder sb, int depth) {
+        sb.append('[');
+        int n = random.nextInt(depth == 0 ? 6 : 5);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            if (depth < 4 && random.nextInt(10) < 3) {
+                packet(random, sb, depth + 1);
+            } else {
+                sb.append(random.nextInt(11));
+            }
+        }
+        sb.append(']');
+    }
+
+    // regolith reservoir: horizontal and vertical rock paths below the source of sand. The
+    // reservoir gets deeper (and wider) as the number of paths grows
+    static void day14(SplittableRandom random, int scale, Writer out) throws IOException {
+        int depth = 10 + (int) Math.sqrt(scale) * 4;
+        for (int i = 0; i < scale; i++) {
+            int x = 500 - depth + random.nextInt(depth * 2 + 1);
+            int y = 2 + random.nextInt(depth - 1);
+            int points = 2 + random.nextInt(4);
+            boolean horizontal = random.nextBoolean();
+            out.append(x + "," + y);
+            for (int j = 1; j < points; j++) {
+                int length = 1 + random.nextInt(6);
+                if (horizontal) {
+                    x += random.nextBoolean() ? length : -length;
+                } else {
+                    y = y + length <= depth ? y + length : Math.max(1, y - length);
+                }
+                horizontal = !horizontal;
+                out.append(" -> " + x + "," + y);
+            }
+            out.append('\n');
+        }
+    }
+
+    // beacon exclusion zone: there's a single position within 0..4000000 not covered by any
+    // sensor. Every sensor's closest beacon is nearer than that position, and a sensor close to
+    // each corner of the area covers the whole quadrant between the corner and the position.
+    static void day15(SplittableRandom random, int scale, Writer out) throws IOException {
+        final int max = 4_000_000;
+        int px = 1 + random.nextInt(max - 1), py = 1 + random.nextInt(max - 1);
+        int[][] corners = { { 0, 0 }, { max, 0 }, { 0, max }, { max, max } };
+        for (int i = 0; i < Math.max(scale, corners.length); i++) {
+            int sx, sy, radius;
+            if (i < corners.length) {
+                sx = corners[i][0];
+                sy = corners[i][1];
+                radius = Math.abs(sx - px) + Math.abs(sy - py) - 1;
+            } else {
+                int distance;
+                do {
+                    sx = random.nextInt(max + 1);
+                    sy = random.nextInt(max + 1);
+                    distance = Math.abs(sx - px) + Math.abs(sy - py);
+                } while (distance < 2);
+                radius = distance - 1 - random.nextInt(distance / 4 + 1);
+            }
+            int dx = random.nextInt(radius + 1);
+            int bx = sx + (random.nextBoolean() ? dx : -dx);
+            int by = sy + (random.nextBoolean() ? radius - dx : dx - radius);
+            out.append("Sensor at x=" + sx + ", y=" + sy + ": closest beacon is at x=" + bx + ", y=" + by)
+                    .append('\n');
+        }
+    }
+
+    // proboscidea volcanium: a connected network of valves starting at AA, about a third of them
+    // (up to 15) with a working flow rate
+    static void day16(SplittableRandom random, int scale, Writer out) throws IOException {
+        int valves = Math.max(2, Math.min(scale, 64));
+        var names = new ArrayList<String>(valves);
+        names.add("AA");
+        var taken = new HashSet<>(names);
+        while (names.size() < valves) {
+            var name = "" + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26));
+            if (taken.add(name)) {
+                names.add(name);
+            }
+        }
+        var tunnels = new ArrayList<List<Integer>>(valves);
+        for (int i = 0; i < valves; i++) {
+            tunnels.add(new ArrayList<>());
+            if (i > 0) {
+                connect(tunnels, i, random.nextInt(i));
+            }
+        }
+        for (int i = 0; i < valves / 2; i++) {
+            int a = random.nextInt(valves), b = random.nextInt(valves);
+            if (a != b && !tunnels.get(a).contains(b)) {
+                connect(tunnels, a, b);
+            }
+        }
+        var flowRates = new int[valves];
+        int working = Math.min(15, Math.max(1, valves / 3));
+        while (working > 0) {
+            int i = 1 + random.nextInt(valves - 1);
+            if (flowRates[i] == 0) {
+                flowRates[i] = 1 + random.nextInt(25);
+                working--;
+            }
+        }
+        for (int i = 0; i < valves; i++) {
+            var leadsTo = tunnels.get(i);
+            out.append("Valve " + names.get(i) + " has flow rate=" + flowRates[i]);
+            out.append(leadsTo.size() == 1 ? "; tunnel leads to valve " : "; tunnels lead to valves ");
+            for (int j = 0; j < leadsTo.size(); j++) {
+                out.append(j > 0 ? ", " : "").append(names.get(leadsTo.get(j)));
+            }
+            out.append('\n');
+        }
+    }
+
+    private static void connect(List<List<Integer>> tunnels, int a, int b) {
+        tunnels.get(a).add(b);
+        tunnels.get(b).add(a);
+    }
+
+    // pyroclastic flow: a single line of at least 1000 jets, in short runs that alternate their
+    // direction like the original ones do. Short patterns (like the one of the example) can
+    // leave a column of the chamber empty forever, and a rock pile without full rows never gets
+    // compacted back to a state seen before, so the cycle would never be found
+    static void day17(SplittableRandom random, int scale, Writer out) throws IOException {
+        scale = Math.max(scale, 1000);
+        var jets = new char[scale + 1];
+        char jet = random.nextBoolean() ? '<' : '>';
+        for (int i = 0; i < scale;) {
+            int run = Math.min(1 + random.nextInt(4), scale - i);
+            Arrays.fill(jets, i, i + run, jet);
+            i += run;
+            jet = jet == '<' ? '>' : '<';
+        }
+        jets[scale] = '\n';
+        out.write(jets);
+    }
+
+    // boiling boulders: distinct cubes filling about a quarter of a cubic region
+    static void day18(SplittableRandom random, int scale, Writer out) throws IOException {
+        int cubes = Math.min(scale, 100_000_000);
+        int side = Math.max(2, (int) Math.ceil(Math.cbrt(cubes * 4.0)));
+        var taken = new BitSet();
+        for (int i = 0; i < cubes; i++) {
+            int x, y, z;
+            do {
+                x = random.nextInt(side);
+                y = random.nextInt(side);
+                z = random.nextInt(side);
+            } while (taken.get((x * side + y) * side + z));
+            taken.set((x * side + y) * side + z);
+            out.append((x + 1) + "," + (y + 1) + "," + (z + 1)).append('\n');
+        }
+    }
+
+    // not enough minerals: blueprints with costs in the same ranges as the original ones
+    static void day19(SplittableRandom random, int scale, Writer out) throws IOException {
+        for (int id = 1; id <= scale; id++) {
+            out.append("Blueprint " + id + ": Each ore robot costs " + (2 + random.nextInt(3))
+                    + " ore. Each clay robot costs " + (2 + random.nextInt(3))
+                    + " ore. Each obsidian robot costs " + (2 + random.nextInt(3)) + " ore and "
+                    + (4 + random.nextInt(17)) + " clay. Each geode robot costs " + (2 + random.nextInt(3))
+                    + " ore and " + (5 + random.nextInt(16)) + " obsidian.").append('\n');
+        }
+    }
+
+    // grove positioning system: numbers with a single zero among them
+    static void day20(SplittableRandom random, int scale, Writer out) throws IOException {
+        int zero = random.nextInt(scale);
+        for (int i = 0; i < scale; i++) {
+            int n = 0;
+            while (i != zero && n == 0) {
+                n = random.nextInt(20001) - 10000;
+            }
+            out.append(Integer.toString(n)).append('\n');
+        }
+    }
+
+    // monkey math: a random expression tree with humn somewhere below root. Values are chosen
+    // from the top down, so that every division is exact and every number fits an int, and the
+    // branch that depends on humn only adds, subtracts and multiplies so that it can be inverted.
+    static void day21(SplittableRandom random, int scale, Writer out) throws IOException {
+        int leaves = Math.max(2, (Math.min(scale, 200_001) + 1) / 2);
+        int nodes = leaves * 2 - 1;
+        var left = new int[nodes];
+        var right = new int[nodes];
+        var ops = new char[nodes];
+        var values = new long[nodes];
+        // the shape of the tree, built as a random binary search tree would be
+        int next = 1;
+        var pending = new ArrayList<int[]>();
+        pending.add(new int[] { 0, leaves });
+        while (!pending.isEmpty()) {
+            var node = pending.remove(pending.size() - 1);
+            if (node[1] == 1) {
+                left[node[0]] = -1;
+                continue;
+            }
+            int split = 1 + random.nextInt(node[1] - 1);
+            left[node[0]] = next++;
+            right[node[0]] = next++;
+            pending.add(new int[] { left[node[0]], split });
+            pending.add(new int[] { right[node[0]], node[1] - split });
+        }
+
+        // humn is a random leaf, and the path from root down to it is the branch to invert
+        var onPath = new boolean[nodes];
+        int humn = 0;
+        onPath[0] = true;
+        while (left[humn] >= 0) {
+            humn = random.nextBoolean() ? left[humn] : right[humn];
+            onPath[humn] = true;
+        }
+
+        // both sides of root are equal once humn yells the right number
+        long target = 1 + random.nextInt(1_000_000);
+        ops[0] = '+';
+        values[left[0]] = target;
+        values[right[0]] = target;
+        for (int i = 1; i < nodes; i++) {
+            if (left[i] < 0) {
+                continue;
+            }
+            long t = values[i];
+            boolean human = onPath[i];
+            boolean humanLeft = human && onPath[left[i]];
+            int divisor = smallDivisor(random, t);
+            int op = random.nextInt(human ? 3 : 4);
+            if (op == 2 && divisor == 0) {
+                op = t > 1 ? 0 : 1;
+            }
+            if (op == 3 && t > 100_000) {
+                op = 1;
+            }
+            if (op == 0 && t < 2) {
+                op = 1;
+            }
+            long a, b;
+            switch (op) {
+                case 0 -> {
+                    ops[i] = '+';
+                    a = 1 + random.nextLong(t - 1);
+                    b = t - a;
+                }
+                case 1 -> {
+                    ops[i] = '-';
+                    b = 1 + random.nextInt(100);
+                    a = t + b;
+                }
+                case 2 -> {
+                    ops[i] = '*';
+                    // the constant side of humn's branch is always the divisor
+                    a = humanLeft || !human ? t / divisor : divisor;
+                    b = humanLeft || !human ? divisor : t / divisor;
+                }
+                default -> {
+                    ops[i] = '/';
+                    b = 2 + random.nextInt(8);
+                    a = t * b;
+                }
+            }
+            values[left[i]] = a;
+            values[right[i]] = b;
+        }
+
+        var names = new String[nodes];
+        var taken = new HashSet<String>();
+        taken.add("root");
+        taken.add("humn");
+        names[0] = "root";
+        names[humn] = "humn";
+        var name = new char[4];
+        for (int i = 1; i < nodes; i++) {
+            if (i == humn) {
+                continue;
+            }
+            do {
+                for (int j = 0; j < name.length; j++) {
+                    name[j] = (char) ('a' + random.nextInt(26));
+                }
+            } while (!taken.add(new String(name)));
+            names[i] = new String(name);
+        }
+        // the number humn yells in the first part is unrelated to the one that passes the test
+        values[humn] = 1 + random.nextInt(10_000);
+
+        var order = new int[nodes];
+        for (int i = 0; i < nodes; i++) {
+            order[i] = i;
+        }
+        shuffle(random, order, nodes);
+        for (var i : order) {
+            out.append(names[i]).append(": ");
+            if (left[i] < 0) {
+                out.append(Long.toString(values[i]));
+            } else {
+                out.append(names[left[i]]).append(' ').append(ops[i]).append(' ').append(names[right[i]]);
+            }
+            out.append('\n');
+        }
+    }
+
+    // a divisor between 2 and 9 of n, or zero if there isn't any
+    private static int smallDivisor(SplittableRandom random, long n) {
+        int start = random.nextInt(8);
+        for (int i = 0; i < 8; i++) {
+            int d = 2 + (start + i) % 8;
+            if (n % d == 0 && n / d > 0) {
+                return d;
+            }
+        }
+        return 0;
+    }
+
+    // monkey map: a board shaped like the original net of the cube, six faces of the given size,
+    // followed by the path to walk on it
+    static void day22(SplittableRandom random, int scale, Writer out) throws IOException {
+        int size = Math.max(4, Math.min(scale, 5000));
+        // first and last column (in faces) of each row of faces
+        int[][] layout = { { 1, 2 }, { 1, 1 }, { 0, 1 }, { 0, 0 } };
+        var row = new StringBuilder(size * 3 + 1);
+        for (int r = 0; r < size * layout.length; r++) {
+            var faces = layout[r / size];
+            row.setLength(0);
+            row.append(" ".repeat(faces[0] * size));
+            for (int c = faces[0] * size; c < (faces[1] + 1) * size; c++) {
+                row.append(random.nextInt(10) == 0 ? '#' : '.');
+            }
+            if (r == 0) {
+                // the starting tile
+                row.setCharAt(faces[0] * size, '.');
+            }
+            out.append(row).append('\n');
+        }
+        out.write('\n');
+        int moves = size * 20;
+        for (int i = 0; i < moves; i++) {
+            out.append(Integer.toString(1 + random.nextInt(50)));
+            if (i < moves - 1) {
+                out.append(random.nextBoolean() ? 'L' : 'R');
+            }
+        }
+        out.write('\n');
+    }
+
+    // unstable diffusion: elves scattered all over a square grid
+    static void day23(SplittableRandom random, int scale, Writer out) throws IOException {
+        int elves = Math.min(scale, 100_000_000);
+        int side = Math.max(2, (int) Math.ceil(Math.sqrt(elves / 0.3)));
+        var grove = new BitSet(side * side);
+        for (int i = 0; i < elves; i++) {
+            int pos;
+            do {
+                pos = random.nextInt(side * side);
+            } while (grove.get(pos));
+            grove.set(pos);
+        }
+        var row = new char[side + 1];
+        row[side] = '\n';
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                row[x] = grove.get(y * side + x) ? '#' : '.';
+            }
+            out.write(row);
+        }
+    }
+
+    // blizzard basin: a valley four or more times wider than deep, with the width a multiple of
+    // the depth so that the blizzards come back to the same places every width minutes. There
+    // are no vertical blizzards right below the entrance or above the exit.
+    static void day24(SplittableRandom random, int scale, Writer out) throws IOException {
+        int depth = Math.max(3, (int) Math.sqrt(scale / 4.0));
+        int width = depth * Math.max(1, (int) Math.round((double) scale / depth / depth));
+        var row = new char[width + 3];
+        row[width + 2] = '\n';
+        Arrays.fill(row, 0, width + 2, '#');
+        row[1] = '.';
+        out.write(row);
+        for (int y = 0; y < depth; y++) {
+            row[0] = '#';
+            row[width + 1] = '#';
+            for (int x = 1; x <= width; x++) {
+                char c = '.';
+                if (random.nextInt(10) < 3) {
+                    boolean vertical = x != 1 && x != width && random.nextBoolean();
+                    c = vertical ? (random.nextBoolean() ? '^' : 'v') : (random.nextBoolean() ? '<' : '>');
+                }
+                row[x] = c;
+            }
+            out.write(row);
+        }
+        Arrays.fill(row, 0, width + 2, '#');
+        row[width] = '.';
+        out.write(row);
+    }
+
+    // full of hot air: snafu numbers whose sum still fits a long
+    static void day25(SplittableRandom random, int scale, Writer out) throws IOException {
+        long max = Math.min(1_000_000_000_000L, Long.MAX_VALUE / 2 / scale);
+        for (int i = 0; i < scale; i++) {
+            out.append(snafu(1 + random.nextLong(max))).append('\n');
+        }
+    }
+
+    static String snafu(long n) {
+        var sb = new StringBuilder();
+        while (n != 0) {
+            int digit = (int) (n % 5);
+            sb.append("012=-".charAt(digit));
+            n = (n + 2) / 5;
+        }
+        return sb.reverse().toString();
+    }
+
+    private static void shuffle(SplittableRandom random, int[] a, int n) {
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = a[i];
+            a[i] = a[j];
+            a[j] = tmp;
+        }
+    }
+
+    private static int indexOf(int[] a, int n, int value) {
+        for (int i = 0; i < n; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,98 @@
+package net.alexmiranda.adventofcode2022.grid;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+
+public final class ByteGrid extends FlatGrid {
+    private final byte[] cells;
+
+    public ByteGrid(int rows, int cols, int padding) {
+        this(rows, cols, padding, 1);
+    }
+
+    public ByteGrid(int rows, int cols, int padding, int cellWidth) {
+        super(rows, cols, padding, cellWidth);
+        this.cells = new byte[size];
+    }
+
+    private ByteGrid(ByteGrid other) {
+        super(other.rows, other.cols, other.padding, other.cellWidth);
+        this.cells = other.cells.clone();
+    }
+
+    // one cell per character, the padding is filled with the given value
+    public static ByteGrid parse(List<? extends CharSequence> lines, int padding, byte border,
+            CellDecoder decoder) {
+        var grid = new ByteGrid(lines.size(), checkLines(lines), padding);
+        grid.fill(border);
+        for (int row = 0; row < grid.rows; row++) {
+            var line = lines.get(row);
+            int index = grid.index(row, 0);
+            for (int col = 0; col < grid.cols; col++) {
+                grid.cells[index++] = (byte) decoder.decode(line.charAt(col));
+            }
+        }
+        return grid;
+    }
+
+    // the same, reading the lines straight from the bytes of the input: a first pass over them
+    // finds out the size of the grid, and a second one decodes their cells
+    public static ByteGrid parse(ByteCursor input, int padding, byte border, CellDecoder decoder) {
+        var line = new ByteCursor();
+        var lines = input.slice(input.position(), input.limit());
+        int rows = 0;
+        int cols = -1;
+        while (lines.nextLine(line)) {
+            if (cols < 0) {
+                cols = line.remaining();
+            } else if (line.remaining() != cols) {
+                throw new IllegalArgumentException("every line should have " + cols + " cells: " + line);
+            }
+            rows++;
+        }
+        if (rows == 0) {
+            throw new IllegalArgumentException("no lines to read the grid from");
+        }
+
+        var grid = new ByteGrid(rows, cols, padding);
+        grid.fill(border);
+        for (int row = 0; input.nextLine(line); row++) {
+            int index = grid.index(row, 0);
+            for (int i = line.position(); i < line.limit(); i++) {
+                grid.cells[index++] = (byte) decoder.decode((char) (line.get(i) & 0xff));
+            }
+        }
+        return grid;
+    }
+
+    // the backing array, for the loops that can't afford a call per cell
+    public byte[] cells() {
+        return cells;
+    }
+
+    public byte get(int index) {
+        return cells[index];
+    }
+
+    public byte get(int row, int col) {
+        return cells[index(row, col)];
+    }
+
+    public void set(int index, byte value) {
+        cells[index] = value;
+    }
+
+    public void set(int row, int col, byte value) {
+        cells[index(row, col)] = value;
+    }
+
+    public void fill(byte value) {
+        Arrays.fill(cells, value);
+    }
+
+    public ByteGrid copy() {
+        return new ByteGrid(this);
+    }
+}
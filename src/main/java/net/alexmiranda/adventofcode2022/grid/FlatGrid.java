@@ -0,0 +1,170 @@
+package net.alexmiranda.adventofcode2022.grid;
+
+import java.util.List;
+
+// the geometry of a grid stored row by row in a single primitive array, which the subclasses
+// provide. Every cell takes cellWidth consecutive elements, and the grid may be surrounded by
+// a border of padding cells, so that looking at the neighbours of any cell of the grid itself
+// never falls outside of the array: filling the border with a value the search never accepts
+// (a wall, a height out of reach) takes the bounds checks out of the inner loops.
+//
+// Indices are positions in the backing array, rows and columns are those of the grid without
+// its padding, so the cell at row 0 and column 0 is the first one that isn't padding.
+public abstract class FlatGrid {
+    // the order of the offsets returned by orthogonalOffsets
+    public static final int NORTH = 0;
+    public static final int EAST = 1;
+    public static final int SOUTH = 2;
+    public static final int WEST = 3;
+
+    public enum Sweep {
+        LEFT_TO_RIGHT, RIGHT_TO_LEFT, TOP_TO_BOTTOM, BOTTOM_TO_TOP
+    }
+
+    // visits one row or column of a sweep, whose cells are at first, first + step, and so on
+    @FunctionalInterface
+    public interface LineVisitor {
+        void visit(int first, int step, int length);
+    }
+
+    @FunctionalInterface
+    public interface CellDecoder {
+        int decode(char c);
+    }
+
+    @FunctionalInterface
+    public interface CellVisitor {
+        void visit(int index, int row, int col);
+    }
+
+    protected final int rows;
+    protected final int cols;
+    protected final int padding;
+    protected final int cellWidth;
+    protected final int stride;
+    protected final int size;
+
+    protected FlatGrid(int rows, int cols, int padding, int cellWidth) {
+        if (rows <= 0 || cols <= 0 || padding < 0 || cellWidth <= 0) {
+            throw new IllegalArgumentException(
+                    "invalid grid: " + rows + "x" + cols + ", padding " + padding + ", cell width " + cellWidth);
+        }
+        long size = (long) (rows + 2 * padding) * (cols + 2 * padding) * cellWidth;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("grid too large: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.padding = padding;
+        this.cellWidth = cellWidth;
+        this.stride = (cols + 2 * padding) * cellWidth;
+        this.size = (int) size;
+    }
+
+    public final int rows() {
+        return rows;
+    }
+
+    public final int cols() {
+        return cols;
+    }
+
+    public final int padding() {
+        return padding;
+    }
+
+    public final int cellWidth() {
+        return cellWidth;
+    }
+
+    // the distance between a cell and the one below it
+    public final int stride() {
+        return stride;
+    }
+
+    // the length of the backing array, padding included
+    public final int size() {
+        return size;
+    }
+
+    // rows and columns within the padding, i.e. down to -padding, are valid as well
+    public final int index(int row, int col) {
+        return (row + padding) * stride + (col + padding) * cellWidth;
+    }
+
+    public final int row(int index) {
+        return index / stride - padding;
+    }
+
+    public final int col(int index) {
+        return (index % stride) / cellWidth - padding;
+    }
+
+    public final boolean inside(int index) {
+        int row = row(index);
+        int col = col(index);
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    public final int offset(int dRow, int dCol) {
+        return dRow * stride + dCol * cellWidth;
+    }
+
+    public final int[] orthogonalOffsets() {
+        return new int[] { -stride, cellWidth, stride, -cellWidth };
+    }
+
+    // clockwise from the north
+    public final int[] allOffsets() {
+        return new int[] { -stride, -stride + cellWidth, cellWidth, stride + cellWidth,
+                stride, stride - cellWidth, -cellWidth, -stride - cellWidth };
+    }
+
+    public final void forEachCell(CellVisitor visitor) {
+        for (int row = 0; row < rows; row++) {
+            int index = index(row, 0);
+            for (int col = 0; col < cols; col++, index += cellWidth) {
+                visitor.visit(index, row, col);
+            }
+        }
+    }
+
+    // visits every row (or column) of the grid without its padding, in the given direction
+    public final void sweep(Sweep sweep, LineVisitor visitor) {
+        switch (sweep) {
+            case LEFT_TO_RIGHT -> {
+                for (int row = 0; row < rows; row++) {
+                    visitor.visit(index(row, 0), cellWidth, cols);
+                }
+            }
+            case RIGHT_TO_LEFT -> {
+                for (int row = 0; row < rows; row++) {
+                    visitor.visit(index(row, cols - 1), -cellWidth, cols);
+                }
+            }
+            case TOP_TO_BOTTOM -> {
+                for (int col = 0; col < cols; col++) {
+                    visitor.visit(index(0, col), stride, rows);
+                }
+            }
+            case BOTTOM_TO_TOP -> {
+                for (int col = 0; col < cols; col++) {
+                    visitor.visit(index(rows - 1, col), -stride, rows);
+                }
+            }
+        }
+    }
+
+    static int checkLines(List<? extends CharSequence> lines) {
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("no lines to read the grid from");
+        }
+        int cols = lines.get(0).length();
+        for (var line : lines) {
+            if (line.length() != cols) {
+                throw new IllegalArgumentException("every line should have " + cols + " cells: " + line);
+            }
+        }
+        return cols;
+    }
+}
@@ -0,0 +1,66 @@
+package net.alexmiranda.adventofcode2022.grid;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class IntGrid extends FlatGrid {
+    private final int[] cells;
+
+    public IntGrid(int rows, int cols, int padding) {
+        this(rows, cols, padding, 1);
+    }
+
+    public IntGrid(int rows, int cols, int padding, int cellWidth) {
+        super(rows, cols, padding, cellWidth);
+        this.cells = new int[size];
+    }
+
+    private IntGrid(IntGrid other) {
+        super(other.rows, other.cols, other.padding, other.cellWidth);
+        this.cells = other.cells.clone();
+    }
+
+    // one cell per character, the padding is filled with the given value
+    public static IntGrid parse(List<? extends CharSequence> lines, int padding, int border,
+            CellDecoder decoder) {
+        var grid = new IntGrid(lines.size(), checkLines(lines), padding);
+        grid.fill(border);
+        for (int row = 0; row < grid.rows; row++) {
+            var line = lines.get(row);
+            int index = grid.index(row, 0);
+            for (int col = 0; col < grid.cols; col++) {
+                grid.cells[index++] = decoder.decode(line.charAt(col));
+            }
+        }
+        return grid;
+    }
+
+    // the backing array, for the loops that can't afford a call per cell
+    public int[] cells() {
+        return cells;
+    }
+
+    public int get(int index) {
+        return cells[index];
+    }
+
+    public int get(int row, int col) {
+        return cells[index(row, col)];
+    }
+
+    public void set(int index, int value) {
+        cells[index] = value;
+    }
+
+    public void set(int row, int col, int value) {
+        cells[index(row, col)] = value;
+    }
+
+    public void fill(int value) {
+        Arrays.fill(cells, value);
+    }
+
+    public IntGrid copy() {
+        return new IntGrid(this);
+    }
+}
@@ -0,0 +1,281 @@
+package net.alexmiranda.adventofcode2022.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+// a forward-only cursor over a region of a byte buffer, typically a memory mapped input
+// file. Tokens are decoded straight from the bytes, so reading numbers or lines doesn't
+// create any String or boxed values.
+public final class ByteCursor {
+    private ByteBuffer buffer;
+    private int position;
+    private int limit;
+
+    public ByteCursor() {
+        this(ByteBuffer.allocate(0));
+    }
+
+    public ByteCursor(ByteBuffer buffer) {
+        this(buffer, buffer.position(), buffer.limit());
+    }
+
+    public ByteCursor(ByteBuffer buffer, int position, int limit) {
+        reset(buffer, position, limit);
+    }
+
+    public static ByteCursor of(byte[] bytes) {
+        return new ByteCursor(ByteBuffer.wrap(bytes));
+    }
+
+    public static ByteCursor of(String s) {
+        return of(s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // reads everything from a readable source; only meant for the small inputs
+    // coming from readers, as the big ones should be mapped instead. Just like
+    // Scanner, it doesn't force callers to deal with IOException
+    public static ByteCursor read(Readable input) {
+        var sb = new StringBuilder(4096);
+        var chars = CharBuffer.allocate(4096);
+        try {
+            while (input.read(chars) != -1) {
+                chars.flip();
+                sb.append(chars);
+                chars.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return of(sb.toString());
+    }
+
+    ByteCursor reset(ByteBuffer buffer, int position, int limit) {
+        if (position < 0 || limit > buffer.limit() || position > limit) {
+            throw new IndexOutOfBoundsException("invalid region: [" + position + ", " + limit + ")");
+        }
+        this.buffer = buffer;
+        this.position = position;
+        this.limit = limit;
+        return this;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int remaining() {
+        return limit - position;
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    public void position(int position) {
+        if (position < 0 || position > limit) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        this.position = position;
+    }
+
+    public byte peek() {
+        if (position >= limit) {
+            throw new NoSuchElementException();
+        }
+        return buffer.get(position);
+    }
+
+    public byte next() {
+        if (position >= limit) {
+            throw new NoSuchElementException();
+        }
+        return buffer.get(position++);
+    }
+
+    // absolute access relative to the underlying buffer, it doesn't move the cursor
+    public byte get(int index) {
+        return buffer.get(index);
+    }
+
+    // the four bytes from the index on as a big-endian int, e.g. a whole fixed size record
+    // in a single read
+    public int getInt(int index) {
+        return buffer.getInt(index);
+    }
+
+    public void skip(int n) {
+        position(position + n);
+    }
+
+    // moves the cursor past the next occurrence of the delimiter. Returns false and moves
+    // to the end of the region if the delimiter isn't found.
+    public boolean skipTo(byte delimiter) {
+        int i = indexOf(delimiter);
+        if (i < 0) {
+            position = limit;
+            return false;
+        }
+        position = i + 1;
+        return true;
+    }
+
+    // position of the next occurrence of the delimiter, or -1
+    public int indexOf(byte delimiter) {
+        for (int i = position; i < limit; i++) {
+            if (buffer.get(i) == delimiter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // skips anything that isn't part of a number and then decodes the next (optionally
+    // negative) integer.
+    public int nextInt() {
+        long n = nextLong();
+        if (n < Integer.MIN_VALUE || n > Integer.MAX_VALUE) {
+            throw new NumberFormatException("integer overflow: " + n);
+        }
+        return (int) n;
+    }
+
+    public long nextLong() {
+        if (!skipToNumber()) {
+            throw new NoSuchElementException();
+        }
+        boolean negative = false;
+        if (buffer.get(position) == '-') {
+            negative = true;
+            position++;
+        }
+        long n = 0;
+        while (position < limit) {
+            int d = buffer.get(position) - '0';
+            if (d < 0 || d > 9) {
+                break;
+            }
+            n = Math.addExact(Math.multiplyExact(n, 10), d);
+            position++;
+        }
+        return negative ? -n : n;
+    }
+
+    // moves the cursor to the next digit (or minus sign followed by a digit) and returns
+    // whether there's one.
+    public boolean skipToNumber() {
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (isDigit(b)) {
+                return true;
+            }
+            if (b == '-' && position + 1 < limit && isDigit(buffer.get(position + 1))) {
+                return true;
+            }
+            position++;
+        }
+        return false;
+    }
+
+    // points the given cursor at the next line (without its terminator) and moves past it.
+    // The same line cursor can be reused for every line, so scanning a file line by line
+    // allocates nothing.
+    public boolean nextLine(ByteCursor line) {
+        if (position >= limit) {
+            return false;
+        }
+        int end = indexOf((byte) '\n');
+        int next;
+        if (end < 0) {
+            end = limit;
+            next = limit;
+        } else {
+            next = end + 1;
+        }
+        if (end > position && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        line.reset(buffer, position, end);
+        position = next;
+        return true;
+    }
+
+    public ByteCursor nextLine() {
+        var line = new ByteCursor();
+        if (!nextLine(line)) {
+            throw new NoSuchElementException();
+        }
+        return line;
+    }
+
+    // whether the bytes from the position up to end finish with a blank line, i.e. a line
+    // break preceded by another one, optionally with a carriage return in between: the end
+    // of a record of an input made of blank line separated records
+    public boolean endsRecord(int end) {
+        if (end - position < 2 || buffer.get(end - 1) != '\n') {
+            return false;
+        }
+        int i = end - 2;
+        if (buffer.get(i) == '\r') {
+            i--;
+        }
+        return i >= position && buffer.get(i) == '\n';
+    }
+
+    // a new cursor over [from, to) of the same buffer
+    public ByteCursor slice(int from, int to) {
+        return new ByteCursor(buffer, from, to);
+    }
+
+    // the rest of the region in at most n slices of about the same size, every one of them
+    // but the last ending right after a line break, so that no line is split between two
+    public List<ByteCursor> split(int n) {
+        return split(n, end -> buffer.get(end - 1) == '\n');
+    }
+
+    // the same, ending the slices wherever boundary holds for the index right after them,
+    // e.g. endsRecord so that no record is split between two. Every slice but the last is at
+    // least the n-th part of the region (rounded up), which is what keeps them to n at most.
+    public List<ByteCursor> split(int n, IntPredicate boundary) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("invalid number of slices: " + n);
+        }
+        var slices = new ArrayList<ByteCursor>(n);
+        int from = position;
+        long step = Math.max(1, ((long) remaining() + n - 1) / n);
+        while (from < limit) {
+            int to = (int) Math.min(limit, from + step);
+            while (to < limit && !boundary.test(to)) {
+                to++;
+            }
+            slices.add(slice(from, to));
+            from = to;
+        }
+        return slices;
+    }
+
+    public boolean isEmpty() {
+        return position >= limit;
+    }
+
+    @Override
+    public String toString() {
+        var bytes = new byte[remaining()];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
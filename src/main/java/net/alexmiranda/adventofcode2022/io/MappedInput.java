@@ -0,0 +1,79 @@
+package net.alexmiranda.adventofcode2022.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// memory maps input files so that they can be parsed straight from the page cache through
+// ByteCursors, without decoding them into characters.
+public final class MappedInput {
+    // a single mapping can't be larger than 2GB
+    public static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private MappedInput() {
+    }
+
+    public static ByteCursor map(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_SEGMENT_SIZE) {
+                throw new IOException(path + " is too large to be mapped at once (" + size
+                        + " bytes), map it in segments instead");
+            }
+            return new ByteCursor(channel.map(MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    // maps a file of any size as a list of segments of at most segmentSize bytes each.
+    // Segments always end right after a line break (or at the end of the file), so no line
+    // is ever split between two of them.
+    public static List<ByteCursor> map(Path path, long segmentSize) throws IOException {
+        return map(path, segmentSize, false);
+    }
+
+    // like map, but segments end right after a blank line instead, so that no record of an
+    // input made of blank line separated records (e.g. the items carried by every elf) is
+    // ever split between two of them.
+    public static List<ByteCursor> mapRecords(Path path) throws IOException {
+        return mapRecords(path, MAX_SEGMENT_SIZE);
+    }
+
+    public static List<ByteCursor> mapRecords(Path path, long segmentSize) throws IOException {
+        return map(path, segmentSize, true);
+    }
+
+    private static List<ByteCursor> map(Path path, long segmentSize, boolean records) throws IOException {
+        if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("invalid segment size: " + segmentSize);
+        }
+        var segments = new ArrayList<ByteCursor>();
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                long length = Math.min(segmentSize, size - offset);
+                MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, offset, length);
+                var segment = new ByteCursor(buffer, 0, (int) length);
+                int end = (int) length;
+                if (offset + length < size) {
+                    // give the partial last line (or record) back to the next segment
+                    while (end > 0 && !(records ? segment.endsRecord(end) : segment.get(end - 1) == '\n')) {
+                        end--;
+                    }
+                    if (end == 0) {
+                        throw new IOException((records ? "record" : "line")
+                                + " longer than the segment size at offset " + offset);
+                    }
+                }
+                segments.add(segment.slice(0, end));
+                offset += end;
+            }
+        }
+        return segments;
+    }
+}
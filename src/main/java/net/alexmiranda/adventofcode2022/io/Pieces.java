@@ -0,0 +1,83 @@
+package net.alexmiranda.adventofcode2022.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+
+// works through the segments of a mapped file (see MappedInput) at the same time: every segment
+// is split further into a piece per thread, and each piece handed over to a pool of threads of
+// its own, whose results are then put together in the order of the pieces.
+public final class Pieces {
+    public interface Task<T> {
+        T apply(ByteCursor piece, int index);
+    }
+
+    private Pieces() {
+    }
+
+    // a piece per thread of every segment, none of them splitting a line
+    public static List<ByteCursor> split(List<ByteCursor> segments, int threads) {
+        var pieces = new ArrayList<ByteCursor>();
+        for (var segment : segments) {
+            pieces.addAll(segment.split(threads));
+        }
+        return pieces;
+    }
+
+    // the same, none of them splitting a blank line separated record
+    public static List<ByteCursor> splitRecords(List<ByteCursor> segments, int threads) {
+        var pieces = new ArrayList<ByteCursor>();
+        for (var segment : segments) {
+            pieces.addAll(segment.split(threads, segment::endsRecord));
+        }
+        return pieces;
+    }
+
+    // the result of every piece, in order, along with its index among them. A single thread
+    // (or piece) needs no pool, and works through them on the caller's thread instead.
+    public static <T> List<T> map(List<ByteCursor> pieces, int threads, Task<T> task) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("invalid number of threads: " + threads);
+        }
+        var results = new ArrayList<T>(pieces.size());
+        if (threads == 1 || pieces.size() <= 1) {
+            for (int i = 0; i < pieces.size(); i++) {
+                results.add(task.apply(pieces.get(i), i));
+            }
+            return results;
+        }
+        var pool = new ForkJoinPool(threads);
+        try {
+            var futures = new ArrayList<CompletableFuture<T>>(pieces.size());
+            for (int i = 0; i < pieces.size(); i++) {
+                int index = i;
+                futures.add(CompletableFuture.supplyAsync(() -> task.apply(pieces.get(index), index), pool));
+            }
+            for (var future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            // what the task threw, e.g. the IllegalArgumentException of a malformed piece
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+
+    // the results of every piece merged into the identity, in the order of the pieces
+    public static <T> T mapReduce(List<ByteCursor> pieces, int threads, Task<T> task, T identity,
+            BinaryOperator<T> merge) {
+        var result = identity;
+        for (var partial : map(pieces, threads, task)) {
+            result = merge.apply(result, partial);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+package net.alexmiranda.adventofcode2022.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+// single place where the puzzle inputs bundled under 2022/day/N are located.
+public final class PuzzleInput {
+    private PuzzleInput() {
+    }
+
+    public static String resource(int day) {
+        return "2022/day/" + day + "/input";
+    }
+
+    public static Path path(int day) throws IOException {
+        var name = resource(day);
+        var url = PuzzleInput.class.getClassLoader().getResource(name);
+        if (url == null) {
+            throw new NoSuchFileException(name);
+        }
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("invalid resource location: " + url, e);
+        }
+    }
+
+    public static Reader reader(int day) throws IOException {
+        return Files.newBufferedReader(path(day));
+    }
+
+    public static ByteCursor cursor(int day) throws IOException {
+        return MappedInput.map(path(day));
+    }
+}
@@ -0,0 +1,32 @@
+package net.alexmiranda.adventofcode2022.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Counter implements Metric {
+    private final LongAdder adder = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        if (Metrics.ENABLED) {
+            adder.increment();
+        }
+    }
+
+    public void add(long n) {
+        if (Metrics.ENABLED) {
+            adder.add(n);
+        }
+    }
+
+    @Override
+    public long value() {
+        return adder.sum();
+    }
+
+    @Override
+    public void reset() {
+        adder.reset();
+    }
+}
@@ -0,0 +1,27 @@
+package net.alexmiranda.adventofcode2022.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+
+// keeps the highest value recorded, e.g. the high-water mark of a queue or of a cache
+public final class Gauge implements Metric {
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Gauge() {
+    }
+
+    public void record(long value) {
+        if (Metrics.ENABLED) {
+            max.accumulate(value);
+        }
+    }
+
+    @Override
+    public long value() {
+        return max.get();
+    }
+
+    @Override
+    public void reset() {
+        max.reset();
+    }
+}
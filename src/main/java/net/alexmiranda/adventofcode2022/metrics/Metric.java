@@ -0,0 +1,7 @@
+package net.alexmiranda.adventofcode2022.metrics;
+
+sealed interface Metric permits Counter, Gauge {
+    long value();
+
+    void reset();
+}
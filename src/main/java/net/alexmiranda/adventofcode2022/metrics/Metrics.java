@@ -0,0 +1,63 @@
+package net.alexmiranda.adventofcode2022.metrics;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// counters and gauges the searches and simulations report into, so that a day slowing down on
+// a new input can be told apart from one just doing more work: how many states it explored,
+// how often its caches hit, how long its queues grew.
+//
+// They're off unless the jvm runs with -Daoc.metrics=true. The switch is a static final read
+// once, so with the metrics off the JIT folds every check away and recording costs nothing;
+// with the metrics on, recording goes into LongAdders that don't contend across threads.
+//
+// Metrics are registered once per name, typically in static fields, and named after the day
+// they belong to, e.g. day16.cache.hits.
+public final class Metrics {
+    static final boolean ENABLED = Boolean.getBoolean("aoc.metrics");
+
+    private static final ConcurrentMap<String, Metric> REGISTRY = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    public static Counter counter(String name) {
+        return register(name, Counter.class);
+    }
+
+    public static Gauge gauge(String name) {
+        return register(name, Gauge.class);
+    }
+
+    // the current value of a metric, or the given value if there's no metric by that name
+    public static long value(String name, long missing) {
+        var metric = REGISTRY.get(name);
+        return metric == null ? missing : metric.value();
+    }
+
+    // the current value of every metric, sorted by name
+    public static SortedMap<String, Long> snapshot() {
+        var snapshot = new TreeMap<String, Long>();
+        REGISTRY.forEach((name, metric) -> snapshot.put(name, metric.value()));
+        return Collections.unmodifiableSortedMap(snapshot);
+    }
+
+    public static void reset() {
+        REGISTRY.values().forEach(Metric::reset);
+    }
+
+    private static <M extends Metric> M register(String name, Class<M> type) {
+        var metric = REGISTRY.computeIfAbsent(name, key -> type == Counter.class ? new Counter() : new Gauge());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("metric " + name + " isn't a " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+}
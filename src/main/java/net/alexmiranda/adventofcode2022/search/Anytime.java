@@ -0,0 +1,27 @@
+package net.alexmiranda.adventofcode2022.search;
+
+import java.util.concurrent.CancellationException;
+
+// the best answer a search came up with within its budget. It's optimal when the search ran to
+// completion; otherwise it's the best one among those it got to see, and there may be none at all
+// when it was stopped before finding any.
+public record Anytime(int best, boolean optimal) {
+    public static final int NONE = -1;
+
+    public static Anytime of(int best, Budget.Probe probe) {
+        return new Anytime(best, !probe.stopped());
+    }
+
+    public boolean found() {
+        return best != NONE;
+    }
+
+    // the answer of a search that was meant to run to completion, and so was only stopped by an
+    // interrupt or a cancellation
+    public int orElseThrow() {
+        if (!optimal) {
+            throw new CancellationException("search stopped before completing");
+        }
+        return best;
+    }
+}
@@ -0,0 +1,73 @@
+package net.alexmiranda.adventofcode2022.search;
+
+import java.time.Duration;
+
+// how long a search may go on for: until a deadline, until it's cancelled, or until the thread
+// running it is interrupted, whichever comes first. A budget can be shared by several searches
+// and cancelled from any thread.
+public final class Budget {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    // anything longer than this is as good as no deadline, and saves nanoTime from overflowing
+    private static final Duration FOREVER = Duration.ofDays(365);
+
+    private final long deadline;
+    private volatile boolean cancelled;
+
+    private Budget(long deadline) {
+        this.deadline = deadline;
+    }
+
+    public static Budget unlimited() {
+        return new Budget(NO_DEADLINE);
+    }
+
+    public static Budget of(Duration timeout) {
+        if (timeout.compareTo(FOREVER) >= 0) {
+            return unlimited();
+        }
+        return new Budget(System.nanoTime() + timeout.toNanos());
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean exhausted() {
+        // the interrupt flag is left set, so that the executor running the search sees it too
+        return cancelled || Thread.currentThread().isInterrupted()
+                || deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0;
+    }
+
+    // a probe for a single search running on a single thread, which only looks at the budget
+    // every so many states so that the clock stays out of the inner loops; searches stop within
+    // a few milliseconds of running out of it
+    public Probe probe() {
+        return new Probe(this);
+    }
+
+    public static final class Probe {
+        static final int INTERVAL = 1 << 10;
+
+        private final Budget budget;
+        private int countdown = INTERVAL;
+        private boolean stopped;
+
+        private Probe(Budget budget) {
+            this.budget = budget;
+        }
+
+        // counts one more state, and tells whether the search should stop before looking at it
+        public boolean exhausted() {
+            if (!stopped && --countdown == 0) {
+                countdown = INTERVAL;
+                stopped = budget.exhausted();
+            }
+            return stopped;
+        }
+
+        // whether the search has been stopped, i.e. whether what it found is short of optimal
+        public boolean stopped() {
+            return stopped;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package net.alexmiranda.adventofcode2022.server;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntUnaryOperator;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import net.alexmiranda.adventofcode2022.Solver;
+import net.alexmiranda.adventofcode2022.Solvers;
+import net.alexmiranda.adventofcode2022.engine.Shadow;
+import net.alexmiranda.adventofcode2022.io.Json;
+
+// solves the puzzles over HTTP, so that other services don't have to embed the solutions:
+//
+//   curl --data-binary @input http://localhost:8022/day/16/part/1
+//   {"day":16,"part":1,"answer":"1651","parseNanos":81234,"solveNanos":5123456}
+//
+// The request body is handed to the parser of the day as it arrives. Requests are handled by a
+// fixed pool of threads, and every day admits a limited number of requests at once; past that
+// the server answers 429 straight away instead of queueing work behind the slow days.
+//
+//   ./mvnw -q compile exec:java -Dexec.mainClass=net.alexmiranda.adventofcode2022.server.SolveServer \
+//       -Dexec.args="--port=8022 --threads=8 --limit=19:1"
+//
+// Each day is solved with the engine selected for it (see engine.Engine). With --shadow=RATE,
+// that fraction of the inputs of the days having an optimized engine is also solved with both
+// engines in the background, and any answers they disagree on are logged (see engine.Shadow).
+// How the engines compare so far is then answered to a GET of /shadow:
+//
+//   curl http://localhost:8022/shadow
+//   [{"day":9,"samples":12,"mismatches":0,"referenceNanos":81234567,"optimizedNanos":4512345,"speedup":18.00}]
+public final class SolveServer implements AutoCloseable {
+    // bounded, so that the numbers always parse and anything longer is just not found
+    private static final Pattern PATH = Pattern.compile("/day/(\\d{1,2})/part/(\\d{1,2})");
+
+    // the searches of these days keep a core busy for seconds on a real input
+    private static final List<Integer> HEAVY_DAYS = List.of(16, 19, 23, 24);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Integer, Solver<?>> solvers = new HashMap<>();
+    private final Map<Integer, Semaphore> permits = new HashMap<>();
+    private final Shadow shadow;
+
+    private SolveServer(HttpServer server, ExecutorService executor, List<Solver<?>> solvers, IntUnaryOperator limits,
+            Shadow shadow) {
+        this.server = server;
+        this.executor = executor;
+        this.shadow = shadow;
+        for (var solver : solvers) {
+            this.solvers.put(solver.day(), solver);
+            this.permits.put(solver.day(), new Semaphore(limits.applyAsInt(solver.day())));
+        }
+    }
+
+    public static SolveServer start(InetSocketAddress address, List<Solver<?>> solvers, int threads,
+            IntUnaryOperator limits) throws IOException {
+        return start(address, solvers, threads, limits, null);
+    }
+
+    // shadows the solvers with the given shadow, if any, which is closed along with the server
+    public static SolveServer start(InetSocketAddress address, List<Solver<?>> solvers, int threads,
+            IntUnaryOperator limits, Shadow shadow) throws IOException {
+        var server = HttpServer.create(address, 0);
+        var executor = Executors.newFixedThreadPool(threads);
+        var solveServer = new SolveServer(server, executor, shadow == null ? solvers : shadow.wrap(solvers), limits,
+                shadow);
+        server.createContext("/day/", solveServer::handle);
+        if (shadow != null) {
+            server.createContext("/shadow", solveServer::handleShadow);
+        }
+        server.setExecutor(executor);
+        server.start();
+        return solveServer;
+    }
+
+    // every day may use all the threads except the heavy ones, which get a quarter of them
+    public static IntUnaryOperator defaultLimits(int threads) {
+        return day -> HEAVY_DAYS.contains(day) ? Math.max(1, threads / 4) : threads;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8022;
+        int threads = Runtime.getRuntime().availableProcessors();
+        var overrides = new HashMap<Integer, Integer>();
+        double shadowRate = 0;
+        for (var arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--limit=")) {
+                var limit = arg.substring("--limit=".length()).split(":");
+                overrides.put(Integer.parseInt(limit[0]), Integer.parseInt(limit[1]));
+            } else if (arg.startsWith("--shadow=")) {
+                shadowRate = Double.parseDouble(arg.substring("--shadow=".length()));
+            } else {
+                throw new IllegalArgumentException("unknown argument: " + arg);
+            }
+        }
+        var defaults = defaultLimits(threads);
+        var shadow = shadowRate > 0
+                ? new Shadow(shadowRate, 1, 16, mismatch -> System.err.println("shadow mismatch: " + mismatch))
+                : null;
+        var server = start(new InetSocketAddress(port), Solvers.all(), threads,
+                day -> overrides.getOrDefault(day, defaults.applyAsInt(day)), shadow);
+        System.out.println("listening on port " + server.port());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        if (shadow != null) {
+            shadow.close();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, error("method not allowed: " + exchange.getRequestMethod()));
+                return;
+            }
+            var matcher = PATH.matcher(exchange.getRequestURI().getPath());
+            boolean matches = matcher.matches();
+            var solver = matches ? solvers.get(Integer.parseInt(matcher.group(1))) : null;
+            int part = matches ? Integer.parseInt(matcher.group(2)) : 0;
+            if (solver == null || part < 1 || part > 2 || part == 2 && !solver.hasPart2()) {
+                respond(exchange, 404, error("no such puzzle: " + exchange.getRequestURI().getPath()));
+                return;
+            }
+
+            var dayPermits = permits.get(solver.day());
+            if (!dayPermits.tryAcquire()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, error("too many requests for day " + solver.day()));
+                return;
+            }
+            try {
+                var reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8);
+                respond(exchange, 200, solve(solver, part, reader));
+            } catch (IllegalArgumentException | NoSuchElementException | IndexOutOfBoundsException e) {
+                // what the parsers throw on malformed or truncated input (NumberFormatException included)
+                respond(exchange, 400, error(e.toString()));
+            } catch (Exception | StackOverflowError e) {
+                // anything else is a bug of the solution, not of the request; running out of memory
+                // isn't caught since the server can't be trusted to carry on after it
+                respond(exchange, 500, error(e.toString()));
+            } finally {
+                dayPermits.release();
+            }
+        }
+    }
+
+    private void handleShadow(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                respond(exchange, 405, error("method not allowed: " + exchange.getRequestMethod()));
+                return;
+            }
+            var sb = new StringBuilder(128).append('[');
+            for (var s : shadow.stats()) {
+                if (sb.length() > 1) {
+                    sb.append(',');
+                }
+                sb.append("{\"day\":").append(s.day())
+                        .append(",\"samples\":").append(s.samples())
+                        .append(",\"mismatches\":").append(s.mismatches())
+                        .append(",\"referenceNanos\":").append(s.referenceNanos())
+                        .append(",\"optimizedNanos\":").append(s.optimizedNanos())
+                        .append(",\"speedup\":").append(String.format(Locale.ROOT, "%.2f", s.speedup()))
+                        .append('}');
+            }
+            respond(exchange, 200, sb.append(']').toString());
+        }
+    }
+
+    private static <I> String solve(Solver<I> solver, int part, Reader reader) throws IOException {
+        long start = System.nanoTime();
+        var input = solver.parse(reader);
+        long parsed = System.nanoTime();
+        var answer = part == 1 ? solver.part1(input) : solver.part2(input);
+        long solved = System.nanoTime();
+
+        var sb = new StringBuilder(128);
+        sb.append("{\"day\":").append(solver.day()).append(",\"part\":").append(part).append(",\"answer\":");
+        Json.appendString(sb, String.valueOf(answer));
+        sb.append(",\"parseNanos\":").append(parsed - start)
+                .append(",\"solveNanos\":").append(solved - parsed)
+                .append('}');
+        return sb.toString();
+    }
+
+    private static String error(String message) {
+        var sb = new StringBuilder("{\"error\":");
+        Json.appendString(sb, message);
+        return sb.append('}').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        var body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+}
@@ -0,0 +1,125 @@
+package net.alexmiranda.adventofcode2022;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.sun.management.ThreadMXBean;
+
+import net.alexmiranda.adventofcode2022.engine.Engine;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
+// fails when parsing or solving the bundled input of a day allocates more than the budget recorded
+// in allocation-budgets.properties, for both engines of the days that have an optimized one
+// (whose budgets are named dayN.optimized.phase). Only the allocations of the thread running the test are
+// counted, so the parallel streams of day 19 escape part of it.
+//
+// After an intended change, print the allocations measured along with a new budget for each of
+// them and copy the ones that changed into the properties:
+//
+//   ./mvnw test-compile surefire:test@allocation-budgets -Daoc.allocation.record=true
+//
+// It runs in a JVM of its own (see the pom) and one day at a time: the escape analysis of the
+// compiled code gets rid of some of the allocations, depending on what was run and compiled before.
+@Execution(ExecutionMode.SAME_THREAD)
+public class AllocationBudgetTest {
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final boolean RECORD = Boolean.getBoolean("aoc.allocation.record");
+    // room left for the noise between runs when recording a budget
+    private static final double HEADROOM = 1.5;
+    // the phases that barely allocate are dominated by class loading and lambdas being linked
+    private static final long FLOOR = 64 * 1024;
+    // the second part of day 23 takes minutes
+    private static final Set<String> SKIPPED = Set.of("day23.part2");
+
+    private static final Properties budgets = new Properties();
+
+    @BeforeAll
+    public static void loadBudgets() throws IOException {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+        if (!THREADS.isThreadAllocatedMemoryEnabled()) {
+            THREADS.setThreadAllocatedMemoryEnabled(true);
+        }
+        try (var in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(in, "allocation-budgets.properties is missing");
+            budgets.load(in);
+        }
+    }
+
+    static IntStream days() {
+        return Solvers.all().stream().mapToInt(Solver::day);
+    }
+
+    static IntStream optimizedDays() {
+        return days().filter(Solvers::hasOptimized);
+    }
+
+    @ParameterizedTest(name = "day {0}")
+    @MethodSource("days")
+    public void testAllocationsWithinBudget(int day) throws Exception {
+        check(Solvers.forDay(day, Engine.REFERENCE).get());
+    }
+
+    @ParameterizedTest(name = "day {0}")
+    @MethodSource("optimizedDays")
+    public void testOptimizedAllocationsWithinBudget(int day) throws Exception {
+        check(Solvers.forDay(day, Engine.OPTIMIZED).get());
+    }
+
+    private static <I> void check(Solver<I> solver) throws Exception {
+        var text = Files.readString(PuzzleInput.path(solver.day()));
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        var input = solver.parse(new StringReader(text));
+        verify(solver, "parse", THREADS.getCurrentThreadAllocatedBytes() - before);
+
+        for (int part = 1; part <= (solver.hasPart2() ? 2 : 1); part++) {
+            if (SKIPPED.contains(name(solver, "part" + part))) {
+                continue;
+            }
+            if (part == 2 && solver.mutatesInput()) {
+                input = solver.parse(new StringReader(text));
+            }
+            before = THREADS.getCurrentThreadAllocatedBytes();
+            var answer = part == 1 ? solver.part1(input) : solver.part2(input);
+            verify(solver, "part" + part, THREADS.getCurrentThreadAllocatedBytes() - before);
+            assertNotNull(answer);
+        }
+    }
+
+    private static void verify(Solver<?> solver, String phase, long allocated) {
+        var name = name(solver, phase);
+        if (RECORD) {
+            System.out.printf(Locale.ROOT, "%s=%d%n", name, budget(allocated));
+            return;
+        }
+        var budget = budgets.getProperty(name);
+        assertNotNull(budget, "no allocation budget for " + name + ", record one with -Daoc.allocation.record=true");
+        assertTrue(allocated <= Long.parseLong(budget.strip()),
+                String.format(Locale.ROOT, "%s allocated %d bytes, over its budget of %s", name, allocated, budget));
+    }
+
+    // rounded up to the KiB, so that the recorded budgets don't look more precise than they are
+    private static long budget(long allocated) {
+        return Math.max(FLOOR, ((long) (allocated * HEADROOM) + 1023) / 1024 * 1024);
+    }
+
+    private static String name(Solver<?> solver, String phase) {
+        var engine = solver.engine() == Engine.OPTIMIZED ? "optimized." : "";
+        return "day" + solver.day() + "." + engine + phase;
+    }
+}
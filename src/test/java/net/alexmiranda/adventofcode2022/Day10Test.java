@@ -11,9 +11,11 @@ import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+
 public class Day10Test {
-    private static final String EXAMPLE = "/2022/Day/10/example";
-    private static final String INPUT = "/2022/Day/10/input";
+    private static final String EXAMPLE = "/2022/day/10/example";
+    private static final String INPUT = "/2022/day/10/input";
 
     @Test
     public void testExamplePart1() {
@@ -87,4 +89,16 @@ public class Day10Test {
     int sum(Map<?, Integer> signals) {
         return signals.values().stream().mapToInt(Integer::valueOf).sum();
     }
+
+    @Test
+    public void testStreaming() throws IOException {
+        assertEquals(13140, Day10.signalStrengths(LineSource.lines(example())));
+        assertEquals(13820, Day10.signalStrengths(LineSource.lines(input())));
+        try (var clockCircuit = new Day10.ClockCircuit(input())) {
+            var w = new StringWriter();
+            clockCircuit.ready();
+            clockCircuit.print(w);
+            assertEquals(w.toString(), Day10.render(LineSource.lines(input())));
+        }
+    }
 }
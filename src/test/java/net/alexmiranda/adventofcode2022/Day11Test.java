@@ -1,18 +1,24 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import net.alexmiranda.adventofcode2022.checkpoint.Checkpoint;
+
 public class Day11Test {
-    private static final String INPUT = "/2022/Day/11/input";
+    private static final String INPUT = "/2022/day/11/input";
 
     private static final String example = """
             Monkey 0:
@@ -87,4 +93,23 @@ public class Day11Test {
             assertEquals(new BigInteger("29396129184"), game.monkeyBusiness());
         }
     }
+
+    @Test
+    public void testResumeFromCheckpoint(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("day11.checkpoint");
+        try (var reader = new StringReader(example)) {
+            var game = new Day11.KeepAway(reader, 1);
+            var rounds = game.rounds(10_000);
+            rounds.advance(3_333);
+            Checkpoint.save(rounds, file);
+        }
+
+        // a game started over from the input picks up from the last round played
+        try (var reader = new StringReader(example)) {
+            var game = new Day11.KeepAway(reader, 1);
+            Checkpoint.run(game.rounds(10_000), file, 1_000);
+            assertEquals(new BigInteger("2876069637"), game.monkeyBusiness());
+        }
+        assertFalse(Files.exists(file));
+    }
 }
@@ -2,6 +2,7 @@ package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -9,10 +10,13 @@ import java.io.StringReader;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import net.alexmiranda.adventofcode2022.Day13.Packet;
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
 
 public class Day13Test {
     private static final String EXAMPLE = """
@@ -104,4 +108,16 @@ public class Day13Test {
         var result = Day13.decoderKeyOfDistressSignal(Day13.Packet.fromString("[[2]]"), Day13.Packet.fromString("[[6]]"));
         assertEquals(22184, result);
     }
+
+    @Test
+    @ResourceLock("metrics")
+    public void testStreaming() throws IOException {
+        assertEquals(13, Day13.countPairsInRightOrder(LineSource.records(new StringReader(EXAMPLE))));
+        assertEquals(6072, Day13.countPairsInRightOrder(LineSource.records(Day13.readInput())));
+        var result = Day13.decoderKeyOfDistressSignal(LineSource.lines(Day13.readInput()),
+                Day13.Packet.fromString("[[2]]"), Day13.Packet.fromString("[[6]]"));
+        assertEquals(22184, result);
+        // every packet had to be kept, along with the two decoder keys
+        assertTrue(!Metrics.enabled() || Metrics.value("day13.buffer.peak", 0) >= 302);
+    }
 }
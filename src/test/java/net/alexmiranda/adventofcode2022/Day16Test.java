@@ -1,9 +1,12 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.time.Duration;
 import java.util.HashMap;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -13,6 +16,8 @@ import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import net.alexmiranda.adventofcode2022.search.Budget;
+
 @Execution(ExecutionMode.SAME_THREAD)
 public class Day16Test {
     private static final String EXAMPLE = """
@@ -118,4 +123,16 @@ public class Day16Test {
         assertEquals(expected, distance);
         assertEquals(distance, reverse);
     }
+
+    @Test
+    public void testTimeBudgetedPart1() {
+        var result = puzzle.findMostPressurePossibleToRelease("AA", 30, Budget.unlimited());
+        assertTrue(result.optimal());
+        assertEquals(1653, result.best());
+
+        // whatever is found before the budget runs out is the pressure released by some path
+        result = puzzle.findMostPressurePossibleToRelease("AA", 30, Budget.of(Duration.ZERO));
+        assertFalse(result.optimal());
+        assertTrue(result.best() >= 0 && result.best() <= 1653, "best so far: " + result.best());
+    }
 }
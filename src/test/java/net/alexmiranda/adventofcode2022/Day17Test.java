@@ -1,6 +1,7 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.io.StringWriter;
@@ -10,10 +11,13 @@ import java.nio.file.Path;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.alexmiranda.adventofcode2022.checkpoint.Checkpoint;
 
 public class Day17Test {
     private static final String EXAMPLE = ">>><<><>><<<>><>>><<<>>><<<><<<>><>><<>>";
-    private static final String INPUT = "2022/Day/17/input";
+    private static final String INPUT = "2022/day/17/input";
 
     @Test
     public void testExamplePart1() {
@@ -404,4 +408,23 @@ public class Day17Test {
         assertEquals(2, Day17.height(Day17.SQUARE));
         assertEquals(4, Day17.height(Day17.VERTICAL));
     }
+
+    @Test
+    public void testResumeFromCheckpoint(@TempDir Path dir) throws IOException, URISyntaxException {
+        var input = Files.readString(Path.of(ClassLoader.getSystemResource(INPUT).toURI()));
+        var file = dir.resolve("day17.checkpoint");
+        var simulation = new Day17.Chamber(input).simulation(1_000_000_000_000L);
+        // far enough for a few compactions, but not as far as the first cycle
+        simulation.advance(1_000);
+        Checkpoint.save(simulation, file);
+
+        var chamber = new Day17.Chamber(input);
+        Checkpoint.run(chamber.simulation(1_000_000_000_000L), file, 500);
+        assertEquals(1500874635587L, chamber.size());
+
+        // a checkpoint only resumes the same simulation
+        Checkpoint.save(simulation, file);
+        assertThrows(IOException.class, () -> Checkpoint.restore(new Day17.Chamber(input).simulation(2022), file));
+        assertThrows(IOException.class, () -> Checkpoint.restore(new Day17.Chamber(EXAMPLE).simulation(2022), file));
+    }
 }
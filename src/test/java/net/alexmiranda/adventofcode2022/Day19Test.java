@@ -1,14 +1,20 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.concurrent.CancellationException;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import net.alexmiranda.adventofcode2022.search.Budget;
+
 public class Day19Test {
     private static final String EXAMPLE = """
             Blueprint 1: Each ore robot costs 4 ore. Each clay robot costs 2 ore. Each obsidian robot costs 3 ore and 14 clay. Each geode robot costs 2 ore and 7 obsidian.
@@ -61,4 +67,28 @@ public class Day19Test {
             assertEquals(expectedResult, openGeodes);
         }
     }
+
+    @Test
+    public void testStoppedSearch() throws IOException {
+        try (var reader = new StringReader(EXAMPLE)) {
+            var factory = new Day19.Factory();
+            factory.readBlueprints(reader);
+            var blueprint = factory.blueprints.get(1);
+
+            var budget = Budget.unlimited();
+            budget.cancel();
+            var result = factory.maximumOpenGeodes(blueprint, 32, budget);
+            assertFalse(result.optimal());
+            assertTrue(result.best() <= 62, "best so far: " + result.best());
+
+            // the search gives up on an interrupt, and leaves the thread interrupted
+            Thread.currentThread().interrupt();
+            try {
+                assertFalse(factory.maximumOpenGeodes(blueprint, 32, Budget.unlimited()).optimal());
+                assertThrows(CancellationException.class, () -> factory.maximumOpenGeodes(blueprint, 32));
+            } finally {
+                assertTrue(Thread.interrupted());
+            }
+        }
+    }
 }
@@ -1,11 +1,28 @@
 package net.alexmiranda.adventofcode2022;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.alexmiranda.adventofcode2022.checkpoint.Checkpoint;
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
 public class Day1Test {
     @Test
@@ -17,4 +34,119 @@ public class Day1Test {
     public void testDay1PartTwo() throws URISyntaxException, IOException {
         assertEquals(212489, Day1.calorieCountingTopThree());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStreaming() throws IOException {
+        assertEquals(71780, Day1.calorieCounting(LineSource.lines(PuzzleInput.reader(1))));
+        assertEquals(212489, Day1.calorieCountingTopThree(LineSource.lines(PuzzleInput.reader(1))));
+    }
+
+    @Test
+    public void testStreamingMoreElvesThanFitInMemory() {
+        // a million elves, which are made up as they're read and never all kept around
+        assertEquals(1000, Day1.calorieCounting(LineSource.lines(new Elves(1_000_000))));
+        assertEquals(3000, Day1.calorieCountingTopThree(LineSource.lines(new Elves(1_000_000))));
+    }
+
+    // the elf i carries two items, of i % 1000 and 1 calories
+    private static class Elves extends Reader {
+        private final int n;
+        private int elf = 0;
+        private String pending = "";
+        private int offset = 0;
+
+        Elves(int n) {
+            this.n = n;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (offset == pending.length()) {
+                if (elf == n) {
+                    return -1;
+                }
+                pending = (elf++ % 1000) + "\n1\n\n";
+                offset = 0;
+            }
+            int count = Math.min(len, pending.length() - offset);
+            pending.getChars(offset, offset + count, cbuf, off);
+            offset += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    public void testTopCalories() throws IOException {
+        var input = PuzzleInput.cursor(1);
+        assertArrayEquals(new long[] { 71780 }, Day1.topCalories(List.of(input), 1, 4));
+        var top = Day1.topCalories(List.of(input), 3, 4);
+        assertEquals(212489, top[0] + top[1] + top[2]);
+        assertArrayEquals(new long[] { 4000, 3000 },
+                Day1.topCalories(List.of(ByteCursor.of("1000\r\n2000\r\n\r\n\r\n4000\r\n\r\n3000")), 2, 3));
+    }
+
+    @Test
+    public void testTopCaloriesInParallel(@TempDir Path dir) throws IOException {
+        var file = ParallelInputs.generate(dir, 1, 20_000, 17);
+        var top = ParallelInputs.assertSameRecordsInParallel(file,
+                (f, threads) -> Arrays.stream(Day1.topCalories(f, 100, threads)).boxed().toList(),
+                (segments, threads) -> Arrays.stream(Day1.topCalories(segments, 100, threads)).boxed().toList());
+        assertEquals(100, top.size());
+
+        // elves of CRLF lines, one of them in a piece of its own
+        var crlf = ByteCursor.of("1\r\n2\r\n\r\n5\r\n\r\n4\r\n");
+        assertArrayEquals(new long[] { 5, 4, 3 }, Day1.topCalories(List.of(crlf), 3, 3));
+    }
+
+    @Test
+    public void testLeaderboard() throws IOException {
+        var text = PuzzleInput.cursor(1).toString();
+        var board = new Day1.Leaderboard(3);
+        // appended in pieces that split numbers and lines in every possible way
+        var random = new SplittableRandom(18);
+        for (int i = 0; i < text.length();) {
+            int n = Math.min(text.length() - i, random.nextInt(1, 40));
+            board.append(text.substring(i, i + n));
+            i += n;
+            assertEquals(i, board.consumed());
+        }
+        assertEquals(71780, board.max());
+        assertEquals(212489, Arrays.stream(board.leaders()).sum());
+
+        // the elf being counted shows up as soon as its items do
+        var growing = new Day1.Leaderboard(2);
+        growing.append("100\n200\n\n5");
+        assertArrayEquals(new long[] { 300, 5 }, growing.leaders());
+        growing.append("00\n");
+        assertArrayEquals(new long[] { 500, 300 }, growing.leaders());
+        assertEquals(2, growing.elves());
+        assertThrows(NumberFormatException.class, () -> growing.append("x\n"));
+    }
+
+    @Test
+    public void testLeaderboardTailsFile(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("calories");
+        var checkpoint = dir.resolve("checkpoint");
+        Files.writeString(file, "1000\n2000\n\n40");
+        var board = new Day1.Leaderboard(2);
+        var tail = board.tail(file);
+        assertTrue(tail.advance(4));
+        assertFalse(tail.advance(Long.MAX_VALUE));
+        assertArrayEquals(new long[] { 3000, 40 }, board.leaders());
+        Checkpoint.save(tail, checkpoint);
+
+        Files.writeString(file, "00\n\n500\n", StandardOpenOption.APPEND);
+        var resumed = new Day1.Leaderboard(2);
+        var resumedTail = resumed.tail(file);
+        Checkpoint.restore(resumedTail, checkpoint);
+        assertEquals(board.consumed(), resumed.consumed());
+        assertFalse(resumedTail.advance(Long.MAX_VALUE));
+        assertArrayEquals(new long[] { 4000, 3000 }, resumed.leaders());
+        assertEquals(3, resumed.elves());
+        assertThrows(IOException.class, () -> Checkpoint.restore(new Day1.Leaderboard(3).tail(file), checkpoint));
+    }
+}
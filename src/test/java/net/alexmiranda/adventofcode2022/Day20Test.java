@@ -1,9 +1,14 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.util.Arrays;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
 
 public class Day20Test {
     private static final int NO_DECRYPTION_KEY = 1;
@@ -37,4 +42,13 @@ public class Day20Test {
         var mixed = Day20.mix(file, 5000, 10, Day20.DECRYPTION_KEY);
         assertEquals(7768531372516L, Day20.sumOfGroveCoordinates(mixed));
     }
+
+    @Test
+    @ResourceLock("metrics")
+    public void testStreaming() throws IOException {
+        var file = Day20.parse(LineSource.lines(Day20.puzzleInput()), NO_DECRYPTION_KEY);
+        assertEquals(Day20.parse(Day20.puzzleInput(), Integer.MAX_VALUE, NO_DECRYPTION_KEY), file);
+        assertEquals(988, Day20.sumOfGroveCoordinates(Day20.mix(file, 1)));
+        assertTrue(!Metrics.enabled() || Metrics.value("day20.buffer.peak", 0) >= 5000);
+    }
 }
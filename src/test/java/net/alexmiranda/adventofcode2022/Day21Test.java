@@ -1,6 +1,7 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.io.StringReader;
@@ -70,4 +71,21 @@ public class Day21Test {
             assertEquals(3699945358564L, answer.longValue());
         }
     }
+
+    @Test
+    public void testOptimizedEngine() throws IOException {
+        var monkeys = new Day21.Monkeys(new StringReader(EXAMPLE));
+        assertEquals(152, monkeys.solve("root"));
+        assertEquals(301, monkeys.solvePart2("humn"));
+
+        try (var reader = Day21.puzzleInput()) {
+            monkeys = new Day21.Monkeys(reader);
+            assertEquals(282285213953670L, monkeys.solve("root"));
+            assertEquals(3699945358564L, monkeys.solvePart2("humn"));
+        }
+
+        // the numbers are longs, so a division had better be exact
+        var inexact = new Day21.Monkeys(new StringReader("root: a / b\na: 7\nb: 2\n"));
+        assertThrows(ArithmeticException.class, () -> inexact.solve("root"));
+    }
 }
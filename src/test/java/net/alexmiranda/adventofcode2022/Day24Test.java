@@ -1,15 +1,21 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
+import net.alexmiranda.adventofcode2022.search.Anytime;
+import net.alexmiranda.adventofcode2022.search.Budget;
+
 public class Day24Test {
     private static final String SIMPLE_EXAMPLE = """
             #.#####
@@ -109,11 +115,10 @@ public class Day24Test {
         try (var reader = Day24.puzzleInput()) {
             var valley = new Day24.Valley(reader);
             var data = valley.data();
-            var width = valley.width();
             
             // before
             var w1 = new StringWriter();
-            Day24.Valley.print(w1, data, width);
+            Day24.Valley.print(w1, data);
 
             for (int i = 0; i < 300; i++) {
                 data = valley.moveBlizzards(data);
@@ -121,7 +126,7 @@ public class Day24Test {
 
             // after
             var w2 = new StringWriter();
-            Day24.Valley.print(w2, data, width);
+            Day24.Valley.print(w2, data);
             assertEquals(w1.toString(), w2.toString());
         }
     }
@@ -153,12 +158,11 @@ public class Day24Test {
         try (var reader = new StringReader(COMPLEX_EXAMPLE)) {
             var valley = new Day24.Valley(reader);
             var data = valley.data();
-            var width = valley.width();
             var w = new StringWriter();
 
             for (int i = 0; i < 18; i++) {
                 data = valley.moveBlizzards(data);
-                Day24.Valley.print(w, data, width);
+                Day24.Valley.print(w, data);
                 w.write('\n');
             }
 
@@ -294,4 +298,18 @@ public class Day24Test {
         }
     }
 
+    @Test
+    public void testTimeBudgetedPart1() throws IOException {
+        try (var reader = Day24.puzzleInput()) {
+            var valley = new Day24.Valley(reader);
+            var result = valley.shortestTime(0, valley.startPos, valley.finishPos, Budget.of(Duration.ZERO));
+            assertFalse(result.optimal());
+            assertFalse(result.found());
+            assertEquals(Anytime.NONE, result.best());
+
+            result = valley.shortestTime(0, valley.startPos, valley.finishPos, Budget.of(Duration.ofMinutes(5)));
+            assertTrue(result.optimal());
+            assertEquals(343, result.best());
+        }
+    }
 }
@@ -9,6 +9,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+
 public class Day25Test {
     private static final String EXAMPLE = """
             1=-0-2
@@ -81,4 +83,10 @@ public class Day25Test {
             assertEquals(28127432121050L, Day25.SNAFU.fromString(sum.toString()).longValue());
         }
     }
+
+    @Test
+    public void testStreaming() throws IOException {
+        assertEquals("2=-1=0", Day25.sumOf(LineSource.lines(new StringReader(EXAMPLE))).toString());
+        assertEquals("122-2=200-0111--=200", Day25.sumOf(LineSource.lines(Day25.puzzleInput())).toString());
+    }
 }
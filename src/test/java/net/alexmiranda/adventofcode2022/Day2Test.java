@@ -1,11 +1,22 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+import net.alexmiranda.adventofcode2022.generator.Generators;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
 
 public class Day2Test {
 
@@ -18,4 +29,63 @@ public class Day2Test {
     public void testCalculateScoreOutcomes() throws URISyntaxException, IOException {
         assertEquals(13490, Day2.totalScoreOutcomes());
     }
+
+    @Test
+    public void testStreaming() throws IOException {
+        assertEquals(17189, Day2.totalScore(LineSource.lines(PuzzleInput.reader(2))));
+        assertEquals(13490, Day2.totalScoreOutcomes(LineSource.lines(PuzzleInput.reader(2))));
+    }
+
+    @Test
+    public void testOptimizedEngine(@TempDir Path dir) throws IOException {
+        var input = PuzzleInput.cursor(2);
+        assertEquals(17189, Day2.totalScore(input, Day2.Scores.SHAPES));
+        assertEquals(13490, Day2.totalScore(input, Day2.Scores.OUTCOMES));
+        var file = dir.resolve("input");
+        Files.writeString(file, Generators.generate(2, 100_003, 19));
+        try (var lines = Files.lines(file)) {
+            assertEquals(Day2.totalScore(lines), Day2.totalScore(file, Day2.Scores.SHAPES));
+        }
+        try (var lines = Files.lines(file)) {
+            assertEquals(Day2.totalScoreOutcomes(lines), Day2.totalScore(file, Day2.Scores.OUTCOMES));
+        }
+
+        // records off the 4 byte layout are read one at a time
+        var odd = ByteCursor.of("A Y\nB X\r\nC Z\n\nA X\nA X\nA X\nA X\nB Y");
+        assertEquals(8 + 1 + 6 + 4 * 4 + 5, Day2.totalScore(odd, Day2.Scores.SHAPES));
+        assertThrows(IllegalArgumentException.class,
+                () -> Day2.totalScore(ByteCursor.of("A X\nA X\nA X\nD X\n"), Day2.Scores.SHAPES));
+        assertThrows(IllegalArgumentException.class,
+                () -> Day2.totalScore(ByteCursor.of("A  X\n"), Day2.Scores.SHAPES));
+    }
+
+    @Test
+    public void testHistogram(@TempDir Path dir) throws IOException {
+        var histogram = Day2.histogram(PuzzleInput.cursor(2));
+        assertEquals(17189, histogram.score(Day2.Scores.SHAPES));
+        assertEquals(13490, histogram.score(Day2.Scores.OUTCOMES));
+        assertEquals(2500, histogram.rounds());
+        // rules of our own: a point for every round won by the column read as a shape
+        var wins = new int[][] { { 0, 1, 0 }, { 0, 0, 1 }, { 1, 0, 0 } };
+        assertEquals(histogram.count('A', 'Y') + histogram.count('B', 'Z') + histogram.count('C', 'X'),
+                histogram.score(wins));
+        assertThrows(IllegalArgumentException.class, () -> histogram.score(new int[8]));
+        assertThrows(IllegalArgumentException.class, () -> histogram.count('D', 'X'));
+
+        var file = ParallelInputs.generate(dir, 2, 100_003, 20);
+        var counts = ParallelInputs.assertSameInParallel(file,
+                (f, threads) -> counts(Day2.histogram(f, threads)),
+                (segments, threads) -> counts(Day2.histogram(segments, threads)));
+        assertEquals(100_003L, counts.stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static List<Long> counts(Day2.Histogram histogram) {
+        var counts = new ArrayList<Long>(9);
+        for (char o = 'A'; o <= 'C'; o++) {
+            for (char c = 'X'; c <= 'Z'; c++) {
+                counts.add(histogram.count(o, c));
+            }
+        }
+        return counts;
+    }
 }
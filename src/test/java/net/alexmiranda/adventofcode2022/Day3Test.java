@@ -1,15 +1,24 @@
 package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.MappedInput;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
 public class Day3Test {
     @Test
     public void testSumOfPriorities() throws URISyntaxException, IOException {
@@ -43,4 +52,43 @@ public class Day3Test {
     public void testCommonGroupPriority(String lines) {
         assertEquals(18, Day3.commonGroupPriority(lines.split("\n")));
     }
+
+    @Test
+    public void testStreaming() throws IOException {
+        assertEquals(7848, Day3.sumOfPriorities(LineSource.lines(PuzzleInput.reader(3))));
+        assertEquals(2616, Day3.sumOfGroupPriorities(LineSource.lines(PuzzleInput.reader(3))));
+    }
+
+    @Test
+    public void testOptimizedEngine() throws IOException {
+        var input = PuzzleInput.cursor(3);
+        assertEquals(7848, Day3.sumOfPriorities(input));
+        assertEquals(2616, Day3.sumOfGroupPriorities(input));
+        var example = ByteCursor.of("""
+                vJrwpWtwJgWrhcsFMMfFFhFp\r
+                jqHRNqRjqzjGDLGLrsFMfFZSrLrFZsSL
+                PmmdzqPrVvPwwTWBwg
+                """);
+        assertEquals(16 + 38 + 42, Day3.sumOfPriorities(example));
+        assertEquals(18, Day3.sumOfGroupPriorities(example));
+        assertEquals(1 + 52, Day3.priorities(Day3.items(ByteCursor.of("aZ"), 0, 2)));
+
+        assertThrows(IllegalArgumentException.class, () -> Day3.sumOfPriorities(ByteCursor.of("abc\n")));
+        assertThrows(IllegalArgumentException.class, () -> Day3.sumOfPriorities(ByteCursor.of("a1a1\n")));
+        assertThrows(IllegalArgumentException.class, () -> Day3.sumOfGroupPriorities(ByteCursor.of("ab\nab\n")));
+    }
+
+    @Test
+    public void testGroupsInParallel(@TempDir Path dir) throws IOException {
+        var file = ParallelInputs.generate(dir, 3, 30_000, 22);
+        long sum = ParallelInputs.assertSameInParallel(file, Day3::sumOfGroupPriorities, Day3::sumOfGroupPriorities);
+        assertEquals(Day3.sumOfGroupPriorities(MappedInput.map(file)), sum);
+
+        // pieces of a line or two, so that a group is split between three of them
+        var lines = PuzzleInput.cursor(3);
+        assertEquals(2616, Day3.sumOfGroupPriorities(List.of(lines), 150));
+        assertEquals(2616, Day3.sumOfGroupPriorities(List.of(lines), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> Day3.sumOfGroupPriorities(List.of(ByteCursor.of("ab\nab\nab\nab\n")), 2));
+    }
 }
@@ -1,14 +1,26 @@
 package net.alexmiranda.adventofcode2022;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
 public class Day4Test {
     @Test
     public void testCountAssignmentsFullyContained() throws URISyntaxException, IOException {
@@ -45,4 +57,53 @@ public class Day4Test {
     public void testOverlap(String input, boolean expectedResult) {
         assertEquals(expectedResult, Day4.overlap(input));
     }
+
+    @Test
+    public void testStreaming() throws IOException {
+        assertEquals(477, Day4.countAssignmentsFullyContained(LineSource.lines(PuzzleInput.reader(4))));
+        assertEquals(830, Day4.countAssignmentsOverlapping(LineSource.lines(PuzzleInput.reader(4))));
+    }
+
+    @Test
+    public void testCountsInOnePass(@TempDir Path dir) throws IOException {
+        assertEquals(new Day4.Counts(477, 830), Day4.count(PuzzleInput.cursor(4)));
+        var example = ByteCursor.of("2-4,6-8\r\n2-3,4-5\n5-7,7-9\n\n2-8,3-7\n6-6,4-6\n2-6,4-8");
+        assertEquals(new Day4.Counts(2, 4), Day4.count(example));
+        for (var invalid : List.of("2-4,6-8,1\n", "2-4-6,8\n", "2-4,6\n", "2-4,-8\n", "2-x,6-8\n")) {
+            assertThrows(IllegalArgumentException.class, () -> Day4.count(ByteCursor.of(invalid)), invalid);
+        }
+
+        var file = ParallelInputs.generate(dir, 4, 100_000, 23);
+        long contained, overlapping;
+        try (var lines = Files.lines(file)) {
+            contained = Day4.countAssignmentsFullyContained(lines);
+        }
+        try (var lines = Files.lines(file)) {
+            overlapping = Day4.countAssignmentsOverlapping(lines);
+        }
+        assertEquals(new Day4.Counts(contained, overlapping),
+                ParallelInputs.assertSameInParallel(file, Day4::count, Day4::count));
+    }
+
+    @Test
+    public void testIndex() throws IOException {
+        var index = Day4.index(PuzzleInput.cursor(4));
+        assertEquals(2000, index.size());
+        // the overlapping pairs are those whose second elf overlaps the first one
+        int overlapping = 0;
+        for (int id = 0; id < index.size(); id += 2) {
+            int pair = id + 1;
+            if (IntStream.of(index.overlapping(index.start(id), index.end(id))).anyMatch(other -> other == pair)) {
+                overlapping++;
+            }
+        }
+        assertEquals(830, overlapping);
+
+        var example = Day4.index(ByteCursor.of("2-4,6-8\n2-3,4-5\n5-7,7-9\n2-8,3-7\n6-6,4-6\n2-6,4-8\n"));
+        assertArrayEquals(new int[] { 0, 2, 3, 6, 7, 9, 10, 11 }, example.overlapping(3, 4));
+        assertEquals(1, example.countOverlapping(9, 100));
+        var stabbed = new ArrayList<Integer>();
+        example.stabbing(6, stabbed::add);
+        assertEquals(List.of(1, 4, 6, 7, 8, 9, 10, 11), stabbed.stream().sorted().toList());
+    }
 }
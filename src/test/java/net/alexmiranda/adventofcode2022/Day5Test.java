@@ -1,13 +1,21 @@
 package net.alexmiranda.adventofcode2022;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.net.URISyntaxException;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import net.alexmiranda.adventofcode2022.generator.Generators;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
 public class Day5Test {
     private static final String sample = """
                 [D]   \s
@@ -86,4 +94,45 @@ public class Day5Test {
             assertTrue("QLFQDBBHM".contentEquals(crateMover.cratesOnTop()));
         }
     }
+
+    @Test
+    public void testCharArrayCrateMover() throws IOException {
+        var input = PuzzleInput.cursor(5);
+        assertEquals("GRTSWNJHH", Day5.rearrange(input, Day5.CharArrayCrateMover.crateMover9000()));
+        assertEquals("QLFQDBBHM", Day5.rearrange(input, Day5.CharArrayCrateMover.crateMover9001()));
+
+        var crateMover9000 = Day5.CharArrayCrateMover.crateMover9000();
+        crateMover9000.load(ByteCursor.of(sample));
+        assertEquals("NDP", crateMover9000.cratesOnTop().toString());
+        var crateMover9001 = Day5.CharArrayCrateMover.crateMover9001();
+        crateMover9001.load(ByteCursor.of(sample));
+        for (var crateMover : List.of(crateMover9000, crateMover9001)) {
+            crateMover.move(1, '2', '1');
+            crateMover.move(3, '1', '3');
+            crateMover.move(2, '2', '1');
+            crateMover.move(1, '1', '2');
+        }
+        assertEquals("CMZ", crateMover9000.cratesOnTop().toString());
+        assertEquals("MCD", crateMover9001.cratesOnTop().toString());
+        assertThrows(IllegalStateException.class, () -> crateMover9000.move(5, '1', '2'));
+        assertThrows(IllegalArgumentException.class, () -> crateMover9000.move(1, '1', '4'));
+    }
+
+    @Test
+    public void testCharArrayCrateMoverOnGeneratedInput() throws IOException {
+        // stacks that grow well past their initial capacity
+        var text = Generators.generate(5, 100_000, 25);
+        var crateMover9000 = new Day5.CrateMover9000();
+        var crateMover9001 = new Day5.CrateMover9001();
+        for (var crateMover : List.<Day5.CrateMover<?>>of(crateMover9000, crateMover9001)) {
+            var reader = new BufferedReader(new StringReader(text));
+            crateMover.load(reader);
+            crateMover.readInstructions(reader);
+        }
+        var input = ByteCursor.of(text);
+        assertEquals(crateMover9000.cratesOnTop().toString(),
+                Day5.rearrange(input, Day5.CharArrayCrateMover.crateMover9000()));
+        assertEquals(crateMover9001.cratesOnTop().toString(),
+                Day5.rearrange(input, Day5.CharArrayCrateMover.crateMover9001()));
+    }
 }
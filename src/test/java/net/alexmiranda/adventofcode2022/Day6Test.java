@@ -3,6 +3,7 @@ package net.alexmiranda.adventofcode2022;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -11,8 +12,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import net.alexmiranda.adventofcode2022.flow.LineSource;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
 public class Day6Test {
-    private static final String INPUT = "2022/Day/6/input";
+    private static final String INPUT = "2022/day/6/input";
 
     @ParameterizedTest
     @CsvSource(textBlock = """
@@ -54,4 +58,14 @@ public class Day6Test {
         var path = Path.of(ClassLoader.getSystemResource(INPUT).toURI());
         return Files.readString(path);
     }
+
+    @Test
+    public void testStreaming() throws IOException {
+        // pieces small enough for the markers to span a few of them
+        assertEquals(1848, Day6.charactersBeforeStartOfNewPacket(LineSource.chunks(PuzzleInput.reader(6), 3)));
+        assertEquals(2308, Day6.charactersBeforeStartOfNewMessage(LineSource.chunks(PuzzleInput.reader(6), 5)));
+        var noMarker = "abcabcabcabc";
+        assertEquals(Day6.charactersBeforeStartOfNewPacket(noMarker),
+                Day6.charactersBeforeStartOfNewPacket(LineSource.chunks(new StringReader(noMarker), 2)));
+    }
 }
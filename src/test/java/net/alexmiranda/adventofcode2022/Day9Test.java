@@ -2,10 +2,14 @@ package net.alexmiranda.adventofcode2022;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
 import java.io.StringReader;
 
 import org.junit.jupiter.api.Test;
 
+import net.alexmiranda.adventofcode2022.engine.Engine;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
 public class Day9Test {
     private static final String example = """
             R 4
@@ -27,7 +31,7 @@ public class Day9Test {
     }
     
     @Test
-    public void testPuzzleInputPart1() {
+    public void testPuzzleInputPart1() throws IOException {
         int count = Day9.countVisited(2);
         assertEquals(6067, count);
     }
@@ -41,8 +45,16 @@ public class Day9Test {
     }
     
     @Test
-    public void testPuzzleInputPart2() {
+    public void testPuzzleInputPart2() throws IOException {
         int count = Day9.countVisited(10);
         assertEquals(2471, count);
     }
+
+    @Test
+    public void testOptimizedEngine() throws IOException {
+        assertEquals(13, Day9.countVisited(new StringReader(example), 2, Engine.OPTIMIZED));
+        assertEquals(1, Day9.countVisited(new StringReader(example), 10, Engine.OPTIMIZED));
+        assertEquals(6067, Day9.countVisited(PuzzleInput.reader(9), 2, Engine.OPTIMIZED));
+        assertEquals(2471, Day9.countVisited(PuzzleInput.reader(9), 10, Engine.OPTIMIZED));
+    }
 }
@@ -0,0 +1,73 @@
+package net.alexmiranda.adventofcode2022;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+// isolated, so that no other test emits the events of the same days meanwhile
+@Isolated
+public class EventsTest {
+    private static final String GROVE = """
+            .....
+            ..##.
+            ..#..
+            .....
+            ..##.
+            .....
+            """;
+
+    @Test
+    public void testPhasesAndMilestonesAreRecorded(@TempDir Path dir) throws IOException, InterruptedException {
+        try (var recording = new Recording()) {
+            recording.enable("aoc.Parse");
+            recording.enable("aoc.Solve");
+            recording.enable("aoc.Milestone");
+            recording.start();
+
+            var report = Runner.run(List.of(Solvers.forDay(11).get()), 1);
+            assertNull(report.results().get(0).error());
+            var grove = new Day23.Grove(new StringReader(GROVE));
+            grove.countEmptyTiles(3);
+
+            recording.stop();
+            var file = dir.resolve("recording.jfr");
+            recording.dump(file);
+
+            var events = RecordingFile.readAllEvents(file);
+            var parse = events.stream().filter(e -> is(e, "aoc.Parse", 11)).toList();
+            assertEquals(1, parse.size());
+            assertTrue(parse.get(0).getLong("inputSize") > 0);
+
+            var solve = events.stream().filter(e -> is(e, "aoc.Solve", 11)).toList();
+            assertEquals(List.of(1, 2), solve.stream().map(e -> e.getInt("part")).sorted().toList());
+            assertTrue(solve.stream().allMatch(e -> e.getString("answer") != null));
+
+            // 20 rounds for the first part and 10000 for the second one
+            var rounds = events.stream().filter(e -> is(e, "aoc.Milestone", 11)).toList();
+            assertEquals(10_020, rounds.size());
+            assertTrue(rounds.stream().allMatch(e -> e.getLong("value") > 0));
+
+            var elfRounds = events.stream().filter(e -> is(e, "aoc.Milestone", 23))
+                    .mapToLong(e -> e.getLong("iteration")).sorted().toArray();
+            assertEquals(List.of(1L, 2L, 3L), Arrays.stream(elfRounds).boxed().toList());
+        }
+    }
+
+    private static boolean is(RecordedEvent event, String name, int day) {
+        return event.getEventType().getName().equals(name) && event.getInt("day") == day;
+    }
+}
@@ -0,0 +1,59 @@
+package net.alexmiranda.adventofcode2022;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import net.alexmiranda.adventofcode2022.generator.Generators;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+import net.alexmiranda.adventofcode2022.io.MappedInput;
+
+// checks the entry points of the days that solve inputs of any size in parallel (see io.Pieces)
+// against a single thread, on a generated input far larger than the puzzle's
+final class ParallelInputs {
+    interface FileSolver<T> {
+        T solve(Path file, int threads) throws IOException;
+    }
+
+    interface SegmentSolver<T> {
+        T solve(List<ByteCursor> segments, int threads);
+    }
+
+    // segments and pieces much smaller than the file, so that lines and records fall on every
+    // boundary
+    private static final long SMALL_SEGMENT_SIZE = 64 * 1024;
+    private static final int MANY_THREADS = 7;
+
+    private ParallelInputs() {
+    }
+
+    static Path generate(Path dir, int day, int size, long seed) throws IOException {
+        var file = dir.resolve("input");
+        Files.writeString(file, Generators.generate(day, size, seed));
+        return file;
+    }
+
+    // what a single thread makes of the file, once checked that it's the same with 4 threads,
+    // and with small segments split into many pieces
+    static <T> T assertSameInParallel(Path file, FileSolver<T> whole, SegmentSolver<T> segments)
+            throws IOException {
+        return assertSameInParallel(file, whole, segments, MappedInput.map(file, SMALL_SEGMENT_SIZE));
+    }
+
+    // the same, for files of blank line separated records
+    static <T> T assertSameRecordsInParallel(Path file, FileSolver<T> whole, SegmentSolver<T> segments)
+            throws IOException {
+        return assertSameInParallel(file, whole, segments, MappedInput.mapRecords(file, SMALL_SEGMENT_SIZE));
+    }
+
+    private static <T> T assertSameInParallel(Path file, FileSolver<T> whole, SegmentSolver<T> segments,
+            List<ByteCursor> small) throws IOException {
+        var sequential = whole.solve(file, 1);
+        assertEquals(sequential, whole.solve(file, 4));
+        assertEquals(sequential, segments.solve(small, MANY_THREADS));
+        return sequential;
+    }
+}
@@ -0,0 +1,102 @@
+package net.alexmiranda.adventofcode2022;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import net.alexmiranda.adventofcode2022.cache.ResultCache;
+import net.alexmiranda.adventofcode2022.engine.Engine;
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+
+public class RunnerTest {
+    @Test
+    public void testEveryDayHasGotASolver() {
+        var days = Solvers.all().stream().mapToInt(Solver::day).toArray();
+        assertEquals(IntStream.rangeClosed(1, 25).boxed().toList(), IntStream.of(days).boxed().toList());
+    }
+
+    @Test
+    @ResourceLock("metrics")
+    public void testRunSomeDays() throws InterruptedException {
+        var solvers = List.<Solver<?>>of(Solvers.forDay(1).get(), Solvers.forDay(5).get(), Solvers.forDay(25).get());
+        var report = Runner.run(solvers, 2);
+        assertEquals(3, report.results().size());
+
+        var day1 = report.results().get(0);
+        assertNull(day1.error());
+        assertEquals(List.of("parse", "part1", "part2"), day1.phases().stream().map(Runner.Phase::name).toList());
+        assertEquals(71780, day1.phases().get(1).answer());
+        assertEquals(212489, day1.phases().get(2).answer());
+        assertEquals("GRTSWNJHH", report.results().get(1).phases().get(1).answer());
+        assertEquals("QLFQDBBHM", report.results().get(1).phases().get(2).answer());
+        assertEquals(2, report.results().get(2).phases().size());
+
+        var json = Runner.toJson(report);
+        assertTrue(json.startsWith("{\"threads\":2,"));
+        assertTrue(json.contains("{\"name\":\"part1\",\"answer\":\"71780\","));
+
+        var out = new ByteArrayOutputStream();
+        Runner.printTable(report, new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("3 days on 2 threads"));
+    }
+
+    @Test
+    @ResourceLock("metrics")
+    public void testMetricsSnapshot() throws InterruptedException {
+        assumeTrue(Metrics.enabled());
+        var report = Runner.run(List.of(Solvers.forDay(24).get()), 1);
+        assertNull(report.results().get(0).error());
+        assertTrue(report.metrics().get("day24.states") > 0);
+        assertTrue(report.metrics().get("day24.queue.size") > 0);
+        assertTrue(Runner.toJson(report).contains(",\"metrics\":{"));
+    }
+
+    @Test
+    @ResourceLock("metrics")
+    public void testCachedAnswers(@TempDir Path dir) throws Exception {
+        var cache = ResultCache.open(dir);
+        var solvers = List.<Solver<?>>of(Solvers.forDay(1).get());
+        var first = Runner.run(solvers, 1, null, cache).results().get(0);
+        assertEquals(List.of("parse", "part1", "part2"), first.phases().stream().map(Runner.Phase::name).toList());
+        assertEquals(2, cache.size());
+
+        // the second time around the input isn't even parsed
+        var second = Runner.run(solvers, 1, null, cache).results().get(0);
+        assertEquals(List.of("part1", "part2"), second.phases().stream().map(Runner.Phase::name).toList());
+        assertTrue(second.phases().stream().allMatch(Runner.Phase::cached));
+        assertEquals("71780", second.phases().get(0).answer());
+        assertEquals("212489", second.phases().get(1).answer());
+    }
+
+    @Test
+    @ResourceLock("metrics")
+    public void testCachedAnswersPerEngine(@TempDir Path dir) throws Exception {
+        var cache = ResultCache.open(dir);
+        var reference = List.<Solver<?>>of(Solvers.forDay(2, Engine.REFERENCE).get());
+        var optimized = List.<Solver<?>>of(Solvers.forDay(2, Engine.OPTIMIZED).get());
+        Runner.run(reference, 1, null, cache);
+
+        // the answers of the reference engine aren't taken for those of the optimized one
+        var switched = Runner.run(optimized, 1, null, cache).results().get(0);
+        assertNull(switched.error());
+        assertEquals(List.of("parse", "part1", "part2"), switched.phases().stream().map(Runner.Phase::name).toList());
+        assertTrue(switched.phases().stream().noneMatch(Runner.Phase::cached));
+        assertEquals(17189L, switched.phases().get(1).answer());
+        assertEquals(4, cache.size());
+
+        var again = Runner.run(optimized, 1, null, cache).results().get(0);
+        assertTrue(again.phases().stream().allMatch(Runner.Phase::cached));
+    }
+}
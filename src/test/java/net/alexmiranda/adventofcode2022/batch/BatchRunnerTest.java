@@ -0,0 +1,107 @@
+package net.alexmiranda.adventofcode2022.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.alexmiranda.adventofcode2022.Solver;
+import net.alexmiranda.adventofcode2022.Solvers;
+import net.alexmiranda.adventofcode2022.generator.Generators;
+
+public class BatchRunnerTest {
+    @Test
+    public void testAnswersInInputOrder(@TempDir Path dir) throws IOException, InterruptedException {
+        var solver = Solvers.forDay(1).get();
+        for (int seed = 0; seed < 20; seed++) {
+            Files.writeString(dir.resolve(String.format("%02d", seed)), Generators.generate(1, 1, seed));
+        }
+
+        var summary = new BatchRunner(solver, 4, 3).run(dir);
+        assertEquals(1, summary.day());
+        assertEquals(20, summary.outcomes().size());
+        for (int seed = 0; seed < 20; seed++) {
+            var outcome = summary.outcomes().get(seed);
+            assertEquals(seed, outcome.index());
+            assertNull(outcome.error());
+            var text = Generators.generate(1, 1, seed);
+            assertEquals(part(solver, 1, text), outcome.part1());
+            assertEquals(part(solver, 2, text), outcome.part2());
+        }
+        assertTrue(summary.p50Nanos() <= summary.p90Nanos());
+        assertTrue(summary.p90Nanos() <= summary.p99Nanos());
+        assertTrue(summary.p99Nanos() <= summary.maxNanos());
+    }
+
+    @Test
+    public void testBackpressureAndFailures() throws InterruptedException {
+        var inFlight = new AtomicInteger();
+        var peak = new AtomicInteger();
+        var solver = new Solver<Integer>() {
+            public int day() {
+                return 0;
+            }
+
+            public Integer parse(Reader input) throws IOException {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                    return Integer.parseInt(new BufferedReader(input).readLine());
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+
+            public Object part1(Integer input) {
+                return input * 2;
+            }
+
+            public Object part2(Integer input) {
+                return input * 3;
+            }
+        };
+
+        var inputs = IntStream.range(0, 40)
+                .mapToObj(i -> BatchRunner.Input.of("n" + i, i == 7 ? "seven" : Integer.toString(i)));
+        var summary = new BatchRunner(solver, 8, 2).run(inputs);
+        assertTrue(peak.get() <= 2, "peak: " + peak.get());
+        for (var outcome : summary.outcomes()) {
+            if (outcome.index() == 7) {
+                assertNotNull(outcome.error());
+            } else {
+                assertNull(outcome.error());
+                assertEquals(outcome.index() * 2, outcome.part1());
+                assertEquals(outcome.index() * 3, outcome.part2());
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        var sorted = new long[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        assertEquals(5, BatchRunner.percentile(sorted, 50));
+        assertEquals(9, BatchRunner.percentile(sorted, 90));
+        assertEquals(10, BatchRunner.percentile(sorted, 99));
+        assertEquals(0, BatchRunner.percentile(new long[0], 50));
+        assertEquals(7, BatchRunner.percentile(new long[] { 7 }, 99));
+    }
+
+    private static <I> Object part(Solver<I> solver, int part, String text) throws IOException {
+        var input = solver.parse(new StringReader(text));
+        return part == 1 ? solver.part1(input) : solver.part2(input);
+    }
+}
@@ -0,0 +1,86 @@
+package net.alexmiranda.adventofcode2022.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResultCacheTest {
+    private static final byte[] INPUT = "1000\n2000\n\n3000\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testKeys() {
+        var key = ResultCache.key(1, 1, "", INPUT);
+        assertEquals(64, key.length());
+        assertEquals(key, ResultCache.key(1, 1, "", INPUT.clone()));
+        assertNotEquals(key, ResultCache.key(1, 2, "", INPUT));
+        assertNotEquals(key, ResultCache.key(2, 1, "", INPUT));
+        assertNotEquals(key, ResultCache.key(1, 1, "minutes=32", INPUT));
+        assertNotEquals(key, ResultCache.key(1, 1, "", "1000\n2000\n\n3001\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testAnswersSurviveReopening(@TempDir Path dir) throws IOException {
+        var key = ResultCache.key(5, 1, "", INPUT);
+        var cache = ResultCache.open(dir);
+        assertEquals(Optional.empty(), cache.get(key));
+        cache.put(key, "GRTSWNJHH");
+        assertEquals(Optional.of("GRTSWNJHH"), cache.get(key));
+
+        var reopened = ResultCache.open(dir);
+        assertEquals(1, reopened.size());
+        assertEquals(Optional.of("GRTSWNJHH"), reopened.get(key));
+    }
+
+    @Test
+    public void testCorruptEntriesAreDropped(@TempDir Path dir) throws IOException {
+        var key = ResultCache.key(10, 2, "", INPUT);
+        var cache = ResultCache.open(dir);
+        cache.put(key, "###..##..#");
+        var file = dir.resolve(key + ".answer");
+        var bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        assertEquals(Optional.empty(), ResultCache.open(dir).get(key));
+        assertFalse(Files.exists(file));
+
+        // an answer copied under another key doesn't pass the check either
+        var other = ResultCache.key(10, 1, "", INPUT);
+        cache.put(key, "answer");
+        Files.copy(file, dir.resolve(other + ".answer"));
+        assertEquals(Optional.empty(), ResultCache.open(dir).get(other));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedAreEvicted(@TempDir Path dir) throws IOException {
+        // every entry takes a header of 12 bytes and 8 bytes of answer
+        var cache = ResultCache.open(dir, 60);
+        var keys = new String[4];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ResultCache.key(i + 1, 1, "", INPUT);
+        }
+        cache.put(keys[0], "answer-0");
+        cache.put(keys[1], "answer-1");
+        cache.put(keys[2], "answer-2");
+        assertTrue(cache.get(keys[0]).isPresent());
+
+        cache.put(keys[3], "answer-3");
+        assertEquals(3, cache.size());
+        assertEquals(60, cache.totalBytes());
+        assertFalse(cache.get(keys[1]).isPresent());
+        assertFalse(Files.exists(dir.resolve(keys[1] + ".answer")));
+        assertTrue(cache.get(keys[0]).isPresent());
+        assertTrue(cache.get(keys[2]).isPresent());
+        assertTrue(cache.get(keys[3]).isPresent());
+    }
+}
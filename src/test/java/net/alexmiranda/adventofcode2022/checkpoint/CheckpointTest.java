@@ -0,0 +1,102 @@
+package net.alexmiranda.adventofcode2022.checkpoint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CheckpointTest {
+    // sums the numbers up to the given one, and gets killed after so many steps if asked to
+    static class Sum implements Resumable {
+        final int upTo;
+        final int killedAt;
+        int next = 1;
+        long sum = 0;
+        int steps = 0;
+
+        Sum(int upTo, int killedAt) {
+            this.upTo = upTo;
+            this.killedAt = killedAt;
+        }
+
+        @Override
+        public int day() {
+            return 0;
+        }
+
+        @Override
+        public boolean advance(long n) {
+            for (; n > 0 && next <= upTo; n--, next++) {
+                if (++steps == killedAt) {
+                    throw new IllegalStateException("killed");
+                }
+                sum += next;
+            }
+            return next <= upTo;
+        }
+
+        @Override
+        public void save(DataOutput out) throws IOException {
+            out.writeInt(upTo);
+            out.writeInt(next);
+            out.writeLong(sum);
+        }
+
+        @Override
+        public void restore(DataInput in) throws IOException {
+            if (in.readInt() != upTo) {
+                throw new IOException("checkpoint of another sum");
+            }
+            next = in.readInt();
+            sum = in.readLong();
+        }
+    }
+
+    @Test
+    public void testResumeAfterBeingKilled(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("sum.checkpoint");
+        var killed = new Sum(1_000, 550);
+        assertThrows(IllegalStateException.class, () -> Checkpoint.run(killed, file, 100));
+        assertTrue(Files.exists(file));
+
+        // only the steps after the last checkpoint are done again
+        var resumed = new Sum(1_000, -1);
+        Checkpoint.run(resumed, file, 100);
+        assertEquals(500_500, resumed.sum);
+        assertEquals(500, resumed.steps);
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testInvalidCheckpoints(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("sum.checkpoint");
+        var sum = new Sum(10, -1);
+        sum.advance(5);
+        Checkpoint.save(sum, file);
+        assertThrows(IOException.class, () -> Checkpoint.restore(new Sum(20, -1), file));
+        assertThrows(IOException.class, () -> Checkpoint.restore(new Sum(10, -1) {
+            @Override
+            public int day() {
+                return 1;
+            }
+        }, file));
+
+        var bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        var e = assertThrows(IOException.class, () -> Checkpoint.restore(new Sum(10, -1), file));
+        assertTrue(e.getMessage().startsWith("corrupt checkpoint"));
+
+        Files.writeString(file, "not a checkpoint at all");
+        assertThrows(IOException.class, () -> Checkpoint.restore(new Sum(10, -1), file));
+    }
+}
@@ -0,0 +1,188 @@
+package net.alexmiranda.adventofcode2022.collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class CollectionsTest {
+    @Test
+    public void testIntHashSet() {
+        var set = new IntHashSet(2);
+        var expected = new HashSet<Integer>();
+        var random = new SplittableRandom(15);
+        for (int i = 0; i < 10_000; i++) {
+            int e = random.nextInt(-2_000, 2_000);
+            assertEquals(expected.add(e), set.add(e));
+        }
+        assertEquals(expected.size(), set.size());
+        for (int e = -2_100; e < 2_100; e++) {
+            assertEquals(expected.contains(e), set.contains(e));
+        }
+        var elements = set.toArray();
+        Arrays.sort(elements);
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).sorted().toArray(), elements);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    public void testLongHashSet() {
+        var set = new LongHashSet();
+        assertTrue(set.add(0L));
+        assertTrue(set.add(-1L << 32 | 7));
+        assertTrue(set.add(7L << 32 | 0xffffffffL));
+        assertFalse(set.add(0L));
+        assertFalse(set.add(-1L << 32 | 7));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(7L << 32 | 0xffffffffL));
+        assertFalse(set.contains(7L));
+    }
+
+    @Test
+    public void testLongIntHashMap() {
+        var map = new LongIntHashMap(2);
+        var expected = new HashMap<Long, Integer>();
+        var random = new SplittableRandom(16);
+        for (int i = 0; i < 10_000; i++) {
+            long key = 1L << random.nextInt(64) | 1L << random.nextInt(64);
+            if (random.nextBoolean()) {
+                key = 0;
+            }
+            int value = random.nextInt(1_000);
+            assertEquals(expected.merge(key, value, Math::max), map.max(key, value));
+        }
+        assertEquals(expected.size(), map.size());
+        for (var key : map.keys()) {
+            assertEquals(expected.get(key), map.get(key, -1));
+        }
+        assertEquals(-1, map.get(3L << 62 | 5, -1));
+        assertFalse(map.containsKey(3L << 62 | 5));
+
+        map.put(0, 42);
+        assertEquals(42, map.get(0, -1));
+    }
+
+    @Test
+    public void testIntArrayDeque() {
+        var deque = new IntArrayDeque(2);
+        for (int i = 0; i < 100; i++) {
+            deque.addLast(i);
+            if (i % 3 == 0) {
+                assertEquals(i / 3, deque.pollFirst());
+            }
+        }
+        deque.addFirst(-1);
+        assertEquals(-1, deque.peekFirst());
+        assertEquals(99, deque.pollLast());
+        assertEquals(-1, deque.pollFirst());
+        for (int i = 34; i < 99; i++) {
+            assertEquals(i, deque.pollFirst());
+        }
+        assertTrue(deque.isEmpty());
+        assertThrows(NoSuchElementException.class, deque::pollFirst);
+    }
+
+    @Test
+    public void testIntArray() {
+        var array = new IntArray(1);
+        var expected = new TreeSet<Integer>();
+        var random = new SplittableRandom(22);
+        for (int i = 0; i < 500; i++) {
+            int e = random.nextInt(0, 1_000);
+            assertEquals(expected.add(e), array.add(e));
+        }
+        assertEquals(expected.size(), array.size());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), array.toArray());
+        for (int e = -1; e <= 1_001; e++) {
+            assertEquals(expected.contains(e), array.contains(e));
+            assertEquals(orElse(expected.ceiling(e), -1), array.ceiling(e, -1));
+            assertEquals(orElse(expected.higher(e), -1), array.higher(e, -1));
+            assertEquals(orElse(expected.floor(e), -1), array.floor(e, -1));
+            assertEquals(orElse(expected.lower(e), -1), array.lower(e, -1));
+        }
+    }
+
+    private static int orElse(Integer value, int missing) {
+        return value == null ? missing : value;
+    }
+
+    @Test
+    public void testLongTopK() {
+        var random = new SplittableRandom(17);
+        var values = new long[10_000];
+        var a = new LongTopK(25);
+        var b = new LongTopK(25);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong(-1_000_000, 1_000_000);
+            (i % 2 == 0 ? a : b).offer(values[i]);
+        }
+        a.addAll(b);
+        Arrays.sort(values);
+        var expected = new long[25];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = values[values.length - 1 - i];
+        }
+        assertArrayEquals(expected, a.toArray());
+        assertEquals(Arrays.stream(expected).sum(), a.sum());
+
+        var few = new LongTopK(5);
+        few.offer(3);
+        few.offer(7);
+        assertArrayEquals(new long[] { 7, 3 }, few.toArray());
+        var none = new LongTopK(0);
+        none.offer(1);
+        assertEquals(0, none.size());
+        assertThrows(IllegalArgumentException.class, () -> new LongTopK(-1));
+    }
+
+    @Test
+    public void testIntervalIndex() {
+        var index = new IntervalIndex(2);
+        var random = new SplittableRandom(24);
+        var starts = new int[5_000];
+        var ends = new int[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = random.nextInt(-1_000, 1_000);
+            ends[i] = starts[i] + random.nextInt(0, i % 10 == 0 ? 500 : 20);
+            assertEquals(i, index.add(starts[i], ends[i]));
+        }
+        assertEquals(starts.length, index.size());
+        for (int q = 0; q < 500; q++) {
+            int from = random.nextInt(-1_100, 1_100), to = from + random.nextInt(0, q % 2 == 0 ? 1 : 50);
+            var expected = new ArrayList<Integer>();
+            for (int i = 0; i < starts.length; i++) {
+                if (starts[i] <= to && ends[i] >= from) {
+                    expected.add(i);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), index.overlapping(from, to));
+            assertEquals(expected.size(), index.countOverlapping(from, to));
+        }
+
+        // added to after being queried, it's rebuilt
+        int id = index.add(5_000, 5_001);
+        var stabbed = new ArrayList<Integer>();
+        index.stabbing(5_001, stabbed::add);
+        assertEquals(List.of(id), stabbed);
+        assertEquals(5_000, index.start(id));
+        assertEquals(0, new IntervalIndex().countOverlapping(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.add(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.overlapping(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.end(id + 1));
+    }
+}
@@ -0,0 +1,76 @@
+package net.alexmiranda.adventofcode2022.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.alexmiranda.adventofcode2022.Solver;
+import net.alexmiranda.adventofcode2022.Solvers;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
+public class EngineTest {
+    @Test
+    public void testSelection() {
+        // a day no other test looks at, so that setting its property doesn't get in their way
+        assertEquals(Engine.REFERENCE, Engine.selected(99));
+        System.setProperty("aoc.engine.99", "Optimized");
+        try {
+            assertEquals(Engine.OPTIMIZED, Engine.selected(99));
+        } finally {
+            System.clearProperty("aoc.engine.99");
+        }
+        assertThrows(IllegalArgumentException.class, () -> Engine.parse("fastest"));
+    }
+
+    @Test
+    public void testSolvers() {
+        assertTrue(Solvers.hasOptimized(21));
+        assertNotSame(Solvers.forDay(21, Engine.REFERENCE).get(), Solvers.forDay(21, Engine.OPTIMIZED).get());
+        // days with a single engine run it whatever the engine
+        assertTrue(!Solvers.hasOptimized(1));
+        assertSame(Solvers.forDay(1, Engine.REFERENCE).get(), Solvers.forDay(1, Engine.OPTIMIZED).get());
+    }
+
+    @Test
+    public void testShadow() throws Exception {
+        var reported = new ArrayList<Shadow.Mismatch>();
+        var shadow = new Shadow(1, 1, 16, reported::add);
+        var day1 = Solvers.forDay(1, Engine.REFERENCE).get();
+        var solvers = shadow.wrap(List.of(day1, Solvers.forDay(9).get(), Solvers.forDay(21).get()));
+        assertSame(day1, solvers.get(0));
+
+        assertEquals(6067, solve(solvers.get(1), PuzzleInput.reader(9)));
+        assertEquals("282285213953670", solve(solvers.get(2), PuzzleInput.reader(21)).toString());
+        // the reference engine divides its BigDecimals fine, while the optimized one refuses to
+        var inexact = "root: a / b\na: 7\nb: 2\nhumn: 1\n";
+        assertEquals("3.5", solve(Solvers.forDay(21, Engine.REFERENCE).get(), new StringReader(inexact)).toString());
+        solve(solvers.get(2), new StringReader(inexact));
+        shadow.close();
+
+        var stats = shadow.stats();
+        assertEquals(List.of(9, 21), stats.stream().map(Shadow.Stats::day).toList());
+        assertEquals(1, stats.get(0).samples());
+        assertEquals(0, stats.get(0).mismatches());
+        assertTrue(stats.get(0).speedup() > 0);
+        assertEquals(2, stats.get(1).samples());
+        assertEquals(1, stats.get(1).mismatches());
+
+        var mismatch = shadow.mismatches().get(0);
+        assertEquals(new Shadow.Mismatch(21, "part1", "3.5", "failed: java.lang.ArithmeticException"), mismatch);
+        assertEquals(shadow.mismatches(), reported);
+    }
+
+    private static <I> Object solve(Solver<I> solver, Reader reader) throws IOException {
+        return solver.part1(solver.parse(reader));
+    }
+}
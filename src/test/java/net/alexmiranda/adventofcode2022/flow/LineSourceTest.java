@@ -0,0 +1,196 @@
+package net.alexmiranda.adventofcode2022.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+import org.junit.jupiter.api.Test;
+
+import net.alexmiranda.adventofcode2022.metrics.Metrics;
+
+public class LineSourceTest {
+    // records what it gets, asking for more only when told to
+    private static class Probe<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    // counts the characters read from it, and whether it got closed
+    private static class CountingReader extends StringReader {
+        int read;
+        boolean closed;
+
+        CountingReader(String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            // one character at a time, so that it's read no further than needed
+            int n = super.read(cbuf, off, Math.min(len, 1));
+            if (n > 0) {
+                read += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
+
+    @Test
+    public void testBackpressure() {
+        var reader = new CountingReader("a\nb\nc\nd\n");
+        var probe = new Probe<String>();
+        LineSource.lines(reader).subscribe(probe);
+        assertEquals(List.of(), probe.items);
+
+        probe.subscription.request(1);
+        assertEquals(List.of("a"), probe.items);
+        assertTrue(reader.read <= 4);
+
+        probe.subscription.request(2);
+        assertEquals(List.of("a", "b", "c"), probe.items);
+        assertTrue(!probe.completed);
+
+        probe.subscription.request(Long.MAX_VALUE);
+        probe.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of("a", "b", "c", "d"), probe.items);
+        assertTrue(probe.completed);
+        assertTrue(reader.closed);
+    }
+
+    @Test
+    public void testCancel() {
+        var reader = new CountingReader("a\nb\nc\n");
+        var probe = new Probe<String>();
+        LineSource.lines(reader).subscribe(probe);
+        probe.subscription.request(1);
+        probe.subscription.cancel();
+        probe.subscription.request(1);
+        assertEquals(List.of("a"), probe.items);
+        assertTrue(reader.closed);
+        assertTrue(!probe.completed);
+    }
+
+    @Test
+    public void testInvalidRequest() {
+        var probe = new Probe<String>();
+        LineSource.lines(new StringReader("a\n")).subscribe(probe);
+        probe.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, probe.error);
+    }
+
+    @Test
+    public void testSingleSubscriber() {
+        var source = LineSource.lines(new StringReader("a\n"));
+        source.subscribe(new Probe<>());
+        var probe = new Probe<String>();
+        source.subscribe(probe);
+        assertInstanceOf(IllegalStateException.class, probe.error);
+    }
+
+    @Test
+    public void testRecords() {
+        var source = LineSource.records(new StringReader("\n1\n2\n\n\n3\n\n4\n5\n6"));
+        var records = Fold.collect(source, record -> record, Metrics.gauge("test.records"));
+        assertEquals(List.of(List.of("1", "2"), List.of("3"), List.of("4", "5", "6")), records);
+    }
+
+    @Test
+    public void testChunks() {
+        var chunks = new ArrayList<String>();
+        Fold.fold(LineSource.chunks(new StringReader("abcdefg"), 3), chunks::add, () -> chunks);
+        assertEquals(List.of("abc", "def", "g"), chunks);
+        assertThrows(IllegalArgumentException.class, () -> LineSource.chunks(new StringReader(""), 0));
+    }
+
+    @Test
+    public void testFoldRequestsInBatches() {
+        // far more lines than a batch, folded without the stack growing with them
+        var sb = new StringBuilder();
+        for (int i = 1; i <= 100_000; i++) {
+            sb.append(i).append('\n');
+        }
+        var sum = Fold.sum(LineSource.lines(new StringReader(sb.toString())), Long::parseLong);
+        assertEquals(5_000_050_000L, sum);
+    }
+
+    @Test
+    public void testFoldStops() {
+        var reader = new CountingReader("1\n2\n3\n4\n5\n");
+        var seen = new ArrayList<String>();
+        var result = Fold.until(LineSource.lines(reader), line -> seen.add(line) && !line.equals("2"), seen::size);
+        assertEquals(2, result);
+        assertTrue(reader.closed);
+    }
+
+    @Test
+    public void testFoldErrors() {
+        var failing = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("broken");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(UncheckedIOException.class, () -> Fold.sum(LineSource.lines(failing), Long::parseLong));
+        assertThrows(NumberFormatException.class,
+                () -> Fold.sum(LineSource.lines(new StringReader("1\nx\n")), Long::parseLong));
+    }
+
+    @Test
+    public void testFoldFromAnotherPublisher() {
+        // folds work just as well with items pushed from other threads
+        var sum = new long[1];
+        var fold = new Fold<String, Long>(line -> {
+            sum[0] += Long.parseLong(line);
+            return true;
+        }, () -> sum[0], 2);
+        try (var publisher = new SubmissionPublisher<String>()) {
+            publisher.subscribe(fold);
+            for (int i = 0; i < 10; i++) {
+                publisher.submit(Integer.toString(i));
+            }
+        }
+        assertEquals(45L, fold.join());
+    }
+}
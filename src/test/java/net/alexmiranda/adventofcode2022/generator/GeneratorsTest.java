@@ -0,0 +1,74 @@
+package net.alexmiranda.adventofcode2022.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import net.alexmiranda.adventofcode2022.Solver;
+import net.alexmiranda.adventofcode2022.Solvers;
+
+public class GeneratorsTest {
+    @Test
+    public void testSameSeedSameInput() {
+        assertEquals(Generators.generate(21, 501, 7), Generators.generate(21, 501, 7));
+        assertNotEquals(Generators.generate(21, 501, 7), Generators.generate(21, 501, 8));
+    }
+
+    @Test
+    public void testSnafu() {
+        assertEquals("1=-0-2", Generators.snafu(1747));
+        assertEquals("2=-01", Generators.snafu(976));
+        assertEquals("1121-1110-1=0", Generators.snafu(314159265));
+    }
+
+    // every generated input can be solved; the second part of day 19 is left out as it takes
+    // several seconds per blueprint
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            1, 2000, true
+            2, 2000, true
+            3, 2001, true
+            4, 2000, true
+            5, 2000, true
+            6, 2000, true
+            7, 2000, true
+            8, 2000, true
+            9, 2000, true
+            10, 1, true
+            11, 50, true
+            12, 2000, true
+            13, 300, true
+            14, 100, true
+            15, 20, true
+            16, 12, true
+            17, 1000, true
+            18, 2000, true
+            19, 2, false
+            20, 500, true
+            21, 2001, true
+            22, 8, false
+            23, 50, true
+            24, 400, true
+            25, 2000, false
+            """)
+    public void testGeneratedInputsAreSolvable(int day, int scale, boolean part2) throws IOException {
+        var solver = Solvers.forDay(day).orElseThrow();
+        var input = Generators.generate(day, scale, Generators.DEFAULT_SEED);
+        assertNotNull(solve(solver, input, 1));
+        if (part2) {
+            assertNotNull(solve(solver, input, 2));
+        }
+    }
+
+    private static <I> Object solve(Solver<I> solver, String input, int part) throws IOException {
+        var parsed = solver.parse(new StringReader(input));
+        return part == 1 ? solver.part1(parsed) : solver.part2(parsed);
+    }
+}
@@ -0,0 +1,99 @@
+package net.alexmiranda.adventofcode2022.grid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.alexmiranda.adventofcode2022.grid.FlatGrid.Sweep;
+import net.alexmiranda.adventofcode2022.io.ByteCursor;
+
+public class GridTest {
+    private static final List<String> LINES = List.of("123", "456");
+
+    @Test
+    public void testPaddedGeometry() {
+        var grid = ByteGrid.parse(LINES, 1, (byte) -1, c -> c - '0');
+        assertEquals(2, grid.rows());
+        assertEquals(3, grid.cols());
+        assertEquals(5, grid.stride());
+        assertEquals(20, grid.size());
+        assertEquals(6, grid.index(0, 0));
+        assertEquals(0, grid.index(-1, -1));
+        assertEquals(5, grid.get(1, 1));
+        assertEquals(1, grid.row(grid.index(1, 2)));
+        assertEquals(2, grid.col(grid.index(1, 2)));
+        assertTrue(grid.inside(grid.index(1, 2)));
+        assertFalse(grid.inside(grid.index(2, 2)));
+
+        // every neighbour of a cell of the grid is either in the grid or in the padding
+        var offsets = grid.allOffsets();
+        grid.forEachCell((index, row, col) -> {
+            for (int offset : offsets) {
+                int neighbour = grid.get(index + offset);
+                assertTrue(neighbour == -1 || grid.inside(index + offset));
+            }
+        });
+        assertArrayEquals(new int[] { -5, 1, 5, -1 }, grid.orthogonalOffsets());
+        assertEquals(grid.index(1, 2), grid.index(0, 0) + grid.offset(1, 2));
+    }
+
+    @Test
+    public void testSweeps() {
+        var grid = IntGrid.parse(LINES, 0, 0, c -> c - '0');
+        assertEquals("123|456|", sweep(grid, Sweep.LEFT_TO_RIGHT));
+        assertEquals("321|654|", sweep(grid, Sweep.RIGHT_TO_LEFT));
+        assertEquals("14|25|36|", sweep(grid, Sweep.TOP_TO_BOTTOM));
+        assertEquals("41|52|63|", sweep(grid, Sweep.BOTTOM_TO_TOP));
+    }
+
+    @Test
+    public void testCellWidth() {
+        var grid = new IntGrid(2, 3, 1, 2);
+        assertEquals(10, grid.stride());
+        assertEquals(40, grid.size());
+        int index = grid.index(1, 2);
+        assertEquals(1, grid.row(index));
+        assertEquals(2, grid.col(index));
+        assertEquals(index + 2, grid.index(1, 3));
+        grid.set(index + 1, 42);
+        assertEquals(0, grid.get(index));
+        assertEquals(42, grid.copy().get(index + 1));
+    }
+
+    @Test
+    public void testRaggedLines() {
+        assertThrows(IllegalArgumentException.class, () -> ByteGrid.parse(List.of("12", "3"), 0, (byte) 0, c -> c));
+        assertThrows(IllegalArgumentException.class,
+                () -> ByteGrid.parse(ByteCursor.of("12\n3\n"), 0, (byte) 0, c -> c));
+        assertThrows(IllegalArgumentException.class, () -> ByteGrid.parse(ByteCursor.of(""), 0, (byte) 0, c -> c));
+    }
+
+    @Test
+    public void testParseBytes() {
+        // the same grid as from the lines, whatever the line breaks
+        var expected = ByteGrid.parse(LINES, 1, (byte) -1, c -> c - '0');
+        for (var input : List.of("123\n456\n", "123\r\n456\r\n", "123\n456")) {
+            var grid = ByteGrid.parse(ByteCursor.of(input), 1, (byte) -1, c -> c - '0');
+            assertEquals(expected.rows(), grid.rows());
+            assertEquals(expected.cols(), grid.cols());
+            assertArrayEquals(expected.cells(), grid.cells());
+        }
+    }
+
+    private static String sweep(IntGrid grid, Sweep sweep) {
+        var sb = new StringBuilder();
+        grid.sweep(sweep, (first, step, length) -> {
+            for (int i = 0, index = first; i < length; i++, index += step) {
+                sb.append(grid.get(index));
+            }
+            sb.append('|');
+        });
+        return sb.toString();
+    }
+}
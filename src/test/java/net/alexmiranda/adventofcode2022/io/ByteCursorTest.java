@@ -0,0 +1,137 @@
+package net.alexmiranda.adventofcode2022.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ByteCursorTest {
+    @Test
+    public void testNextLine() {
+        var input = ByteCursor.of("abc\r\n\nxyz");
+        var line = new ByteCursor();
+        assertTrue(input.nextLine(line));
+        assertEquals("abc", line.toString());
+        assertTrue(input.nextLine(line));
+        assertTrue(line.isEmpty());
+        assertTrue(input.nextLine(line));
+        assertEquals("xyz", line.toString());
+        assertFalse(input.nextLine(line));
+    }
+
+    @Test
+    public void testNextInt() {
+        var input = ByteCursor.of("Sensor at x=-12, y=345: closest beacon");
+        assertEquals(-12, input.nextInt());
+        assertEquals(345, input.nextInt());
+        assertFalse(input.skipToNumber());
+    }
+
+    @Test
+    public void testRead() {
+        var input = ByteCursor.read(new StringReader("1-2,3-4\n"));
+        assertEquals(8, input.remaining());
+        assertTrue(input.skipTo((byte) ','));
+        assertEquals(3, input.nextInt());
+    }
+
+    @Test
+    public void testMappedSegments(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("input");
+        Files.writeString(file, "1000\n2000\n3000\n\n4000\n");
+        var segments = MappedInput.map(file, 8);
+        assertEquals(4, segments.size());
+        int sum = 0;
+        var line = new ByteCursor();
+        for (var segment : segments) {
+            while (segment.nextLine(line)) {
+                if (!line.isEmpty()) {
+                    sum += line.nextInt();
+                }
+            }
+        }
+        assertEquals(10000, sum);
+        assertEquals("1000\n2000\n3000\n\n4000\n", MappedInput.map(file).toString());
+    }
+
+    @Test
+    public void testMappedRecords(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("input");
+        Files.writeString(file, "1000\n2000\n\n3000\r\n\r\n4000\n5000\n");
+        var segments = MappedInput.mapRecords(file, 14);
+        assertEquals(List.of("1000\n2000\n\n", "3000\r\n\r\n", "4000\n5000\n"),
+                segments.stream().map(ByteCursor::toString).toList());
+        assertThrows(IOException.class, () -> MappedInput.mapRecords(file, 8));
+    }
+
+    @Test
+    public void testEndsRecord() {
+        var input = ByteCursor.of("\n1\n\n2\r\n\r\n3\n");
+        assertTrue(input.endsRecord(4));
+        assertTrue(input.endsRecord(9));
+        assertFalse(input.endsRecord(3));
+        assertFalse(input.endsRecord(11));
+        // only the bytes after the position count
+        input.skip(1);
+        assertFalse(input.endsRecord(2));
+        assertTrue(input.endsRecord(4));
+    }
+
+    @Test
+    public void testSplit() {
+        var input = ByteCursor.of("aaaa\nb\ncc\ndddddd\ne");
+        input.skip(2);
+        assertEquals(List.of("aa\nb\n", "cc\ndddddd\n", "e"),
+                input.split(4).stream().map(ByteCursor::toString).toList());
+        assertEquals(List.of("aa\nb\ncc\ndddddd\ne"), input.split(1).stream().map(ByteCursor::toString).toList());
+        assertEquals(List.of(), ByteCursor.of("").split(3));
+        assertThrows(IllegalArgumentException.class, () -> input.split(0));
+        // never more than asked for, even when the slices can't be as even as that
+        assertEquals(List.of("a\nb\nc\n", "d\ne"),
+                ByteCursor.of("a\nb\nc\nd\ne").split(2).stream().map(ByteCursor::toString).toList());
+        assertEquals(List.of("a\nb\n", "c\nd\n", "e\n"),
+                ByteCursor.of("a\nb\nc\nd\ne\n").split(4).stream().map(ByteCursor::toString).toList());
+        var records = ByteCursor.of("1\n2\n\n3\n\n4\n");
+        assertEquals(List.of("1\n2\n\n", "3\n\n4\n"),
+                records.split(3, records::endsRecord).stream().map(ByteCursor::toString).toList());
+    }
+
+    @Test
+    public void testPieces() {
+        var segments = List.of(ByteCursor.of("1\n2\n3\n4\n"), ByteCursor.of("5\n\n6\n"));
+        var pieces = Pieces.split(segments, 2);
+        assertEquals(List.of("1\n2\n", "3\n4\n", "5\n\n", "6\n"), pieces.stream().map(ByteCursor::toString).toList());
+        assertEquals(List.of("1\n2\n3\n4\n", "5\n\n", "6\n"),
+                Pieces.splitRecords(segments, 2).stream().map(ByteCursor::toString).toList());
+
+        // the results come back in the order of the pieces, whatever the threads
+        for (int threads : new int[] { 1, 3 }) {
+            assertEquals(List.of("0:1\n2\n", "1:3\n4\n", "2:5\n\n", "3:6\n"),
+                    Pieces.map(pieces, threads, (piece, i) -> i + ":" + piece));
+            assertEquals(21L, Pieces.mapReduce(pieces, threads, (piece, i) -> {
+                long sum = 0;
+                var line = new ByteCursor();
+                var rest = piece.slice(piece.position(), piece.limit());
+                while (rest.nextLine(line)) {
+                    sum += line.isEmpty() ? 0 : line.nextInt();
+                }
+                return sum;
+            }, 0L, Long::sum));
+            // and what a piece throws gets to the caller as is
+            int t = threads;
+            assertThrows(IllegalStateException.class, () -> Pieces.map(pieces, t, (piece, i) -> {
+                throw new IllegalStateException("piece " + i);
+            }));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Pieces.map(pieces, 0, (piece, i) -> i));
+    }
+}
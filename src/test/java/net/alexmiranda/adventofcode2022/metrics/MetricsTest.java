@@ -0,0 +1,48 @@
+package net.alexmiranda.adventofcode2022.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+// surefire turns the metrics on, the expectations still hold if they're off
+public class MetricsTest {
+    @Test
+    public void testCounter() {
+        var counter = Metrics.counter("test.counter");
+        assertSame(counter, Metrics.counter("test.counter"));
+        IntStream.range(0, 1000).parallel().forEach(i -> counter.increment());
+        counter.add(24);
+        assertEquals(Metrics.enabled() ? 1024 : 0, counter.value());
+        assertEquals(counter.value(), Metrics.snapshot().get("test.counter"));
+    }
+
+    @Test
+    public void testGauge() {
+        var gauge = Metrics.gauge("test.gauge");
+        gauge.record(3);
+        gauge.record(42);
+        gauge.record(7);
+        assertEquals(Metrics.enabled() ? 42 : 0, gauge.value());
+    }
+
+    @Test
+    public void testNamesAreBoundToOneKindOfMetric() {
+        Metrics.counter("test.kind");
+        assertThrows(IllegalArgumentException.class, () -> Metrics.gauge("test.kind"));
+    }
+
+    @Test
+    @ResourceLock("metrics")
+    public void testReset() {
+        var counter = Metrics.counter("test.reset");
+        counter.increment();
+        Metrics.reset();
+        assertEquals(0, counter.value());
+        assertEquals(0L, Metrics.snapshot().get("test.reset"));
+    }
+}
@@ -0,0 +1,66 @@
+package net.alexmiranda.adventofcode2022.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+public class SearchTest {
+    @Test
+    public void testBudget() throws InterruptedException {
+        assertFalse(Budget.unlimited().exhausted());
+        assertFalse(Budget.of(Duration.ofDays(10_000)).exhausted());
+        assertTrue(Budget.of(Duration.ZERO).exhausted());
+
+        var budget = Budget.of(Duration.ofMillis(20));
+        assertFalse(budget.exhausted());
+        Thread.sleep(30);
+        assertTrue(budget.exhausted());
+
+        budget = Budget.unlimited();
+        budget.cancel();
+        assertTrue(budget.exhausted());
+
+        Thread.currentThread().interrupt();
+        assertTrue(Budget.unlimited().exhausted());
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    public void testProbe() {
+        var budget = Budget.unlimited();
+        var probe = budget.probe();
+        budget.cancel();
+        // only looks at the budget every so many states, and then stays stopped
+        for (int i = 1; i < Budget.Probe.INTERVAL; i++) {
+            assertFalse(probe.exhausted());
+        }
+        assertFalse(probe.stopped());
+        assertTrue(probe.exhausted());
+        assertTrue(probe.stopped());
+        assertTrue(probe.exhausted());
+    }
+
+    @Test
+    public void testAnytime() {
+        var budget = Budget.unlimited();
+        var probe = budget.probe();
+        var result = Anytime.of(42, probe);
+        assertTrue(result.optimal());
+        assertEquals(42, result.orElseThrow());
+
+        budget.cancel();
+        for (int i = 0; i < Budget.Probe.INTERVAL; i++) {
+            probe.exhausted();
+        }
+        result = Anytime.of(Anytime.NONE, probe);
+        assertFalse(result.optimal());
+        assertFalse(result.found());
+        assertThrows(CancellationException.class, result::orElseThrow);
+    }
+}
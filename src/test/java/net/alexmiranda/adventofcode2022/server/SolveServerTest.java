@@ -0,0 +1,172 @@
+package net.alexmiranda.adventofcode2022.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import net.alexmiranda.adventofcode2022.Solver;
+import net.alexmiranda.adventofcode2022.Solvers;
+import net.alexmiranda.adventofcode2022.engine.Shadow;
+import net.alexmiranda.adventofcode2022.io.PuzzleInput;
+
+public class SolveServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void testSolve() throws IOException, InterruptedException {
+        try (var server = start(List.of(Solvers.forDay(1).get()), day -> 1)) {
+            var response = post(server, "/day/1/part/1", BodyPublishers.ofFile(PuzzleInput.path(1)));
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().startsWith("{\"day\":1,\"part\":1,\"answer\":\"71780\",\"parseNanos\":"),
+                    response.body());
+
+            response = post(server, "/day/1/part/2", BodyPublishers.ofFile(PuzzleInput.path(1)));
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("\"answer\":\"212489\""), response.body());
+        }
+    }
+
+    @Test
+    public void testInvalidRequests() throws IOException, InterruptedException {
+        try (var server = start(List.of(Solvers.forDay(25).get()), day -> 1)) {
+            assertEquals(404, post(server, "/day/1/part/1", BodyPublishers.ofString("1\n")).statusCode());
+            assertEquals(404, post(server, "/day/25/part/2", BodyPublishers.ofString("1\n")).statusCode());
+            assertEquals(404, post(server, "/day/25/part/x", BodyPublishers.ofString("1\n")).statusCode());
+            assertEquals(404, post(server, "/day/99999999999/part/1", BodyPublishers.ofString("1\n")).statusCode());
+            assertEquals(404, post(server, "/day/25/part/99999999999", BodyPublishers.ofString("1\n")).statusCode());
+            assertEquals(400, post(server, "/day/25/part/1", BodyPublishers.ofString("not a snafu\n")).statusCode());
+
+            var get = HttpRequest.newBuilder(uri(server, "/day/25/part/1")).GET().build();
+            assertEquals(405, client.send(get, BodyHandlers.ofString()).statusCode());
+            // there's nothing to report without a shadow
+            var shadow = HttpRequest.newBuilder(uri(server, "/shadow")).GET().build();
+            assertEquals(404, client.send(shadow, BodyHandlers.ofString()).statusCode());
+        }
+    }
+
+    @Test
+    public void testShadow() throws IOException, InterruptedException {
+        var shadow = new Shadow(1, 1, 16, null);
+        try (var server = SolveServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                List.of(Solvers.forDay(9).get()), 2, day -> 1, shadow)) {
+            var response = post(server, "/day/9/part/1", BodyPublishers.ofFile(PuzzleInput.path(9)));
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("\"answer\":\"6067\""), response.body());
+
+            var get = HttpRequest.newBuilder(uri(server, "/shadow")).GET().build();
+            var stats = client.send(get, BodyHandlers.ofString());
+            assertEquals(200, stats.statusCode());
+            assertTrue(stats.body().startsWith("["), stats.body());
+        }
+        // closing the server waits for the sample to be compared
+        var stats = shadow.stats();
+        assertEquals(1, stats.size());
+        assertEquals(9, stats.get(0).day());
+        assertEquals(1, stats.get(0).samples());
+        assertEquals(0, stats.get(0).mismatches());
+    }
+
+    @Test
+    public void testFailingSolver() throws IOException, InterruptedException {
+        var solver = new Solver<String>() {
+            public int day() {
+                return 7;
+            }
+
+            public String parse(Reader input) {
+                return "parsed";
+            }
+
+            public Object part1(String input) {
+                throw new IllegalStateException("bug");
+            }
+
+            public Object part2(String input) {
+                throw new StackOverflowError();
+            }
+        };
+
+        try (var server = start(List.of(solver), day -> 1)) {
+            var response = post(server, "/day/7/part/1", BodyPublishers.ofString("input"));
+            assertEquals(500, response.statusCode());
+            assertTrue(response.body().contains("IllegalStateException: bug"), response.body());
+            assertEquals(500, post(server, "/day/7/part/2", BodyPublishers.ofString("input")).statusCode());
+        }
+    }
+
+    @Test
+    public void testTooManyRequests() throws Exception {
+        var parsing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var solver = new Solver<String>() {
+            public int day() {
+                return 16;
+            }
+
+            public String parse(Reader input) throws IOException {
+                parsing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return "parsed";
+            }
+
+            public Object part1(String input) {
+                return input;
+            }
+
+            public Object part2(String input) {
+                return input;
+            }
+        };
+
+        try (var server = start(List.of(solver), day -> 1)) {
+            var request = HttpRequest.newBuilder(uri(server, "/day/16/part/1"))
+                    .POST(BodyPublishers.ofString("input")).build();
+            CompletableFuture<HttpResponse<String>> first = client.sendAsync(request, BodyHandlers.ofString());
+            assertTrue(parsing.await(10, TimeUnit.SECONDS));
+
+            var rejected = client.send(request, BodyHandlers.ofString());
+            assertEquals(429, rejected.statusCode());
+            assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(""));
+
+            release.countDown();
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).statusCode());
+            assertEquals(200, client.send(request, BodyHandlers.ofString()).statusCode());
+        }
+    }
+
+    private static SolveServer start(List<Solver<?>> solvers, IntUnaryOperator limits)
+            throws IOException {
+        return SolveServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), solvers, 2, limits);
+    }
+
+    private HttpResponse<String> post(SolveServer server, String path, HttpRequest.BodyPublisher body)
+            throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(uri(server, path)).POST(body).build();
+        return client.send(request, BodyHandlers.ofString());
+    }
+
+    private static URI uri(SolveServer server, String path) {
+        return URI.create("http://localhost:" + server.port() + path);
+    }
+}